@@ -11,6 +11,8 @@ import javax.annotation.Nonnull;
 import com.github.dockerjava.api.model.AuthConfigurations;
 import com.github.dockerjava.api.model.BuildResponseItem;
 import com.github.dockerjava.core.RemoteApiVersion;
+import com.github.dockerjava.core.util.ArchiveCompression;
+import com.github.dockerjava.core.util.TarSegmentCache;
 
 /**
  * Build an image from Dockerfile.
@@ -30,6 +32,12 @@ public interface BuildImageCmd extends AsyncDockerCmd<BuildImageCmd, BuildRespon
     @CheckForNull
     AuthConfigurations getBuildAuthConfigs();
 
+    @CheckForNull
+    ArchiveCompression getCompression();
+
+    @CheckForNull
+    TarSegmentCache getContextCache();
+
     // getters
 
     /**
@@ -140,6 +148,18 @@ public interface BuildImageCmd extends AsyncDockerCmd<BuildImageCmd, BuildRespon
 
     BuildImageCmd withTarInputStream(@Nonnull InputStream tarInputStream);
 
+    /**
+     * Sets how the context archived from the base directory is compressed. Defaults to {@link ArchiveCompression#DEFAULT},
+     * {@link ArchiveCompression#NONE} saves CPU for a daemon on a local unix socket.
+     */
+    BuildImageCmd withCompression(ArchiveCompression compression);
+
+    /**
+     * Sets a cache of the archived files of previous builds, so that only changed files of the context are read and compressed
+     * again.
+     */
+    BuildImageCmd withContextCache(TarSegmentCache contextCache);
+
     /**
     *@since {@link RemoteApiVersion#VERSION_1_22}
     */
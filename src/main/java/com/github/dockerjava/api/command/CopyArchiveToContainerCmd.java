@@ -3,6 +3,7 @@ package com.github.dockerjava.api.command;
 import java.io.InputStream;
 
 import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.core.util.ArchiveCompression;
 
 public interface CopyArchiveToContainerCmd extends SyncDockerCmd<Void> {
 
@@ -16,6 +17,8 @@ public interface CopyArchiveToContainerCmd extends SyncDockerCmd<Void> {
 
     boolean isDirChildrenOnly();
 
+    ArchiveCompression getCompression();
+
     /**
      * Set container's id
      *
@@ -59,6 +62,15 @@ public interface CopyArchiveToContainerCmd extends SyncDockerCmd<Void> {
      */
     CopyArchiveToContainerCmd withDirChildrenOnly(boolean dirChildrenOnly);
 
+    /**
+     * Sets how the archive of the host resource is compressed. Defaults to {@link ArchiveCompression#DEFAULT},
+     * {@link ArchiveCompression#NONE} saves CPU for a daemon on a local unix socket.
+     *
+     * @param compression
+     *            compression of the archive built from the host resource
+     */
+    CopyArchiveToContainerCmd withCompression(ArchiveCompression compression);
+
     String getRemotePath();
 
     CopyArchiveToContainerCmd withRemotePath(String remotePath);
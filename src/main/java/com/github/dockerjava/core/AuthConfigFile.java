@@ -3,9 +3,14 @@ package com.github.dockerjava.core;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.io.FileUtils;
@@ -22,6 +27,8 @@ public class AuthConfigFile {
     private static final TypeReference<Map<String, AuthConfig>> CONFIG_MAP_TYPE = new TypeReference<Map<String, AuthConfig>>() {
     };
 
+    private static final ConcurrentMap<File, CachedConfig> CACHED_CONFIGS = new ConcurrentHashMap<File, CachedConfig>();
+
     private final Map<String, AuthConfig> authConfigMap;
 
     public AuthConfigFile() {
@@ -138,6 +145,49 @@ public class AuthConfigFile {
 
     }
 
+    /**
+     * Like {@link #loadConfig(File)}, but parses the file only again if its size or modification time changed. Every call
+     * returns its own copy of the cached configuration, so callers may modify it.
+     *
+     * @return {@code null} if the file does not exist or is not a regular file
+     */
+    public static AuthConfigFile loadCachedConfig(File confFile) throws IOException {
+        File key = confFile.getAbsoluteFile();
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(key.toPath(), BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            CACHED_CONFIGS.remove(key);
+            return null;
+        }
+
+        if (!attributes.isRegularFile()) {
+            CACHED_CONFIGS.remove(key);
+            return null;
+        }
+
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        CachedConfig cached = CACHED_CONFIGS.get(key);
+        if (cached == null || cached.lastModified != lastModified || cached.size != attributes.size()) {
+            cached = new CachedConfig(lastModified, attributes.size(), loadConfig(key));
+            CACHED_CONFIGS.put(key, cached);
+        }
+
+        return cached.configFile.copy();
+    }
+
+    private AuthConfigFile copy() {
+        AuthConfigFile copy = new AuthConfigFile();
+        for (AuthConfig config : authConfigMap.values()) {
+            copy.addConfig(new AuthConfig().withUsername(config.getUsername()).withPassword(config.getPassword())
+                    .withEmail(config.getEmail()).withRegistryAddress(config.getRegistryAddress()).withAuth(config.getAuth())
+                    .withRegistrytoken(config.getRegistrytoken()));
+        }
+        return copy;
+    }
+
     static void decodeAuth(String auth, AuthConfig config) throws IOException {
         String str = new String(Base64.decodeBase64(auth), Charset.forName("UTF-8"));
         String[] parts = str.split(":", 2);
@@ -158,4 +208,19 @@ public class AuthConfigFile {
         String[] numParts = stripped.split("/", 2);
         return numParts[0];
     }
+
+    private static class CachedConfig {
+
+        private final long lastModified;
+
+        private final long size;
+
+        private final AuthConfigFile configFile;
+
+        CachedConfig(long lastModified, long size, AuthConfigFile configFile) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.configFile = configFile;
+        }
+    }
 }
@@ -282,15 +282,9 @@ public class DockerClientConfig implements Serializable {
     public AuthConfig effectiveAuthConfig(String imageName) {
         AuthConfig authConfig = null;
 
-        File dockerCfgFile = new File(getDockerConfig() + File.separator + DOCKER_CFG);
+        AuthConfigFile authConfigFile = imageName != null ? loadDockerCfgFile() : null;
 
-        if (dockerCfgFile.exists() && dockerCfgFile.isFile() && imageName != null) {
-            AuthConfigFile authConfigFile;
-            try {
-                authConfigFile = AuthConfigFile.loadConfig(dockerCfgFile);
-            } catch (IOException e) {
-                throw new DockerClientException("Failed to parse dockerCfgFile", e);
-            }
+        if (authConfigFile != null) {
             ReposTag reposTag = NameParser.parseRepositoryTag(imageName);
             HostnameReposName hostnameReposName = NameParser.resolveRepositoryName(reposTag.repos);
 
@@ -307,21 +301,26 @@ public class DockerClientConfig implements Serializable {
     }
 
     public AuthConfigurations getAuthConfigurations() {
-        File dockerCfgFile = new File(getDockerConfig() + File.separator + DOCKER_CFG);
-        if (dockerCfgFile.exists() && dockerCfgFile.isFile()) {
-            AuthConfigFile authConfigFile;
-            try {
-                authConfigFile = AuthConfigFile.loadConfig(dockerCfgFile);
-            } catch (IOException e) {
-                throw new DockerClientException("Failed to parse dockerCfgFile", e);
-            }
+        AuthConfigFile authConfigFile = loadDockerCfgFile();
 
+        if (authConfigFile != null) {
             return authConfigFile.getAuthConfigurations();
         }
 
         return new AuthConfigurations();
     }
 
+    /**
+     * @return the parsed {@code .dockercfg}, reused as long as the file is unchanged, or {@code null} if there is none
+     */
+    private AuthConfigFile loadDockerCfgFile() {
+        try {
+            return AuthConfigFile.loadCachedConfig(new File(getDockerConfig() + File.separator + DOCKER_CFG));
+        } catch (IOException e) {
+            throw new DockerClientException("Failed to parse dockerCfgFile", e);
+        }
+    }
+
     // CHECKSTYLE:OFF
     @Override
     public boolean equals(Object o) {
@@ -71,39 +71,82 @@ public class GoLangFileMatch {
     }
 
     public static boolean match(String pattern, String name) {
-        Pattern: while (!pattern.isEmpty()) {
-            ScanResult scanResult = scanChunk(pattern);
-            pattern = scanResult.pattern;
-            if (scanResult.star && StringUtils.isEmpty(scanResult.chunk)) {
-                // Trailing * matches rest of string unless it has a /.
-                return name.indexOf(File.separatorChar) < 0;
-            }
-            // Look for match at current position.
-            String matchResult = matchChunk(scanResult.chunk, name);
+        return compile(pattern).matches(name);
+    }
 
-            // if we're the last chunk, make sure we've exhausted the name
-            // otherwise we'll give a false result even if we could still match
-            // using the star
-            if (matchResult != null && (matchResult.isEmpty() || !pattern.isEmpty())) {
-                name = matchResult;
-                continue;
-            }
-            if (scanResult.star) {
-                for (int i = 0; i < name.length() && name.charAt(i) != File.separatorChar; i++) {
-                    matchResult = matchChunk(scanResult.chunk, name.substring(i + 1));
-                    if (matchResult != null) {
-                        // if we're the last chunk, make sure we exhausted the name
-                        if (pattern.isEmpty() && !matchResult.isEmpty()) {
-                            continue;
+    /**
+     * Splits the pattern into its chunks once, so that it can be matched against many names. Malformed patterns are detected
+     * while matching, like with {@link #match(String, String)}.
+     */
+    public static CompiledPattern compile(String pattern) {
+        List<ScanResult> chunks = new ArrayList<ScanResult>();
+        String rest = pattern;
+        while (!rest.isEmpty()) {
+            ScanResult scanResult = scanChunk(rest);
+            chunks.add(scanResult);
+            rest = scanResult.pattern;
+        }
+        return new CompiledPattern(pattern, chunks.toArray(new ScanResult[chunks.size()]));
+    }
+
+    /**
+     * A pattern prepared by {@link GoLangFileMatch#compile(String)}.
+     */
+    public static final class CompiledPattern {
+
+        private final String pattern;
+
+        private final ScanResult[] chunks;
+
+        private CompiledPattern(String pattern, ScanResult[] chunks) {
+            this.pattern = pattern;
+            this.chunks = chunks;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public boolean matches(String name) {
+            Chunks: for (int c = 0; c < chunks.length; c++) {
+                ScanResult scanResult = chunks[c];
+                boolean lastChunk = c == chunks.length - 1;
+                if (scanResult.star && StringUtils.isEmpty(scanResult.chunk)) {
+                    // Trailing * matches rest of string unless it has a /.
+                    return name.indexOf(File.separatorChar) < 0;
+                }
+                // Look for match at current position.
+                String matchResult = matchChunk(scanResult.chunk, name);
+
+                // if we're the last chunk, make sure we've exhausted the name
+                // otherwise we'll give a false result even if we could still match
+                // using the star
+                if (matchResult != null && (matchResult.isEmpty() || !lastChunk)) {
+                    name = matchResult;
+                    continue;
+                }
+                if (scanResult.star) {
+                    for (int i = 0; i < name.length() && name.charAt(i) != File.separatorChar; i++) {
+                        matchResult = matchChunk(scanResult.chunk, name.substring(i + 1));
+                        if (matchResult != null) {
+                            // if we're the last chunk, make sure we exhausted the name
+                            if (lastChunk && !matchResult.isEmpty()) {
+                                continue;
+                            }
+                            name = matchResult;
+                            continue Chunks;
                         }
-                        name = matchResult;
-                        continue Pattern;
                     }
                 }
+                return false;
             }
-            return false;
+            return name.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return pattern;
         }
-        return name.isEmpty();
     }
 
     static ScanResult scanChunk(String pattern) {
@@ -2,8 +2,16 @@ package com.github.dockerjava.core;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.Security;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.net.ssl.SSLContext;
 
@@ -15,11 +23,19 @@ import com.github.dockerjava.core.util.CertificateUtils;
 
 /**
  * SSL Config from local files.
+ *
+ * The {@link SSLContext} is shared by all configs of the same directory as long as the certificates don't change. Besides saving
+ * the parsing of the certificates for every client this lets new connections resume the TLS sessions of the others, as the
+ * client session cache belongs to the context.
  */
 public class LocalDirectorySSLConfig implements SSLConfig, Serializable {
 
     private static final long serialVersionUID = -4736328026418377358L;
 
+    private static final String[] CERTIFICATE_FILES = {"ca.pem", "cert.pem", "key.pem"};
+
+    private static final ConcurrentMap<String, CachedSSLContext> SSL_CONTEXTS = new ConcurrentHashMap<String, CachedSSLContext>();
+
     private final String dockerCertPath;
 
     public LocalDirectorySSLConfig(String dockerCertPath) {
@@ -40,21 +56,16 @@ public class LocalDirectorySSLConfig implements SSLConfig, Serializable {
 
             try {
 
-                Security.addProvider(new BouncyCastleProvider());
+                String path = new File(dockerCertPath).getAbsolutePath();
+                byte[] contentHash = hashCertificates(path);
 
-                // properties acrobatics not needed for java > 1.6
-                String httpProtocols = System.getProperty("https.protocols");
-                System.setProperty("https.protocols", "TLSv1");
-                SslConfigurator sslConfig = SslConfigurator.newInstance(true);
-                if (httpProtocols != null) {
-                    System.setProperty("https.protocols", httpProtocols);
+                CachedSSLContext cached = SSL_CONTEXTS.get(path);
+                if (cached == null || !Arrays.equals(cached.contentHash, contentHash)) {
+                    cached = new CachedSSLContext(contentHash, createSSLContext());
+                    SSL_CONTEXTS.put(path, cached);
                 }
 
-                sslConfig.keyStore(CertificateUtils.createKeyStore(dockerCertPath));
-                sslConfig.keyStorePassword("docker");
-                sslConfig.trustStore(CertificateUtils.createTrustStore(dockerCertPath));
-
-                return sslConfig.createSSLContext();
+                return cached.sslContext;
 
             } catch (Exception e) {
                 throw new DockerClientException(e.getMessage(), e);
@@ -66,6 +77,36 @@ public class LocalDirectorySSLConfig implements SSLConfig, Serializable {
 
     }
 
+    private SSLContext createSSLContext() throws Exception {
+        synchronized (LocalDirectorySSLConfig.class) {
+            if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+                Security.addProvider(new BouncyCastleProvider());
+            }
+
+            // properties acrobatics not needed for java > 1.6
+            String httpProtocols = System.getProperty("https.protocols");
+            System.setProperty("https.protocols", "TLSv1");
+            SslConfigurator sslConfig = SslConfigurator.newInstance(true);
+            if (httpProtocols != null) {
+                System.setProperty("https.protocols", httpProtocols);
+            }
+
+            sslConfig.keyStore(CertificateUtils.createKeyStore(dockerCertPath));
+            sslConfig.keyStorePassword("docker");
+            sslConfig.trustStore(CertificateUtils.createTrustStore(dockerCertPath));
+
+            return sslConfig.createSSLContext();
+        }
+    }
+
+    private static byte[] hashCertificates(String path) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (String file : CERTIFICATE_FILES) {
+            digest.update(Files.readAllBytes(new File(path, file).toPath()));
+        }
+        return digest.digest();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -94,4 +135,16 @@ public class LocalDirectorySSLConfig implements SSLConfig, Serializable {
         return new StringBuilder().append(this.getClass().getSimpleName()).append("{").append("dockerCertPath=")
                 .append(dockerCertPath).append("}").toString();
     }
+
+    private static class CachedSSLContext {
+
+        private final byte[] contentHash;
+
+        private final SSLContext sslContext;
+
+        CachedSSLContext(byte[] contentHash, SSLContext sslContext) {
+            this.contentHash = contentHash;
+            this.sslContext = sslContext;
+        }
+    }
 }
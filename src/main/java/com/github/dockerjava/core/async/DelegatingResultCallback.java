@@ -0,0 +1,76 @@
+package com.github.dockerjava.core.async;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.AsyncDockerCmd;
+import com.github.dockerjava.api.model.StreamType;
+
+/**
+ * Passes the results of an async command on to the result callback of the caller and closes the command once the callback was
+ * closed or the response is complete.
+ */
+public class DelegatingResultCallback<A_RES_T> implements ResultCallback<A_RES_T> {
+
+    private final AsyncDockerCmd<?, A_RES_T> command;
+
+    protected final ResultCallback<A_RES_T> resultCallback;
+
+    protected DelegatingResultCallback(AsyncDockerCmd<?, A_RES_T> command, ResultCallback<A_RES_T> resultCallback) {
+        this.command = command;
+        this.resultCallback = resultCallback;
+    }
+
+    /**
+     * @return a delegate of the given callback that implements {@link FrameSink} as well if the callback does, so that the
+     *         engines still see its opt-in
+     */
+    public static <A_RES_T> ResultCallback<A_RES_T> of(AsyncDockerCmd<?, A_RES_T> command,
+            ResultCallback<A_RES_T> resultCallback) {
+        if (resultCallback instanceof FrameSink) {
+            return new DelegatingFrameSinkCallback<A_RES_T>(command, resultCallback);
+        }
+
+        return new DelegatingResultCallback<A_RES_T>(command, resultCallback);
+    }
+
+    @Override
+    public void close() throws IOException {
+        resultCallback.close();
+        command.close();
+    }
+
+    @Override
+    public void onStart(Closeable closeable) {
+        resultCallback.onStart(closeable);
+    }
+
+    @Override
+    public void onNext(A_RES_T object) {
+        resultCallback.onNext(object);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        resultCallback.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        resultCallback.onComplete();
+        command.close();
+    }
+
+    private static class DelegatingFrameSinkCallback<A_RES_T> extends DelegatingResultCallback<A_RES_T> implements FrameSink {
+
+        DelegatingFrameSinkCallback(AsyncDockerCmd<?, A_RES_T> command, ResultCallback<A_RES_T> resultCallback) {
+            super(command, resultCallback);
+        }
+
+        @Override
+        public void onFrame(StreamType streamType, byte[] buffer, int offset, int length) throws IOException {
+            ((FrameSink) resultCallback).onFrame(streamType, buffer, offset, length);
+        }
+    }
+}
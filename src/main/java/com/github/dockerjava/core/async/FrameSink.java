@@ -0,0 +1,22 @@
+package com.github.dockerjava.core.async;
+
+import java.io.IOException;
+
+import com.github.dockerjava.api.model.StreamType;
+
+/**
+ * Receives the payload of docker-raw-stream frames without a {@link com.github.dockerjava.api.model.Frame} being created.
+ *
+ * Result callbacks opt in by implementing this interface. Both the jaxrs ({@link FrameStreamProcessor}) and the netty engine
+ * then call {@link #onFrame} instead of {@link com.github.dockerjava.api.async.ResultCallback#onNext(Object)}.
+ */
+public interface FrameSink {
+
+    /**
+     * @param buffer
+     *            holds the payload from {@code offset} to {@code offset + length}. It is only valid during the call, as it is
+     *            reused for the next frame or backs a buffer that is released afterwards, so the bytes must be consumed or
+     *            copied before returning.
+     */
+    void onFrame(StreamType streamType, byte[] buffer, int offset, int length) throws IOException;
+}
@@ -8,10 +8,12 @@ import java.io.InputStream;
 
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
 import com.github.dockerjava.core.command.FrameReader;
 
 /**
- *
+ * Passes the frames of a docker-raw-stream to the {@link ResultCallback}. Callbacks that implement {@link FrameSink} receive
+ * the payload from a reused buffer, so no garbage is created per frame.
  *
  * @author Marcus Linke
  *
@@ -25,6 +27,11 @@ public class FrameStreamProcessor implements ResponseStreamProcessor<Frame> {
         FrameReader frameReader = new FrameReader(response);
         try {
 
+            if (resultCallback instanceof FrameSink) {
+                processFrames(frameReader, (FrameSink) resultCallback, resultCallback);
+                return;
+            }
+
             Frame frame = frameReader.readFrame();
             while (frame != null) {
                 try {
@@ -48,4 +55,23 @@ public class FrameStreamProcessor implements ResponseStreamProcessor<Frame> {
             }
         }
     }
+
+    private void processFrames(FrameReader frameReader, final FrameSink sink, final ResultCallback<Frame> resultCallback)
+            throws IOException {
+        FrameSink errorHandlingSink = new FrameSink() {
+            @Override
+            public void onFrame(StreamType streamType, byte[] buffer, int offset, int length) {
+                try {
+                    sink.onFrame(streamType, buffer, offset, length);
+                } catch (Exception e) {
+                    resultCallback.onError(e);
+                }
+            }
+        };
+
+        boolean more;
+        do {
+            more = frameReader.readFrame(errorHandlingSink);
+        } while (more);
+    }
 }
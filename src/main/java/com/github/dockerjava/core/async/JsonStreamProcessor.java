@@ -6,12 +6,11 @@ package com.github.dockerjava.core.async;
 import java.io.IOException;
 import java.io.InputStream;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.core.util.JsonCodec;
 
 /**
  *
@@ -20,39 +19,31 @@ import com.github.dockerjava.api.async.ResultCallback;
  */
 public class JsonStreamProcessor<T> implements ResponseStreamProcessor<T> {
 
-    private static final JsonFactory JSON_FACTORY = new JsonFactory();
-
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
-    private final Class<T> clazz;
+    private final ObjectReader objectReader;
 
     public JsonStreamProcessor(Class<T> clazz) {
-        this.clazz = clazz;
+        this.objectReader = JsonCodec.reader(clazz);
     }
 
     @Override
     public void processResponseStream(InputStream response, ResultCallback<T> resultCallback) {
 
         resultCallback.onStart(response);
-        OBJECT_MAPPER.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, true);
 
         try {
-            JsonParser jp = JSON_FACTORY.createParser(response);
-            Boolean closed = jp.isClosed();
+            JsonParser jp = objectReader.getFactory().createParser(response);
             JsonToken nextToken = jp.nextToken();
-            while (!closed && nextToken != null && nextToken != JsonToken.END_OBJECT) {
+            while (!jp.isClosed() && nextToken != null && nextToken != JsonToken.END_OBJECT) {
                 try {
-                    ObjectNode objectNode = OBJECT_MAPPER.readTree(jp);
-                    // exclude empty item serialization into class #461
-                    if (!objectNode.isEmpty(null)) {
-                        T next = OBJECT_MAPPER.treeToValue(objectNode, clazz);
+                    // exclude empty item serialization into class #461, binding continues from the first field otherwise
+                    if (nextToken != JsonToken.START_OBJECT || jp.nextToken() != JsonToken.END_OBJECT) {
+                        T next = objectReader.readValue(jp);
                         resultCallback.onNext(next);
                     }
                 } catch (Exception e) {
                     resultCallback.onError(e);
                 }
 
-                closed = jp.isClosed();
                 nextToken = jp.nextToken();
             }
         } catch (Throwable t) {
@@ -13,7 +13,9 @@ import com.github.dockerjava.api.command.BuildImageCmd;
 import com.github.dockerjava.api.model.AuthConfigurations;
 import com.github.dockerjava.api.model.BuildResponseItem;
 import com.github.dockerjava.core.dockerfile.Dockerfile;
+import com.github.dockerjava.core.util.ArchiveCompression;
 import com.github.dockerjava.core.util.FilePathUtil;
+import com.github.dockerjava.core.util.TarSegmentCache;
 
 /**
  *
@@ -24,6 +26,12 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
 
     private InputStream tarInputStream;
 
+    private Dockerfile.ScannedResult scannedContext;
+
+    private ArchiveCompression compression = ArchiveCompression.DEFAULT;
+
+    private TarSegmentCache contextCache;
+
     private String tag;
 
     private Boolean noCache;
@@ -156,11 +164,28 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
         return buildAuthConfigs;
     }
 
+    /**
+     * Archives the scanned context of {@link #withDockerfile(File)} on first use, so that {@link #withCompression} and
+     * {@link #withContextCache} apply.
+     */
     @Override
     public InputStream getTarInputStream() {
+        if (tarInputStream == null && scannedContext != null) {
+            tarInputStream = scannedContext.buildDockerFolderTar(compression, contextCache);
+        }
         return tarInputStream;
     }
 
+    @Override
+    public ArchiveCompression getCompression() {
+        return compression;
+    }
+
+    @Override
+    public TarSegmentCache getContextCache() {
+        return contextCache;
+    }
+
     /**
      * @see #shmsize
      */
@@ -272,7 +297,8 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
         this.dockerFile = dockerfile;
 
         try {
-            withTarInputStream(new Dockerfile(dockerfile, baseDirectory).parse().buildDockerFolderTar());
+            scannedContext = new Dockerfile(dockerfile, baseDirectory).parse();
+            tarInputStream = null;
         } catch (IOException e) {
             // we just created the file this should never happen.
             throw new RuntimeException(e);
@@ -284,6 +310,21 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
     public BuildImageCmdImpl withTarInputStream(InputStream tarInputStream) {
         checkNotNull(tarInputStream, "tarInputStream is null");
         this.tarInputStream = tarInputStream;
+        this.scannedContext = null;
+        return this;
+    }
+
+    @Override
+    public BuildImageCmdImpl withCompression(ArchiveCompression compression) {
+        checkNotNull(compression, "compression is null");
+        this.compression = compression;
+        return this;
+    }
+
+    @Override
+    public BuildImageCmdImpl withContextCache(TarSegmentCache contextCache) {
+        checkNotNull(contextCache, "contextCache is null");
+        this.contextCache = contextCache;
         return this;
     }
 
@@ -307,6 +348,11 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
     public void close() {
         super.close();
 
+        if (tarInputStream == null) {
+            // the scanned context was never archived
+            return;
+        }
+
         try {
             tarInputStream.close();
         } catch (IOException e) {
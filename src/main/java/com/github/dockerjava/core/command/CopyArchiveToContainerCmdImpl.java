@@ -14,7 +14,9 @@ import org.apache.commons.lang.builder.ToStringBuilder;
 import com.github.dockerjava.api.command.CopyArchiveToContainerCmd;
 import com.github.dockerjava.api.exception.DockerClientException;
 import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.core.util.ArchiveCompression;
 import com.github.dockerjava.core.util.CompressArchiveUtil;
+import com.github.dockerjava.core.util.TempFileInputStream;
 
 public class CopyArchiveToContainerCmdImpl extends AbstrDockerCmd<CopyArchiveToContainerCmd, Void> implements
         CopyArchiveToContainerCmd {
@@ -31,6 +33,8 @@ public class CopyArchiveToContainerCmdImpl extends AbstrDockerCmd<CopyArchiveToC
 
     private boolean dirChildrenOnly = false;
 
+    private ArchiveCompression compression = ArchiveCompression.DEFAULT;
+
     public CopyArchiveToContainerCmdImpl(CopyArchiveToContainerCmd.Exec exec, String containerId) {
         super(exec);
         withContainerId(containerId);
@@ -76,6 +80,18 @@ public class CopyArchiveToContainerCmdImpl extends AbstrDockerCmd<CopyArchiveToC
         return this;
     }
 
+    @Override
+    public CopyArchiveToContainerCmd withCompression(ArchiveCompression compression) {
+        checkNotNull(compression, "compression was not specified");
+        this.compression = compression;
+        return this;
+    }
+
+    @Override
+    public ArchiveCompression getCompression() {
+        return compression;
+    }
+
     @Override
     public InputStream getTarInputStream() {
         return tarInputStream;
@@ -113,9 +129,9 @@ public class CopyArchiveToContainerCmdImpl extends AbstrDockerCmd<CopyArchiveToC
     }
 
     private InputStream buildUploadStream(String hostResource, boolean dirChildrenOnly) throws IOException {
-        Path toUpload = Files.createTempFile("docker-java", ".tar.gz");
-        CompressArchiveUtil.tar(Paths.get(hostResource), toUpload, true, dirChildrenOnly);
-        return Files.newInputStream(toUpload);
+        Path toUpload = Files.createTempFile("docker-java", compression.isCompressed() ? ".tar.gz" : ".tar");
+        CompressArchiveUtil.tar(Paths.get(hostResource), toUpload, compression, dirChildrenOnly);
+        return new TempFileInputStream(toUpload.toFile());
     }
 
     /**
@@ -0,0 +1,65 @@
+package com.github.dockerjava.core.command;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.core.async.FrameSink;
+import com.github.dockerjava.core.async.ResultCallbackTemplate;
+
+/**
+ * Writes exec/attach/log output to stdout and stderr like {@link ExecStartResultCallback}, but receives the payload through
+ * {@link FrameSink} so that no {@link Frame} is created per frame. {@link #onNext(Frame)} is not called for streamed frames;
+ * subclasses intercept output in {@link #onFrame}.
+ */
+public class ExecStartFrameSinkCallback extends ResultCallbackTemplate<ExecStartFrameSinkCallback, Frame> implements FrameSink {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecStartFrameSinkCallback.class);
+
+    private final OutputStream stdout, stderr;
+
+    public ExecStartFrameSinkCallback(OutputStream stdout, OutputStream stderr) {
+        this.stdout = stdout;
+        this.stderr = stderr;
+    }
+
+    public ExecStartFrameSinkCallback() {
+        this(null, null);
+    }
+
+    @Override
+    public void onNext(Frame frame) {
+        if (frame != null) {
+            try {
+                onFrame(frame.getStreamType(), frame.getPayload(), 0, frame.getPayload().length);
+            } catch (IOException e) {
+                onError(e);
+            }
+        }
+    }
+
+    @Override
+    public void onFrame(StreamType streamType, byte[] buffer, int offset, int length) throws IOException {
+        switch (streamType) {
+            case STDOUT:
+            case RAW:
+                if (stdout != null) {
+                    stdout.write(buffer, offset, length);
+                    stdout.flush();
+                }
+                break;
+            case STDERR:
+                if (stderr != null) {
+                    stderr.write(buffer, offset, length);
+                    stderr.flush();
+                }
+                break;
+            default:
+                LOGGER.error("unknown stream type:" + streamType);
+        }
+    }
+}
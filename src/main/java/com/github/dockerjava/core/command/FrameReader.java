@@ -6,19 +6,27 @@ import java.util.Arrays;
 
 import com.github.dockerjava.api.model.Frame;
 import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.core.async.FrameSink;
 
 import javax.annotation.CheckForNull;
 
 /**
  * Breaks the input into frame. Similar to how a buffered reader would readLies.
  * <p/>
+ * Frames are read into a buffer that is reused and grown as needed. {@link #readFrame(FrameSink)} passes the payload without
+ * copying it, {@link #readFrame()} returns it as a {@link Frame} of its own.
+ * <p/>
  * See: {@link }http://docs.docker.com/v1.6/reference/api/docker_remote_api_v1.13/#attach-to-a-container}
  */
 public class FrameReader implements AutoCloseable {
 
     private static final int HEADER_SIZE = 8;
 
-    private final byte[] rawBuffer = new byte[1000];
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final byte[] header = new byte[HEADER_SIZE];
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
 
     private final InputStream inputStream;
 
@@ -46,25 +54,42 @@ public class FrameReader implements AutoCloseable {
      */
     @CheckForNull
     public Frame readFrame() throws IOException {
+        final Frame[] frame = new Frame[1];
+
+        readFrame(new FrameSink() {
+            @Override
+            public void onFrame(StreamType streamType, byte[] payload, int offset, int length) {
+                frame[0] = new Frame(streamType, Arrays.copyOfRange(payload, offset, offset + length));
+            }
+        });
+
+        return frame[0];
+    }
+
+    /**
+     * Reads the next frame and passes it to the given sink.
+     *
+     * @return {@code false} if no more frames.
+     */
+    public boolean readFrame(FrameSink sink) throws IOException {
 
         if (rawStreamDetected) {
-            int read = inputStream.read(rawBuffer);
+            int read = inputStream.read(buffer);
             if (read == -1) {
-                return null;
+                return false;
             }
 
-            return new Frame(StreamType.RAW, Arrays.copyOf(rawBuffer, read));
+            sink.onFrame(StreamType.RAW, buffer, 0, read);
+            return true;
         } else {
 
-            byte[] header = new byte[HEADER_SIZE];
-
             int actualHeaderSize = 0;
 
             do {
                 int headerCount = inputStream.read(header, actualHeaderSize, HEADER_SIZE - actualHeaderSize);
 
                 if (headerCount == -1) {
-                    return null;
+                    return false;
                 }
                 actualHeaderSize += headerCount;
             } while (actualHeaderSize < HEADER_SIZE);
@@ -75,29 +100,31 @@ public class FrameReader implements AutoCloseable {
 
             if (streamType.equals(StreamType.RAW)) {
                 rawStreamDetected = true;
-                return new Frame(StreamType.RAW, Arrays.copyOf(header, HEADER_SIZE));
+                sink.onFrame(StreamType.RAW, header, 0, HEADER_SIZE);
+                return true;
             }
 
             int payloadSize = ((header[4] & 0xff) << 24) + ((header[5] & 0xff) << 16) + ((header[6] & 0xff) << 8)
                     + (header[7] & 0xff);
 
-            byte[] payload = new byte[payloadSize];
+            if (payloadSize > buffer.length) {
+                buffer = new byte[Math.max(payloadSize, buffer.length * 2)];
+            }
+
             int actualPayloadSize = 0;
 
-            do {
-                int count = inputStream.read(payload, actualPayloadSize, payloadSize - actualPayloadSize);
+            while (actualPayloadSize < payloadSize) {
+                int count = inputStream.read(buffer, actualPayloadSize, payloadSize - actualPayloadSize);
 
                 if (count == -1) {
-                    if (actualPayloadSize != payloadSize) {
-                        throw new IOException(String.format("payload must be %d bytes long, but was %d", payloadSize,
-                                actualPayloadSize));
-                    }
-                    break;
+                    throw new IOException(String.format("payload must be %d bytes long, but was %d", payloadSize,
+                            actualPayloadSize));
                 }
                 actualPayloadSize += count;
-            } while (actualPayloadSize < payloadSize);
+            }
 
-            return new Frame(streamType, payload);
+            sink.onFrame(streamType, buffer, 0, payloadSize);
+            return true;
         }
     }
 
@@ -0,0 +1,135 @@
+package com.github.dockerjava.core.dockerfile;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.github.dockerjava.api.exception.DockerClientException;
+import com.github.dockerjava.core.GoLangFileMatch;
+import com.github.dockerjava.core.GoLangFileMatch.CompiledPattern;
+import com.github.dockerjava.core.exception.GoLangFileMatchException;
+
+/**
+ * Matches paths relative to the build context against the patterns of a .dockerignore file, which are compiled once.
+ *
+ * As with docker, the last matching pattern wins, exception patterns starting with "!" include a path again and a pattern
+ * that matches a parent directory matches everything below it.
+ */
+public class DockerIgnoreMatcher {
+
+    private final List<Rule> rules = new ArrayList<Rule>();
+
+    private final List<Rule> exceptions = new ArrayList<Rule>();
+
+    public DockerIgnoreMatcher(List<String> patterns) {
+        int lineNumber = 0;
+        for (String pattern : patterns) {
+            lineNumber++;
+            Rule rule = new Rule(pattern, lineNumber);
+            rules.add(rule);
+            if (rule.exception) {
+                exceptions.add(rule);
+            }
+        }
+    }
+
+    /**
+     * Returns the pattern that excludes the given path or {@code null} if the path is part of the build context.
+     */
+    public String excludingPattern(String relativePath) {
+        String[] elements = StringUtils.split(relativePath, File.separatorChar);
+        String excludedBy = null;
+
+        for (Rule rule : rules) {
+            if (rule.matches(relativePath, elements)) {
+                excludedBy = rule.exception ? null : rule.pattern.getPattern();
+            }
+        }
+
+        return excludedBy;
+    }
+
+    /**
+     * Returns whether an exception pattern may include a path below the given excluded directory again. If not, the
+     * directory doesn't need to be scanned at all.
+     */
+    public boolean mayIncludeBelow(String relativeDirectory) {
+        String[] elements = StringUtils.split(relativeDirectory, File.separatorChar);
+
+        for (Rule rule : exceptions) {
+            if (rule.mayMatchBelow(elements)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static final class Rule {
+
+        private final CompiledPattern pattern;
+
+        private final boolean exception;
+
+        private final int lineNumber;
+
+        private final CompiledPattern[] elements;
+
+        Rule(String line, int lineNumber) {
+            this.exception = line.startsWith("!");
+            this.pattern = GoLangFileMatch.compile(exception ? line.substring(1) : line);
+            this.lineNumber = lineNumber;
+
+            String[] patternElements = StringUtils.split(pattern.getPattern(), File.separatorChar);
+            this.elements = new CompiledPattern[patternElements.length];
+            for (int i = 0; i < patternElements.length; i++) {
+                elements[i] = GoLangFileMatch.compile(patternElements[i]);
+            }
+        }
+
+        boolean matches(String path, String[] pathElements) {
+            try {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+
+                // a directory with as many elements as the pattern that contains the path
+                if (elements.length < pathElements.length) {
+                    return pattern.matches(StringUtils.join(pathElements, File.separatorChar, 0, elements.length));
+                }
+
+                return false;
+            } catch (GoLangFileMatchException e) {
+                throw invalidPattern();
+            }
+        }
+
+        /**
+         * Whether the pattern has more elements than the directory and its leading elements match the directory.
+         */
+        boolean mayMatchBelow(String[] directoryElements) {
+            if (elements.length <= directoryElements.length) {
+                // could only match the directory or one of its parents, which leaves the directory excluded anyway
+                return false;
+            }
+
+            try {
+                for (int i = 0; i < directoryElements.length; i++) {
+                    if (!elements[i].matches(directoryElements[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (GoLangFileMatchException e) {
+                throw invalidPattern();
+            }
+        }
+
+        private DockerClientException invalidPattern() {
+            return new DockerClientException(String.format("Invalid pattern '%s' on line %s in .dockerignore file",
+                    (exception ? "!" : "") + pattern.getPattern(), lineNumber));
+        }
+    }
+}
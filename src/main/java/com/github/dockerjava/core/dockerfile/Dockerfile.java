@@ -1,24 +1,30 @@
 package com.github.dockerjava.core.dockerfile;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.UUID;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.filefilter.TrueFileFilter;
 
 import com.github.dockerjava.api.exception.DockerClientException;
-import com.github.dockerjava.core.GoLangFileMatch;
 import com.github.dockerjava.core.exception.GoLangFileMatchException;
+import com.github.dockerjava.core.util.ArchiveCompression;
 import com.github.dockerjava.core.util.CompressArchiveUtil;
 import com.github.dockerjava.core.util.FilePathUtil;
+import com.github.dockerjava.core.util.PipedProducerInputStream;
+import com.github.dockerjava.core.util.TarSegmentCache;
 import com.google.common.base.Function;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
@@ -119,55 +125,47 @@ public class Dockerfile {
 
         final List<String> ignores;
 
+        private final DockerIgnoreMatcher ignoreMatcher;
+
         final List<File> filesToAdd = new ArrayList<File>();
 
         public InputStream buildDockerFolderTar() {
             return buildDockerFolderTar(baseDirectory);
         }
 
-        public InputStream buildDockerFolderTar(File directory) {
-
-            File dockerFolderTar = null;
-
-            try {
-                final String archiveNameWithOutExtension = UUID.randomUUID().toString();
-
-                dockerFolderTar = CompressArchiveUtil.archiveTARFiles(directory, filesToAdd,
-                        archiveNameWithOutExtension);
-
-                long length = dockerFolderTar.length();
-
-                final FileInputStream tarInputStream = FileUtils.openInputStream(dockerFolderTar);
-                final File tarFile = dockerFolderTar;
-
-                return new InputStream() {
-
-                    @Override
-                    public int available() throws IOException {
-                        return tarInputStream.available();
-                    }
+        public InputStream buildDockerFolderTar(ArchiveCompression compression, TarSegmentCache cache) {
+            return buildDockerFolderTar(baseDirectory, compression, cache);
+        }
 
-                    @Override
-                    public int read() throws IOException {
-                        return tarInputStream.read();
-                    }
+        public InputStream buildDockerFolderTar(File directory) {
+            return buildDockerFolderTar(directory, ArchiveCompression.DEFAULT);
+        }
 
-                    @Override
-                    public int read(byte[] buff, int offset, int len) throws IOException {
-                        return tarInputStream.read(buff, offset, len);
-                    }
+        public InputStream buildDockerFolderTar(File directory, ArchiveCompression compression) {
+            return buildDockerFolderTar(directory, compression, null);
+        }
 
-                    @Override
-                    public void close() throws IOException {
-                        IOUtils.closeQuietly(tarInputStream);
-                        FileUtils.deleteQuietly(tarFile);
+        /**
+         * Streams the context while it is archived on a worker thread, so that no temporary file is needed and archiving
+         * overlaps with the upload. Errors while archiving fail the reader of the stream.
+         *
+         * @param cache
+         *            cache of the archived files from previous builds or {@code null}
+         */
+        public InputStream buildDockerFolderTar(final File directory, final ArchiveCompression compression,
+                final TarSegmentCache cache) {
+            final List<File> files = new ArrayList<File>(filesToAdd);
+
+            return new PipedProducerInputStream(new PipedProducerInputStream.Producer() {
+                @Override
+                public void writeTo(OutputStream out) throws IOException {
+                    if (cache == null) {
+                        CompressArchiveUtil.archiveTARFiles(directory, files, out, compression);
+                    } else {
+                        CompressArchiveUtil.archiveTARFiles(directory, files, out, compression, cache);
                     }
-                };
-
-            } catch (IOException ex) {
-                FileUtils.deleteQuietly(dockerFolderTar);
-                throw new DockerClientException("Error occurred while preparing Docker context folder.", ex);
-            }
+                }
+            }, "docker-java-build-context");
         }
 
         @Override
@@ -179,6 +177,8 @@ public class Dockerfile {
 
             ignores = getIgnores();
 
+            ignoreMatcher = new DockerIgnoreMatcher(ignores);
+
             String matchingIgnorePattern = effectiveMatchingIgnorePattern(dockerFile);
 
             if (matchingIgnorePattern != null) {
@@ -186,36 +186,33 @@ public class Dockerfile {
                         "Dockerfile is excluded by pattern '%s' in .dockerignore file", matchingIgnorePattern));
             }
 
-            Collection<File> filesInBuildContext = FileUtils.listFiles(baseDirectory, TrueFileFilter.INSTANCE,
-                    TrueFileFilter.INSTANCE);
-
-            for (File f : filesInBuildContext) {
-                if (effectiveMatchingIgnorePattern(f) == null) {
-                    filesToAdd.add(f);
-                }
-            }
-        }
-
-        /**
-         * Returns all matching ignore patterns for the given file name.
-         */
-        private List<String> matchingIgnorePatterns(String fileName) {
-            List<String> matches = new ArrayList<String>();
-
-            int lineNumber = 0;
-            for (String pattern : ignores) {
-                lineNumber++;
-                try {
-                    if (GoLangFileMatch.match(pattern, fileName)) {
-                        matches.add(pattern);
-                    }
-                } catch (GoLangFileMatchException e) {
-                    throw new DockerClientException(String.format(
-                            "Invalid pattern '%s' on line %s in .dockerignore file", pattern, lineNumber));
-                }
-            }
-
-            return matches;
+            final Path basePath = baseDirectory.toPath();
+
+            Files.walkFileTree(basePath, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                    new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                            if (dir.equals(basePath)) {
+                                return FileVisitResult.CONTINUE;
+                            }
+
+                            String relativePath = basePath.relativize(dir).toString();
+
+                            if (ignoreMatcher.excludingPattern(relativePath) != null
+                                    && !ignoreMatcher.mayIncludeBelow(relativePath)) {
+                                return FileVisitResult.SKIP_SUBTREE;
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                            if (ignoreMatcher.excludingPattern(basePath.relativize(file).toString()) == null) {
+                                filesToAdd.add(file.toFile());
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
         }
 
         /**
@@ -225,29 +222,7 @@ public class Dockerfile {
         private String effectiveMatchingIgnorePattern(File file) {
             String relativeFilename = FilePathUtil.relativize(baseDirectory, file);
 
-            List<String> matchingPattern = matchingIgnorePatterns(relativeFilename);
-
-            if (matchingPattern.isEmpty()) {
-                return null;
-            }
-
-            String lastMatchingPattern = matchingPattern.get(matchingPattern.size() - 1);
-
-            int lastMatchingPatternIndex = ignores.lastIndexOf(lastMatchingPattern);
-
-            if (lastMatchingPatternIndex == ignores.size() - 1) {
-                return lastMatchingPattern;
-            }
-
-            List<String> remainingIgnorePattern = ignores.subList(lastMatchingPatternIndex + 1, ignores.size());
-
-            for (String ignorePattern : remainingIgnorePattern) {
-                if (ignorePattern.equals("!" + relativeFilename)) {
-                    return null;
-                }
-            }
-
-            return lastMatchingPattern;
-         }
+            return ignoreMatcher.excludingPattern(FilenameUtils.separatorsToSystem(relativeFilename));
+        }
     }
 }
@@ -0,0 +1,101 @@
+package com.github.dockerjava.core.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+/**
+ * How the archives that are uploaded to the docker host, e.g. the build context, are compressed.
+ *
+ * Compression pays off for remote hosts, but only burns CPU for a daemon listening on a local unix socket, which accepts
+ * uncompressed archives as well.
+ */
+public final class ArchiveCompression {
+
+    /**
+     * Sends plain tar archives.
+     */
+    public static final ArchiveCompression NONE = new ArchiveCompression(false, 0, 0);
+
+    /**
+     * Gzip with the default level on all available processors.
+     */
+    public static final ArchiveCompression DEFAULT = gzip(Deflater.DEFAULT_COMPRESSION, Runtime.getRuntime()
+            .availableProcessors());
+
+    private final boolean compressed;
+
+    private final int level;
+
+    private final int threads;
+
+    private ArchiveCompression(boolean compressed, int level, int threads) {
+        this.compressed = compressed;
+        this.level = level;
+        this.threads = threads;
+    }
+
+    /**
+     * @param level
+     *            the deflate level from 0 to 9 or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param threads
+     *            the number of blocks of the archive compressed in parallel, on threads shared with other archives
+     */
+    public static ArchiveCompression gzip(int level, int threads) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level " + level);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        return new ArchiveCompression(true, level, threads);
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Wraps the given stream so that it compresses what is written to it. Closing the returned stream closes the given one.
+     */
+    public OutputStream compress(OutputStream out) throws IOException {
+        return compress(out, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #compress(OutputStream)}, but inputs of less than a few blocks are compressed on the calling thread, as
+     * handing them to other threads doesn't pay off.
+     */
+    public OutputStream compress(OutputStream out, long expectedLength) throws IOException {
+        if (!compressed) {
+            return out;
+        }
+
+        if (threads == 1 || expectedLength < 4L * ParallelGzipOutputStream.BLOCK_SIZE) {
+            return new GZIPOutputStream(out) {
+                {
+                    def.setLevel(level);
+                }
+            };
+        }
+
+        return new ParallelGzipOutputStream(out, level, threads);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this).append("compressed", compressed).append("level", level).append("threads", threads)
+                .toString();
+    }
+}
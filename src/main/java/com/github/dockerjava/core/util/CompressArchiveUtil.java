@@ -7,21 +7,24 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
-import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 
 import com.google.common.io.ByteStreams;
 
 public class CompressArchiveUtil {
+
+    private static final int TAR_RECORD_SIZE = 512;
+
     private CompressArchiveUtil() {
         // utility class
     }
@@ -36,11 +39,8 @@ public class CompressArchiveUtil {
         }
     }
 
-    private static TarArchiveOutputStream buildTarStream(Path outputPath, boolean gZipped) throws IOException {
-        OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(outputPath));
-        if (gZipped) {
-            outputStream = new GzipCompressorOutputStream(outputStream);
-        }
+    private static TarArchiveOutputStream buildTarStream(Path outputPath, ArchiveCompression compression) throws IOException {
+        OutputStream outputStream = compression.compress(new BufferedOutputStream(Files.newOutputStream(outputPath)));
         TarArchiveOutputStream tarArchiveOutputStream = new TarArchiveOutputStream(outputStream);
         tarArchiveOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
         return tarArchiveOutputStream;
@@ -60,12 +60,22 @@ public class CompressArchiveUtil {
      *            compress with gzip algorithm
      */
     public static void tar(Path inputPath, Path outputPath, boolean gZipped, boolean childrenOnly) throws IOException {
+        tar(inputPath, outputPath, gZipped ? ArchiveCompression.DEFAULT : ArchiveCompression.NONE, childrenOnly);
+    }
+
+    /**
+     * Recursively tar file
+     *
+     * @see #tar(Path, Path, boolean, boolean)
+     */
+    public static void tar(Path inputPath, Path outputPath, ArchiveCompression compression, boolean childrenOnly)
+            throws IOException {
         if (!Files.exists(inputPath)) {
             throw new FileNotFoundException("File not found " + inputPath);
         }
         FileUtils.touch(outputPath.toFile());
 
-        try (TarArchiveOutputStream tarArchiveOutputStream = buildTarStream(outputPath, gZipped)) {
+        try (TarArchiveOutputStream tarArchiveOutputStream = buildTarStream(outputPath, compression)) {
             if (!Files.isDirectory(inputPath)) {
                 TarArchiveEntry tarEntry = new TarArchiveEntry(inputPath.getFileName().toString());
                 if (inputPath.toFile().canExecute()) {
@@ -88,16 +98,26 @@ public class CompressArchiveUtil {
             throws IOException {
         File tarFile = new File(FileUtils.getTempDirectoryPath(), archiveNameWithOutExtension + ".tar");
         tarFile.deleteOnExit();
-        try (TarArchiveOutputStream tos = new TarArchiveOutputStream(new GZIPOutputStream(new BufferedOutputStream(
-                new FileOutputStream(tarFile))))) {
+        archiveTARFiles(base, files, new BufferedOutputStream(new FileOutputStream(tarFile)));
+        return tarFile;
+    }
+
+    /**
+     * Writes the files as gzip compressed tar archive to the given stream and closes it.
+     */
+    public static void archiveTARFiles(File base, Iterable<File> files, OutputStream outputStream) throws IOException {
+        archiveTARFiles(base, files, outputStream, ArchiveCompression.DEFAULT);
+    }
+
+    /**
+     * Writes the files as tar archive to the given stream and closes it.
+     */
+    public static void archiveTARFiles(File base, Iterable<File> files, OutputStream outputStream,
+            ArchiveCompression compression) throws IOException {
+        try (TarArchiveOutputStream tos = new TarArchiveOutputStream(compression.compress(outputStream))) {
             tos.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
             for (File file : files) {
-                TarArchiveEntry tarEntry = new TarArchiveEntry(file);
-                tarEntry.setName(relativize(base, file));
-
-                if (!file.isDirectory() && file.canExecute()) {
-                    tarEntry.setMode(tarEntry.getMode() | 0755);
-                }
+                TarArchiveEntry tarEntry = tarEntry(base, file);
 
                 tos.putArchiveEntry(tarEntry);
 
@@ -107,7 +127,104 @@ public class CompressArchiveUtil {
                 tos.closeArchiveEntry();
             }
         }
+    }
 
-        return tarFile;
+    /**
+     * Writes the files as tar archive to the given stream and closes it. The archive is a concatenation of one segment per file,
+     * which is taken from the cache if the file didn't change since it was archived before. With gzip, every segment is a
+     * gzip member of its own.
+     */
+    public static void archiveTARFiles(File base, Iterable<File> files, OutputStream outputStream,
+            ArchiveCompression compression, TarSegmentCache cache) throws IOException {
+        try (OutputStream out = outputStream) {
+            for (File file : files) {
+                TarArchiveEntry tarEntry = tarEntry(base, file);
+
+                if (file.isDirectory()) {
+                    writeSegment(tarEntry, null, out, compression);
+                } else {
+                    cache.writeSegment(tarEntry, file, out, compression);
+                }
+            }
+
+            // end of archive
+            OutputStream eof = compression.compress(new CloseShieldOutputStream(out), 0);
+            eof.write(new byte[2 * TAR_RECORD_SIZE]);
+            eof.close();
+        }
+    }
+
+    private static TarArchiveEntry tarEntry(File base, File file) {
+        TarArchiveEntry tarEntry = new TarArchiveEntry(file);
+        tarEntry.setName(relativize(base, file));
+
+        if (!file.isDirectory() && file.canExecute()) {
+            tarEntry.setMode(tarEntry.getMode() | 0755);
+        }
+
+        return tarEntry;
+    }
+
+    /**
+     * Writes the tar entry of a single file, padded to the record size but without the end of archive marker.
+     *
+     * @param file
+     *            the content of the entry or {@code null} for a directory
+     */
+    static void writeSegment(TarArchiveEntry tarEntry, File file, OutputStream outputStream, ArchiveCompression compression)
+            throws IOException {
+        OutputStream out = compression.compress(new CloseShieldOutputStream(outputStream), tarEntry.getSize());
+
+        // the last record is only written when the archive is finished, so the end of archive marker is dropped instead
+        try (TarArchiveOutputStream tos = new TarArchiveOutputStream(new TrailerDroppingOutputStream(out,
+                2 * TAR_RECORD_SIZE), TAR_RECORD_SIZE, TAR_RECORD_SIZE)) {
+            tos.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
+            tos.putArchiveEntry(tarEntry);
+            if (file != null) {
+                FileUtils.copyFile(file, tos);
+            }
+            tos.closeArchiveEntry();
+        }
+    }
+
+    /**
+     * Passes on everything but the given number of bytes written last.
+     */
+    private static class TrailerDroppingOutputStream extends FilterOutputStream {
+
+        private final byte[] trailer;
+
+        private int trailerLength = 0;
+
+        TrailerDroppingOutputStream(OutputStream out, int trailerSize) {
+            super(out);
+            this.trailer = new byte[trailerSize];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int passOn = trailerLength + len - trailer.length;
+
+            if (passOn <= 0) {
+                System.arraycopy(b, off, trailer, trailerLength, len);
+                trailerLength += len;
+                return;
+            }
+
+            int fromTrailer = Math.min(passOn, trailerLength);
+            out.write(trailer, 0, fromTrailer);
+            System.arraycopy(trailer, fromTrailer, trailer, 0, trailerLength - fromTrailer);
+            trailerLength -= fromTrailer;
+
+            int fromInput = passOn - fromTrailer;
+            out.write(b, off, fromInput);
+            System.arraycopy(b, off + fromInput, trailer, trailerLength, len - fromInput);
+            trailerLength += len - fromInput;
+        }
     }
 }
@@ -0,0 +1,69 @@
+package com.github.dockerjava.core.util;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Shared JSON codec. {@link ObjectReader}s and {@link ObjectWriter}s are immutable and thread-safe, so they are created once per
+ * type and reused instead of resolving the type for every message.
+ */
+public class JsonCodec {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final ConcurrentMap<Type, ObjectReader> READERS = new ConcurrentHashMap<Type, ObjectReader>();
+
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<Class<?>, ObjectWriter>();
+
+    private JsonCodec() {
+        // utility class
+    }
+
+    /**
+     * Not public, as configuring the mapper would only affect the readers and writers derived from it afterwards.
+     */
+    static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    public static ObjectReader reader(TypeReference<?> typeReference) {
+        Type type = typeReference.getType();
+
+        ObjectReader reader = READERS.get(type);
+
+        if (reader == null) {
+            reader = OBJECT_MAPPER.readerFor(typeReference);
+            READERS.putIfAbsent(type, reader);
+        }
+
+        return reader;
+    }
+
+    public static ObjectReader reader(Class<?> clazz) {
+        ObjectReader reader = READERS.get(clazz);
+
+        if (reader == null) {
+            reader = OBJECT_MAPPER.readerFor(clazz);
+            READERS.putIfAbsent(clazz, reader);
+        }
+
+        return reader;
+    }
+
+    public static ObjectWriter writer(Class<?> clazz) {
+        ObjectWriter writer = WRITERS.get(clazz);
+
+        if (writer == null) {
+            writer = OBJECT_MAPPER.writerFor(clazz);
+            WRITERS.putIfAbsent(clazz, writer);
+        }
+
+        return writer;
+    }
+}
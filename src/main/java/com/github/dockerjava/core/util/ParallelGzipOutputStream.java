@@ -0,0 +1,268 @@
+package com.github.dockerjava.core.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a single gzip member whose blocks are deflated in parallel, like pigz does.
+ *
+ * The input is cut into blocks of {@link #BLOCK_SIZE} bytes. Each block is deflated independently, primed with the last 32 KB
+ * of the preceding block as dictionary, and ends on a byte boundary (sync flush), so the compressed blocks can simply be
+ * concatenated. The CRC is computed on the writing thread. At most two blocks per thread are in flight.
+ *
+ * Blocks are deflated on a pool of daemon threads that is shared by all streams, sized to the number of processors, and whose idle
+ * threads terminate after a minute, so a stream that is never closed doesn't keep threads around. Another executor can be passed
+ * in instead.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    public static final int BLOCK_SIZE = 128 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final ThreadPoolExecutor SHARED_EXECUTOR = newSharedExecutor();
+
+    private final OutputStream out;
+
+    private final int level;
+
+    private final int maxPendingBlocks;
+
+    private final ExecutorService executor;
+
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<Future<byte[]>>();
+
+    private final CRC32 crc = new CRC32();
+
+    private byte[] block = new byte[BLOCK_SIZE];
+
+    private int blockLength = 0;
+
+    private byte[] dictionary;
+
+    private long totalLength = 0;
+
+    private boolean closed = false;
+
+    public ParallelGzipOutputStream(OutputStream out, int level, int threads) throws IOException {
+        this(out, level, threads, SHARED_EXECUTOR);
+    }
+
+    /**
+     * @param threads
+     *            the number of blocks deflated concurrently by this stream
+     * @param executor
+     *            deflates the blocks, it is not shut down when the stream is closed
+     */
+    public ParallelGzipOutputStream(OutputStream out, int level, int threads, ExecutorService executor) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+
+        this.out = out;
+        this.level = level;
+        this.maxPendingBlocks = 2 * threads;
+        this.executor = executor;
+
+        out.write(GZIP_HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (blockLength == block.length) {
+            submitBlock(false);
+        }
+        block[blockLength++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        ensureOpen();
+
+        int written = 0;
+        while (written < len) {
+            if (blockLength == block.length) {
+                submitBlock(false);
+            }
+            int count = Math.min(len - written, block.length - blockLength);
+            System.arraycopy(b, off + written, block, blockLength, count);
+            blockLength += count;
+            written += count;
+        }
+    }
+
+    /**
+     * Only flushes the blocks that are completely deflated, as flushing a partial block would hurt the compression ratio.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peek().isDone()) {
+            out.write(await(pendingBlocks.poll()));
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            submitBlock(true);
+
+            while (!pendingBlocks.isEmpty()) {
+                out.write(await(pendingBlocks.poll()));
+            }
+
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) totalLength);
+        } finally {
+            // blocks that are no longer needed after a failure
+            for (Future<byte[]> pendingBlock : pendingBlocks) {
+                pendingBlock.cancel(true);
+            }
+            pendingBlocks.clear();
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        final byte[] input = block;
+        final int inputLength = blockLength;
+        final byte[] inputDictionary = dictionary;
+        final boolean finish = last;
+
+        crc.update(input, 0, inputLength);
+        totalLength += inputLength;
+
+        pendingBlocks.add(executor.submit(new Callable<byte[]>() {
+            @Override
+            public byte[] call() {
+                return deflate(input, inputLength, inputDictionary, finish);
+            }
+        }));
+
+        if (inputLength >= DICTIONARY_SIZE) {
+            dictionary = Arrays.copyOfRange(input, inputLength - DICTIONARY_SIZE, inputLength);
+        }
+
+        // the submitted buffer belongs to the worker now
+        block = new byte[BLOCK_SIZE];
+        blockLength = 0;
+
+        while (pendingBlocks.size() > maxPendingBlocks) {
+            out.write(await(pendingBlocks.poll()));
+        }
+    }
+
+    private byte[] deflate(byte[] input, int inputLength, byte[] inputDictionary, boolean finish) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (inputDictionary != null) {
+                deflater.setDictionary(inputDictionary);
+            }
+            deflater.setInput(input, 0, inputLength);
+
+            byte[] buffer = new byte[inputLength + inputLength / 8 + 64];
+            int length = 0;
+
+            if (finish) {
+                deflater.finish();
+            }
+
+            while (true) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+
+                if (finish) {
+                    length += deflater.deflate(buffer, length, buffer.length - length);
+                    if (deflater.finished()) {
+                        break;
+                    }
+                } else {
+                    length += deflater.deflate(buffer, length, buffer.length - length, Deflater.SYNC_FLUSH);
+                    // the block is complete once a sync flush didn't fill the buffer
+                    if (length < buffer.length) {
+                        break;
+                    }
+                }
+            }
+
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to deflate block", e.getCause());
+        }
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+    private static ThreadPoolExecutor newSharedExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "docker-java-gzip-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
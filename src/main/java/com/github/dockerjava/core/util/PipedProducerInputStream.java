@@ -0,0 +1,230 @@
+package com.github.dockerjava.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stream whose content is written by a {@link Producer} on a daemon thread, so that producing and consuming the content
+ * overlap. The producer hands over chunks through a bounded queue and blocks while the reader is behind, so at most
+ * {@code chunkSize * maxChunks} bytes are held in memory.
+ *
+ * If the producer fails, the reader gets an {@link IOException} instead of a truncated stream. Closing the stream before its
+ * end stops the producer.
+ */
+public class PipedProducerInputStream extends InputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    public static final int DEFAULT_MAX_CHUNKS = 16;
+
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> chunks;
+
+    private final Thread producerThread;
+
+    private volatile Throwable failure;
+
+    private volatile boolean closed = false;
+
+    private byte[] current;
+
+    private int position;
+
+    private boolean ended = false;
+
+    /**
+     * Writes the content of the stream. The given output stream must not be used after returning.
+     */
+    public interface Producer {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public PipedProducerInputStream(Producer producer, String threadName) {
+        this(producer, threadName, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNKS);
+    }
+
+    public PipedProducerInputStream(final Producer producer, String threadName, final int chunkSize, int maxChunks) {
+        chunks = new ArrayBlockingQueue<byte[]>(maxChunks);
+
+        producerThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ChunkOutputStream out = new ChunkOutputStream(chunkSize);
+                try {
+                    producer.writeTo(out);
+                    out.flushChunk();
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    end();
+                }
+            }
+        }, threadName);
+        producerThread.setDaemon(true);
+        producerThread.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!awaitReadable()) {
+            return -1;
+        }
+        return current[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!awaitReadable()) {
+            return -1;
+        }
+
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return current == null ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        current = null;
+        // wakes up the producer if it waits for space
+        producerThread.interrupt();
+        chunks.clear();
+    }
+
+    /**
+     * @return {@code false} at the end of the stream
+     */
+    private boolean awaitReadable() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        while (current == null || position == current.length) {
+            if (ended) {
+                return false;
+            }
+
+            byte[] chunk;
+            try {
+                chunk = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+
+            if (chunk == END) {
+                ended = true;
+                current = null;
+                if (failure != null) {
+                    throw new IOException("Failed to produce the stream content", failure);
+                }
+                return false;
+            }
+
+            current = chunk;
+            position = 0;
+        }
+
+        return true;
+    }
+
+    private void end() {
+        try {
+            // the queue may be full, but the reader either drains it or closes the stream
+            boolean offered = false;
+            while (!closed && !offered) {
+                offered = chunks.offer(END, 100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            // closed by the reader
+        }
+    }
+
+    private void put(byte[] chunk) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed by the reader");
+        }
+
+        try {
+            chunks.put(chunk);
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException("Stream closed by the reader");
+        }
+    }
+
+    private class ChunkOutputStream extends OutputStream {
+
+        private final int chunkSize;
+
+        private byte[] buffer;
+
+        private int count;
+
+        ChunkOutputStream(int chunkSize) {
+            this.chunkSize = chunkSize;
+            this.buffer = new byte[chunkSize];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flushChunk();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int written = 0;
+            while (written < len) {
+                if (count == buffer.length) {
+                    flushChunk();
+                }
+                int n = Math.min(len - written, buffer.length - count);
+                System.arraycopy(b, off + written, buffer, count, n);
+                count += n;
+                written += n;
+            }
+        }
+
+        /**
+         * Hands the buffered bytes to the reader. A new buffer is used afterwards as the reader owns the old one.
+         */
+        void flushChunk() throws IOException {
+            if (count == 0) {
+                return;
+            }
+
+            byte[] chunk = count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+            put(chunk);
+            buffer = new byte[chunkSize];
+            count = 0;
+        }
+    }
+}
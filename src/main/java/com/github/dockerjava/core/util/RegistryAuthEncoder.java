@@ -0,0 +1,128 @@
+package com.github.dockerjava.core.util;
+
+import static com.github.dockerjava.core.RemoteApiVersion.UNKNOWN_VERSION;
+import static com.github.dockerjava.core.RemoteApiVersion.VERSION_1_19;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.codec.binary.Base64;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.dockerjava.api.model.AuthConfig;
+import com.github.dockerjava.api.model.AuthConfigurations;
+import com.github.dockerjava.core.RemoteApiVersion;
+
+/**
+ * Encodes the values of the {@code X-Registry-Auth} and {@code X-Registry-Config} headers. The values are remembered for the
+ * most recently used configurations, keyed by a snapshot of their fields, so that repeated pulls, pushes and builds with the same
+ * credentials don't serialize them again.
+ */
+public class RegistryAuthEncoder {
+
+    private static final int MAX_CACHED_VALUES = 64;
+
+    private static final Map<List<Object>, String> CACHED_VALUES = new LinkedHashMap<List<Object>, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldest) {
+            return size() > MAX_CACHED_VALUES;
+        }
+    };
+
+    private RegistryAuthEncoder() {
+    }
+
+    /**
+     * @return the Base64 encoded JSON of the configuration for {@code X-Registry-Auth}
+     */
+    public static String registryAuth(AuthConfig authConfig) {
+        List<Object> key = snapshot(authConfig);
+
+        String value = cachedValue(key);
+
+        if (value == null) {
+            try {
+                value = Base64.encodeBase64String(JsonCodec.writer(AuthConfig.class).writeValueAsBytes(authConfig));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            cacheValue(key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * @return the Base64 encoded JSON of the configurations for {@code X-Registry-Config} in the format of the API version
+     */
+    public static String registryConfigs(AuthConfigurations authConfigs, RemoteApiVersion apiVersion) {
+        List<Object> key = new ArrayList<Object>();
+        key.add(apiVersion);
+        for (Map.Entry<String, AuthConfig> entry : authConfigs.getConfigs().entrySet()) {
+            key.add(entry.getKey());
+            key.add(snapshot(entry.getValue()));
+        }
+
+        String value = cachedValue(key);
+
+        if (value == null) {
+            try {
+                final String json;
+                final ObjectMapper objectMapper = JsonCodec.objectMapper();
+
+                if (apiVersion.equals(UNKNOWN_VERSION)) {
+                    ObjectNode rootNode = objectMapper.valueToTree(authConfigs.getConfigs()); // all registries
+                    final ObjectNode authNodes = objectMapper.valueToTree(authConfigs); // wrapped in "configs":{}
+                    rootNode.setAll(authNodes); // merge 2 variants
+                    json = rootNode.toString();
+                } else if (apiVersion.isGreaterOrEqual(VERSION_1_19)) {
+                    json = objectMapper.writeValueAsString(authConfigs.getConfigs());
+                } else {
+                    json = objectMapper.writeValueAsString(authConfigs);
+                }
+
+                value = Base64.encodeBase64String(json.getBytes());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            cacheValue(key, value);
+        }
+
+        return value;
+    }
+
+    // configurations are mutable, so the key must not refer to them
+    private static List<Object> snapshot(AuthConfig authConfig) {
+        if (authConfig == null) {
+            return null;
+        }
+
+        return Arrays.<Object>asList(authConfig.getUsername(), authConfig.getPassword(), authConfig.getEmail(),
+                authConfig.getRegistryAddress(), authConfig.getAuth(), authConfig.getRegistrytoken());
+    }
+
+    private static String cachedValue(List<Object> key) {
+        if (key == null) {
+            return null;
+        }
+
+        synchronized (CACHED_VALUES) {
+            return CACHED_VALUES.get(key);
+        }
+    }
+
+    private static void cacheValue(List<Object> key, String value) {
+        if (key == null) {
+            return;
+        }
+
+        synchronized (CACHED_VALUES) {
+            CACHED_VALUES.put(key, value);
+        }
+    }
+}
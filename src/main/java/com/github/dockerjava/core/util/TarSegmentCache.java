@@ -0,0 +1,140 @@
+package com.github.dockerjava.core.util;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk cache of the archived (and compressed) tar entries of single files, so that building the same context again only
+ * reads and compresses the files that changed.
+ *
+ * Segments are keyed by the absolute path, entry name, size, modification time and mode of a file and the compression, so a
+ * changed file gets a new segment. Segments are written to a temporary file first and renamed atomically, so several processes
+ * may share a cache directory and a failed segment is never passed on or cached. Segments of outdated files are only removed by
+ * {@link #trim(long)}.
+ */
+public class TarSegmentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TarSegmentCache.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // part of the key, to be changed when the layout of the segments changes
+    private static final String FORMAT_VERSION = "1";
+
+    private final File directory;
+
+    public TarSegmentCache(File directory) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Cannot create cache directory " + directory);
+        }
+        this.directory = directory;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Writes the segment for the given entry and file to the stream, from the cache if possible.
+     */
+    void writeSegment(TarArchiveEntry tarEntry, File file, OutputStream out, ArchiveCompression compression)
+            throws IOException {
+        File segment = new File(directory, key(tarEntry, file, compression) + SEGMENT_SUFFIX);
+
+        if (segment.isFile()) {
+            // keeps recently used segments on trim()
+            segment.setLastModified(System.currentTimeMillis());
+            Files.copy(segment.toPath(), out);
+            return;
+        }
+
+        // the segment is complete before anything is passed on, so a file that can't be read doesn't leave a partial entry
+        File tempFile = File.createTempFile("segment", TEMP_SUFFIX, directory);
+        try {
+            try (OutputStream tempOut = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                CompressArchiveUtil.writeSegment(tarEntry, file, tempOut, compression);
+            }
+
+            Files.copy(tempFile.toPath(), out);
+
+            try {
+                // replaces a segment another process created in the meantime with the same content
+                Files.move(tempFile.toPath(), segment.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // the segment was passed on already, it just isn't cached
+                LOGGER.debug("Failed to cache segment " + segment, e);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    /**
+     * Deletes the least recently used segments until the segments take at most the given number of bytes. Segments being written
+     * are not taken into account.
+     */
+    public void trim(long maxBytes) {
+        File[] segments = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(SEGMENT_SUFFIX);
+            }
+        });
+        if (segments == null) {
+            return;
+        }
+
+        long totalBytes = 0;
+        for (File segment : segments) {
+            totalBytes += segment.length();
+        }
+
+        Arrays.sort(segments, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+
+        for (File segment : segments) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            long length = segment.length();
+            if (segment.delete()) {
+                totalBytes -= length;
+            }
+        }
+    }
+
+    private static String key(TarArchiveEntry tarEntry, File file, ArchiveCompression compression) {
+        StringBuilder key = new StringBuilder(FORMAT_VERSION);
+        key.append('\0').append(file.getAbsolutePath());
+        key.append('\0').append(tarEntry.getName());
+        key.append('\0').append(tarEntry.getSize());
+        // the entry only has seconds
+        key.append('\0').append(file.lastModified());
+        key.append('\0').append(tarEntry.getMode());
+        key.append('\0').append(tarEntry.getUserName());
+        key.append('\0').append(compression.isCompressed()).append(compression.getLevel());
+        return DigestUtils.sha256Hex(key.toString().getBytes(UTF_8));
+    }
+}
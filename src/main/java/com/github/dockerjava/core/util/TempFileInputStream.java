@@ -0,0 +1,29 @@
+package com.github.dockerjava.core.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * Reads a temporary file, e.g. an archive that was created for an upload, and deletes it when the stream is closed. Being a
+ * {@link FileInputStream}, its content can be sent straight from the file.
+ */
+public class TempFileInputStream extends FileInputStream {
+
+    private final File file;
+
+    public TempFileInputStream(File file) throws FileNotFoundException {
+        super(file);
+        this.file = file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -1,21 +1,17 @@
 package com.github.dockerjava.jaxrs;
 
-import static com.github.dockerjava.core.RemoteApiVersion.UNKNOWN_VERSION;
-import static com.github.dockerjava.core.RemoteApiVersion.VERSION_1_19;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.io.IOException;
-
+import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.apache.commons.codec.binary.Base64;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dockerjava.api.model.AuthConfig;
 import com.github.dockerjava.api.model.AuthConfigurations;
 import com.github.dockerjava.core.DockerClientConfig;
-import com.github.dockerjava.core.RemoteApiVersion;
+import com.github.dockerjava.core.util.RegistryAuthEncoder;
+import sh.hyper.hyperjava.auth.HyperCredentials;
+import sh.hyper.hyperjava.auth.HyperCredentialsScope;
+import sh.hyper.hyperjava.jaxrs.filter.HyperAuthFilter;
 
 public abstract class AbstrDockerCmdExec {
 
@@ -34,39 +30,32 @@ public abstract class AbstrDockerCmdExec {
         return baseResource;
     }
 
+    /**
+     * Builds a request for the target. The credentials of the calling scope are set as request property rather than on the
+     * target, as a configured target gets a client runtime of its own. Being captured here, they also reach the threads of
+     * async commands.
+     */
+    protected Invocation.Builder request(WebTarget webTarget) {
+        Invocation.Builder builder = webTarget.request();
+
+        HyperCredentials credentials = HyperCredentialsScope.current();
+        if (credentials != null) {
+            builder.property(HyperAuthFilter.CREDENTIALS_PROPERTY, credentials);
+        }
+
+        return builder;
+    }
+
     protected AuthConfigurations getBuildAuthConfigs() {
         return dockerClientConfig.getAuthConfigurations();
     }
 
     protected String registryAuth(AuthConfig authConfig) {
-        try {
-            return Base64.encodeBase64String(new ObjectMapper().writeValueAsString(authConfig).getBytes());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return RegistryAuthEncoder.registryAuth(authConfig);
     }
 
     protected String registryConfigs(AuthConfigurations authConfigs) {
-        try {
-            final String json;
-            final ObjectMapper objectMapper = new ObjectMapper();
-            final RemoteApiVersion apiVersion = dockerClientConfig.getApiVersion();
-
-            if (apiVersion.equals(UNKNOWN_VERSION)) {
-                ObjectNode rootNode = objectMapper.valueToTree(authConfigs.getConfigs()); // all registries
-                final ObjectNode authNodes = objectMapper.valueToTree(authConfigs); // wrapped in "configs":{}
-                rootNode.setAll(authNodes); // merge 2 variants
-                json = rootNode.toString();
-            } else if (apiVersion.isGreaterOrEqual(VERSION_1_19)) {
-                json = objectMapper.writeValueAsString(authConfigs.getConfigs());
-            } else {
-                json = objectMapper.writeValueAsString(authConfigs);
-            }
-
-            return Base64.encodeBase64String(json.getBytes());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return RegistryAuthEncoder.registryConfigs(authConfigs, dockerClientConfig.getApiVersion());
     }
 
     protected boolean bool(Boolean bool) {
@@ -1,5 +1,7 @@
 package com.github.dockerjava.jaxrs;
 
+import java.util.concurrent.ExecutorService;
+
 import javax.ws.rs.client.WebTarget;
 
 import org.slf4j.Logger;
@@ -22,6 +24,10 @@ public class AttachContainerCmdExec extends AbstrAsyncDockerCmdExec<AttachContai
         super(baseResource, dockerClientConfig);
     }
 
+    public AttachContainerCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     @Override
     protected AbstractCallbackNotifier<Frame> callbackNotifier(AttachContainerCmd command,
             ResultCallback<Frame> resultCallback) {
@@ -41,6 +47,6 @@ public class AttachContainerCmdExec extends AbstrAsyncDockerCmdExec<AttachContai
 
         LOGGER.trace("POST: {}", webTarget);
 
-        return new POSTCallbackNotifier<Frame>(new FrameStreamProcessor(), resultCallback, webTarget.request(), null);
+        return new POSTCallbackNotifier<Frame>(new FrameStreamProcessor(), resultCallback, request(webTarget), null);
     }
 }
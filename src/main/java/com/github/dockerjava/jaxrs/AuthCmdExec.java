@@ -26,7 +26,7 @@ public class AuthCmdExec extends AbstrSyncDockerCmdExec<AuthCmd, AuthResponse> i
     protected AuthResponse execute(AuthCmd command) {
         WebTarget webResource = getBaseResource().path("/auth");
         LOGGER.trace("POST: {}", webResource);
-        Response response = webResource.request().accept(MediaType.APPLICATION_JSON)
+        Response response = request(webResource).accept(MediaType.APPLICATION_JSON)
                 .post(entity(command.getAuthConfig(), MediaType.APPLICATION_JSON));
 
         if (response.getStatus() == 401) {
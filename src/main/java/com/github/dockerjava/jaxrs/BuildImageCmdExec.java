@@ -24,6 +24,7 @@ import com.github.dockerjava.jaxrs.async.POSTCallbackNotifier;
 
 import java.io.IOException;
 import java.net.URLEncoder;
+import java.util.concurrent.ExecutorService;
 
 public class BuildImageCmdExec extends AbstrAsyncDockerCmdExec<BuildImageCmd, BuildResponseItem> implements
         BuildImageCmd.Exec {
@@ -35,6 +36,10 @@ public class BuildImageCmdExec extends AbstrAsyncDockerCmdExec<BuildImageCmd, Bu
         super(baseResource, dockerClientConfig);
     }
 
+    public BuildImageCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     private Invocation.Builder resourceWithOptionalAuthConfig(BuildImageCmd command, Invocation.Builder request) {
         final AuthConfigurations authConfigs = firstNonNull(command.getBuildAuthConfigs(), getBuildAuthConfigs());
         if (authConfigs != null && !authConfigs.getConfigs().isEmpty()) {
@@ -119,7 +124,7 @@ public class BuildImageCmdExec extends AbstrAsyncDockerCmdExec<BuildImageCmd, Bu
 
         return new POSTCallbackNotifier<>(new JsonStreamProcessor<>(BuildResponseItem.class),
                 resultCallback,
-                resourceWithOptionalAuthConfig(command, webTarget.request()).accept(MediaType.TEXT_PLAIN),
+                resourceWithOptionalAuthConfig(command, request(webTarget)).accept(MediaType.TEXT_PLAIN),
                 entity(command.getTarInputStream(), "application/tar")
         );
     }
@@ -29,7 +29,7 @@ public class CommitCmdExec extends AbstrSyncDockerCmdExec<CommitCmd, String> imp
         webTarget = booleanQueryParam(webTarget, "pause", command.hasPauseEnabled());
 
         LOGGER.trace("POST: {}", webTarget);
-        ObjectNode objectNode = webTarget.request().accept("application/vnd.docker.raw-stream")
+        ObjectNode objectNode = request(webTarget).accept("application/vnd.docker.raw-stream")
                 .post(entity(command, MediaType.APPLICATION_JSON), ObjectNode.class);
         return objectNode.get("Id").asText();
     }
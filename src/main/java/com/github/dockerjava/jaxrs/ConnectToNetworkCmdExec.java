@@ -25,7 +25,7 @@ public class ConnectToNetworkCmdExec extends AbstrSyncDockerCmdExec<ConnectToNet
         WebTarget webTarget = getBaseResource().path("/networks/" + command.getNetworkId() + "/connect");
 
         LOGGER.trace("POST: {}", webTarget);
-        webTarget.request().post(entity(command, MediaType.APPLICATION_JSON));
+        request(webTarget).post(entity(command, MediaType.APPLICATION_JSON));
 
         return null;
     }
@@ -28,7 +28,7 @@ public class ContainerDiffCmdExec extends AbstrSyncDockerCmdExec<ContainerDiffCm
                 command.getContainerId());
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(new GenericType<List<ChangeLog>>() {
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(new GenericType<List<ChangeLog>>() {
         });
     }
 
@@ -28,7 +28,7 @@ public class CopyArchiveFromContainerCmdExec extends AbstrSyncDockerCmdExec<Copy
 
         LOGGER.trace("Get: " + webResource.toString());
 
-        Response response = webResource.queryParam("path", command.getResource()).request().accept("application/x-tar")
+        Response response = request(webResource.queryParam("path", command.getResource())).accept("application/x-tar")
                 .get();
 
         return new WrappedResponseInputStream(response);
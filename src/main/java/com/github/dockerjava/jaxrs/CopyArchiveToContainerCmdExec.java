@@ -28,8 +28,8 @@ public class CopyArchiveToContainerCmdExec extends AbstrSyncDockerCmdExec<CopyAr
 
         LOGGER.trace("PUT: " + webResource.toString());
         InputStream streamToUpload = command.getTarInputStream();
-        webResource.queryParam("path", command.getRemotePath())
-                .queryParam("noOverwriteDirNonDir", command.isNoOverwriteDirNonDir()).request()
+        request(webResource.queryParam("path", command.getRemotePath())
+                .queryParam("noOverwriteDirNonDir", command.isNoOverwriteDirNonDir()))
                 .put(entity(streamToUpload, "application/x-tar")).close();
         return null;
 
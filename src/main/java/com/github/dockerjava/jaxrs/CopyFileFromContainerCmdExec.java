@@ -31,7 +31,7 @@ public class CopyFileFromContainerCmdExec extends AbstrSyncDockerCmdExec<CopyFil
 
         LOGGER.trace("POST: " + webResource.toString());
 
-        Response response = webResource.request().accept(MediaType.APPLICATION_OCTET_STREAM_TYPE)
+        Response response = request(webResource).accept(MediaType.APPLICATION_OCTET_STREAM_TYPE)
                 .post(entity(command, MediaType.APPLICATION_JSON));
 
         return new WrappedResponseInputStream(response);
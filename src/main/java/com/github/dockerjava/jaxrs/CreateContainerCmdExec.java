@@ -30,7 +30,7 @@ public class CreateContainerCmdExec extends AbstrSyncDockerCmdExec<CreateContain
         }
 
         LOGGER.trace("POST: {} ", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON)
+        return request(webResource).accept(MediaType.APPLICATION_JSON)
                 .post(entity(command, MediaType.APPLICATION_JSON), CreateContainerResponse.class);
     }
 
@@ -27,7 +27,7 @@ public class CreateImageCmdExec extends AbstrSyncDockerCmdExec<CreateImageCmd, C
                 .queryParam("tag", command.getTag()).queryParam("fromSrc", "-");
 
         LOGGER.trace("POST: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_OCTET_STREAM_TYPE)
+        return request(webResource).accept(MediaType.APPLICATION_OCTET_STREAM_TYPE)
                 .post(entity(command.getImageStream(), MediaType.APPLICATION_OCTET_STREAM), CreateImageResponse.class);
     }
 }
@@ -25,7 +25,7 @@ public class CreateNetworkCmdExec extends AbstrSyncDockerCmdExec<CreateNetworkCm
         WebTarget webResource = getBaseResource().path("/networks/create");
 
         LOGGER.trace("POST: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON)
+        return request(webResource).accept(MediaType.APPLICATION_JSON)
                 .post(entity(command, MediaType.APPLICATION_JSON), CreateNetworkResponse.class);
     }
 }
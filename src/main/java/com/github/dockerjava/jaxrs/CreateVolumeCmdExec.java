@@ -26,7 +26,7 @@ public class CreateVolumeCmdExec extends AbstrSyncDockerCmdExec<CreateVolumeCmd,
         WebTarget webResource = getBaseResource().path("/volumes/create");
 
         LOGGER.trace("POST: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON)
+        return request(webResource).accept(MediaType.APPLICATION_JSON)
                 .post(entity(command, MediaType.APPLICATION_JSON), CreateVolumeResponse.class);
     }
 }
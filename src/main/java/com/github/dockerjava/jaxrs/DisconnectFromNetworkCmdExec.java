@@ -25,7 +25,7 @@ public class DisconnectFromNetworkCmdExec extends AbstrSyncDockerCmdExec<Disconn
         WebTarget webTarget = getBaseResource().path("/networks/" + command.getNetworkId() + "/disconnect");
 
         LOGGER.trace("POST: {}", webTarget);
-        webTarget.request().post(entity(command, MediaType.APPLICATION_JSON));
+        request(webTarget).post(entity(command, MediaType.APPLICATION_JSON));
 
         return null;
     }
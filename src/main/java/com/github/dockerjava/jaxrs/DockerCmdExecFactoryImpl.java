@@ -55,6 +55,7 @@ import com.github.dockerjava.api.command.WaitContainerCmd;
 import com.github.dockerjava.api.exception.DockerClientException;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.LocalDirectorySSLConfig;
+import com.github.dockerjava.jaxrs.async.AbstractCallbackNotifier;
 import com.github.dockerjava.jaxrs.connector.ApacheConnectorProvider;
 import com.github.dockerjava.jaxrs.filter.JsonClientFilter;
 import com.github.dockerjava.jaxrs.filter.ResponseStatusExceptionFilter;
@@ -70,6 +71,9 @@ import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sh.hyper.hyperjava.auth.EnvironmentCredentialsProvider;
+import sh.hyper.hyperjava.auth.HyperCredentialsProvider;
+import sh.hyper.hyperjava.auth.SigningDebugListener;
 import sh.hyper.hyperjava.jaxrs.filter.HyperAuthFilter;
 
 import javax.net.ssl.SSLContext;
@@ -85,7 +89,10 @@ import java.net.ProxySelector;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 //import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
@@ -113,6 +120,16 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
 
     private DockerClientConfig dockerClientConfig;
 
+    private ExecutorService asyncExecutor = null;
+
+    private boolean ownsAsyncExecutor = false;
+
+    private Integer maxAsyncThreads = null;
+
+    private SigningDebugListener signingDebugListener = null;
+
+    private HyperCredentialsProvider credentialsProvider = null;
+
     SSLContext sslContext = null;
 
     @Override
@@ -132,7 +149,8 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
         clientConfig.register(new SelectiveLoggingFilter(LOGGER, true));
 
         // register HyperAuthFilter to add Auth Header for Hyper_
-        clientConfig.register(new HyperAuthFilter());
+        clientConfig.register(new HyperAuthFilter(credentialsProvider != null ? credentialsProvider
+                : new EnvironmentCredentialsProvider(), signingDebugListener));
 
         if (readTimeout != null) {
             clientConfig.property(ClientProperties.READ_TIMEOUT, readTimeout);
@@ -167,6 +185,7 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
 
             try {
 
+                // shared with the other clients of the same certificates, so reconnects can resume their TLS sessions
                 if (sslContext == null) {
                     sslContext = new LocalDirectorySSLConfig(dockerClientConfig.getDockerCertPath()).getSSLContext();
                 }
@@ -214,6 +233,15 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
         client = clientBuilder.build();
 
         baseResource = client.target(sanitizeUrl(originalUri).toString()).path(dockerClientConfig.getApiVersion().asWebPathPart());
+
+        if (asyncExecutor == null) {
+            if (maxAsyncThreads != null) {
+                asyncExecutor = AbstractCallbackNotifier.newAsyncExecutor(maxAsyncThreads);
+                ownsAsyncExecutor = true;
+            } else {
+                asyncExecutor = AbstractCallbackNotifier.defaultAsyncExecutor();
+            }
+        }
     }
 
     private URI sanitizeUrl(URI originalUri) {
@@ -263,6 +291,33 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
         return baseResource;
     }
 
+    protected ExecutorService getAsyncExecutor() {
+        checkNotNull(asyncExecutor, "Factory not initialized, asyncExecutor not set. You probably forgot to call init()!");
+        return asyncExecutor;
+    }
+
+    /**
+     * @return the number of async commands waiting for a thread, or -1 if the executor is not a {@link ThreadPoolExecutor}. The
+     *         default executor doesn't queue commands, so it is always 0 then.
+     */
+    public int getAsyncQueueDepth() {
+        if (asyncExecutor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) asyncExecutor).getQueue().size();
+        }
+        return -1;
+    }
+
+    /**
+     * @return the approximate number of async commands being processed, or -1 if the executor is not a
+     *         {@link ThreadPoolExecutor}
+     */
+    public int getAsyncActiveCount() {
+        if (asyncExecutor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) asyncExecutor).getActiveCount();
+        }
+        return -1;
+    }
+
     protected DockerClientConfig getDockerClientConfig() {
         checkNotNull(dockerClientConfig,
                 "Factor not initialized, dockerClientConfig not set. You probably forgot to call init()!");
@@ -291,12 +346,12 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
 
     @Override
     public PullImageCmd.Exec createPullImageCmdExec() {
-        return new PullImageCmdExec(getBaseResource(), getDockerClientConfig());
+        return new PullImageCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
     public PushImageCmd.Exec createPushImageCmdExec() {
-        return new PushImageCmdExec(getBaseResource(), getDockerClientConfig());
+        return new PushImageCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
@@ -361,17 +416,17 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
 
     @Override
     public WaitContainerCmd.Exec createWaitContainerCmdExec() {
-        return new WaitContainerCmdExec(getBaseResource(), getDockerClientConfig());
+        return new WaitContainerCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
     public AttachContainerCmd.Exec createAttachContainerCmdExec() {
-        return new AttachContainerCmdExec(getBaseResource(), getDockerClientConfig());
+        return new AttachContainerCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
     public ExecStartCmd.Exec createExecStartCmdExec() {
-        return new ExecStartCmdExec(getBaseResource(), getDockerClientConfig());
+        return new ExecStartCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
@@ -381,7 +436,7 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
 
     @Override
     public LogContainerCmd.Exec createLogContainerCmdExec() {
-        return new LogContainerCmdExec(getBaseResource(), getDockerClientConfig());
+        return new LogContainerCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
@@ -437,7 +492,7 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
 
     @Override
     public BuildImageCmd.Exec createBuildImageCmdExec() {
-        return new BuildImageCmdExec(getBaseResource(), getDockerClientConfig());
+        return new BuildImageCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
@@ -462,12 +517,12 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
 
     @Override
     public EventsCmd.Exec createEventsCmdExec() {
-        return new EventsCmdExec(getBaseResource(), getDockerClientConfig());
+        return new EventsCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
     public StatsCmd.Exec createStatsCmdExec() {
-        return new StatsCmdExec(getBaseResource(), getDockerClientConfig());
+        return new StatsCmdExec(getBaseResource(), getDockerClientConfig(), getAsyncExecutor());
     }
 
     @Override
@@ -529,6 +584,10 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
     public void close() throws IOException {
         checkNotNull(client, "Factory not initialized. You probably forgot to call init()!");
         client.close();
+
+        if (ownsAsyncExecutor) {
+            asyncExecutor.shutdownNow();
+        }
     }
 
     @Override
@@ -557,6 +616,45 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
         return this;
     }
 
+    /**
+     * Uses the given executor to process the responses of async commands (e.g. logs, stats, events). The executor is not shut
+     * down by {@link #close()}.
+     */
+    public DockerCmdExecFactoryImpl withAsyncExecutor(ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    /**
+     * Limits the number of async commands processed concurrently, which is unlimited by default. Streaming commands like
+     * followed logs, stats or events hold their thread until they are closed. Further commands are rejected and fail via
+     * {@link com.github.dockerjava.api.async.ResultCallback#onError(Throwable)}. Ignored if an executor is set via
+     * {@link #withAsyncExecutor(ExecutorService)}.
+     */
+    public DockerCmdExecFactoryImpl withMaxAsyncThreads(Integer maxAsyncThreads) {
+        checkNotNull(maxAsyncThreads, "maxAsyncThreads was not specified");
+        checkArgument(maxAsyncThreads > 0, "maxAsyncThreads must be positive");
+        this.maxAsyncThreads = maxAsyncThreads;
+        return this;
+    }
+
+    /**
+     * Supplies the credentials Hyper_ requests are signed with, defaults to {@link EnvironmentCredentialsProvider}. Commands of
+     * other accounts can share this client within a {@link sh.hyper.hyperjava.auth.HyperCredentialsScope}.
+     */
+    public DockerCmdExecFactoryImpl withCredentialsProvider(HyperCredentialsProvider credentialsProvider) {
+        this.credentialsProvider = credentialsProvider;
+        return this;
+    }
+
+    /**
+     * Enables debug output for the signing of Hyper_ requests, e.g. {@link sh.hyper.hyperjava.auth.SigningDebugLog}.
+     */
+    public DockerCmdExecFactoryImpl withSigningDebugListener(SigningDebugListener signingDebugListener) {
+        this.signingDebugListener = signingDebugListener;
+        return this;
+    }
+
     public DockerCmdExecFactoryImpl withClientResponseFilters(ClientResponseFilter... clientResponseFilter) {
         this.clientResponseFilters = clientResponseFilter;
         return this;
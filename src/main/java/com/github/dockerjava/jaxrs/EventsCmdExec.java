@@ -1,5 +1,7 @@
 package com.github.dockerjava.jaxrs;
 
+import java.util.concurrent.ExecutorService;
+
 import static com.google.common.net.UrlEscapers.urlPathSegmentEscaper;
 
 import javax.ws.rs.client.WebTarget;
@@ -24,6 +26,10 @@ public class EventsCmdExec extends AbstrAsyncDockerCmdExec<EventsCmd, Event> imp
         super(baseResource, dockerClientConfig);
     }
 
+    public EventsCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     @Override
     protected AbstractCallbackNotifier<Event> callbackNotifier(EventsCmd command, ResultCallback<Event> resultCallback) {
         WebTarget webTarget = getBaseResource().path("/events").queryParam("since", command.getSince())
@@ -37,6 +43,6 @@ public class EventsCmdExec extends AbstrAsyncDockerCmdExec<EventsCmd, Event> imp
         LOGGER.trace("GET: {}", webTarget);
 
         return new GETCallbackNotifier<Event>(new JsonStreamProcessor<Event>(Event.class), resultCallback,
-                webTarget.request());
+                request(webTarget));
     }
 }
@@ -28,7 +28,7 @@ public class ExecCreateCmdExec extends AbstrSyncDockerCmdExec<ExecCreateCmd, Exe
 
         LOGGER.trace("POST: {}", webResource);
 
-        return webResource.request().accept(MediaType.APPLICATION_JSON)
+        return request(webResource).accept(MediaType.APPLICATION_JSON)
                 .post(entity(command, MediaType.APPLICATION_JSON), ExecCreateCmdResponse.class);
     }
 }
@@ -1,5 +1,7 @@
 package com.github.dockerjava.jaxrs;
 
+import java.util.concurrent.ExecutorService;
+
 import static javax.ws.rs.client.Entity.entity;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
@@ -23,6 +25,10 @@ public class ExecStartCmdExec extends AbstrAsyncDockerCmdExec<ExecStartCmd, Fram
         super(baseResource, dockerClientConfig);
     }
 
+    public ExecStartCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     @Override
     protected AbstractCallbackNotifier<Frame> callbackNotifier(ExecStartCmd command,
             ResultCallback<Frame> resultCallback) {
@@ -30,7 +36,7 @@ public class ExecStartCmdExec extends AbstrAsyncDockerCmdExec<ExecStartCmd, Fram
 
         LOGGER.trace("POST: {}", webTarget);
 
-        return new POSTCallbackNotifier<Frame>(new FrameStreamProcessor(), resultCallback, webTarget.request().accept(
+        return new POSTCallbackNotifier<Frame>(new FrameStreamProcessor(), resultCallback, request(webTarget).accept(
                 MediaType.APPLICATION_JSON), entity(command, MediaType.APPLICATION_JSON));
     }
 }
@@ -23,7 +23,7 @@ public class InfoCmdExec extends AbstrSyncDockerCmdExec<InfoCmd, Info> implement
         WebTarget webResource = getBaseResource().path("/info");
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(Info.class);
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(Info.class);
     }
 
 }
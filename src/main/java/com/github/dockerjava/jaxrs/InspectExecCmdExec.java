@@ -22,6 +22,6 @@ public class InspectExecCmdExec extends AbstrSyncDockerCmdExec<InspectExecCmd, I
     protected InspectExecResponse execute(InspectExecCmd command) {
         WebTarget webResource = getBaseResource().path("/exec/{id}/json").resolveTemplate("id", command.getExecId());
         LOGGER.debug("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(InspectExecResponse.class);
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(InspectExecResponse.class);
     }
 }
@@ -24,7 +24,7 @@ public class InspectImageCmdExec extends AbstrSyncDockerCmdExec<InspectImageCmd,
         WebTarget webResource = getBaseResource().path("/images/{id}/json").resolveTemplate("id", command.getImageId());
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(InspectImageResponse.class);
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(InspectImageResponse.class);
     }
 
 }
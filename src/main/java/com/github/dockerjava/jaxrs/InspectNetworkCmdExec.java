@@ -24,6 +24,6 @@ public class InspectNetworkCmdExec extends AbstrSyncDockerCmdExec<InspectNetwork
                 command.getNetworkId());
 
         LOGGER.debug("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(Network.class);
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(Network.class);
     }
 }
@@ -24,6 +24,6 @@ public class InspectVolumeCmdExec extends AbstrSyncDockerCmdExec<InspectVolumeCm
         WebTarget webResource = getBaseResource().path("/volumes/{name}").resolveTemplate("name", command.getName());
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(InspectVolumeResponse.class);
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(InspectVolumeResponse.class);
     }
 }
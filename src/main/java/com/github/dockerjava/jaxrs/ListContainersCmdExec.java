@@ -43,7 +43,7 @@ public class ListContainersCmdExec extends AbstrSyncDockerCmdExec<ListContainers
         }
 
         LOGGER.trace("GET: {}", webTarget);
-        List<Container> containers = webTarget.request().accept(MediaType.APPLICATION_JSON)
+        List<Container> containers = request(webTarget).accept(MediaType.APPLICATION_JSON)
                 .get(new GenericType<List<Container>>() {
                 });
         LOGGER.trace("Response: {}", containers);
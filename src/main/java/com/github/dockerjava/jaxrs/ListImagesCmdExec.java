@@ -40,7 +40,7 @@ public class ListImagesCmdExec extends AbstrSyncDockerCmdExec<ListImagesCmd, Lis
 
         LOGGER.trace("GET: {}", webTarget);
 
-        List<Image> images = webTarget.request().accept(MediaType.APPLICATION_JSON).get(new GenericType<List<Image>>() {
+        List<Image> images = request(webTarget).accept(MediaType.APPLICATION_JSON).get(new GenericType<List<Image>>() {
         });
         LOGGER.trace("Response: {}", images);
 
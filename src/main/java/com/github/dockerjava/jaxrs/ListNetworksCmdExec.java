@@ -35,7 +35,7 @@ public class ListNetworksCmdExec extends AbstrSyncDockerCmdExec<ListNetworksCmd,
         }
 
         LOGGER.trace("GET: {}", webTarget);
-        List<Network> networks = webTarget.request().accept(MediaType.APPLICATION_JSON)
+        List<Network> networks = request(webTarget).accept(MediaType.APPLICATION_JSON)
                 .get(new GenericType<List<Network>>() {
                 });
         LOGGER.trace("Response: {}", networks);
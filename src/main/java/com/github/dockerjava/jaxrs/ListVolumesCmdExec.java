@@ -31,6 +31,6 @@ public class ListVolumesCmdExec extends AbstrSyncDockerCmdExec<ListVolumesCmd, L
 
         LOGGER.trace("GET: {}", webTarget);
 
-        return webTarget.request().accept(MediaType.APPLICATION_JSON).get(ListVolumesResponse.class);
+        return request(webTarget).accept(MediaType.APPLICATION_JSON).get(ListVolumesResponse.class);
     }
 }
@@ -1,5 +1,7 @@
 package com.github.dockerjava.jaxrs;
 
+import java.util.concurrent.ExecutorService;
+
 import javax.ws.rs.client.WebTarget;
 
 import org.slf4j.Logger;
@@ -22,6 +24,10 @@ public class LogContainerCmdExec extends AbstrAsyncDockerCmdExec<LogContainerCmd
         super(baseResource, dockerClientConfig);
     }
 
+    public LogContainerCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     @Override
     protected AbstractCallbackNotifier<Frame> callbackNotifier(LogContainerCmd command,
             ResultCallback<Frame> resultCallback) {
@@ -44,6 +50,6 @@ public class LogContainerCmdExec extends AbstrAsyncDockerCmdExec<LogContainerCmd
 
         LOGGER.trace("GET: {}", webTarget);
 
-        return new GETCallbackNotifier<Frame>(new FrameStreamProcessor(), resultCallback, webTarget.request());
+        return new GETCallbackNotifier<Frame>(new FrameStreamProcessor(), resultCallback, request(webTarget));
     }
 }
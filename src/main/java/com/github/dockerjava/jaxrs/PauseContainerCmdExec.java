@@ -24,7 +24,7 @@ public class PauseContainerCmdExec extends AbstrSyncDockerCmdExec<PauseContainer
                 command.getContainerId());
 
         LOGGER.trace("POST: {}", webResource);
-        webResource.request().accept(MediaType.APPLICATION_JSON).post(null).close();
+        request(webResource).accept(MediaType.APPLICATION_JSON).post(null).close();
 
         return null;
     }
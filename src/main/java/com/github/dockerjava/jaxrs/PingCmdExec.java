@@ -21,7 +21,7 @@ public class PingCmdExec extends AbstrSyncDockerCmdExec<PingCmd, Void> implement
         WebTarget webResource = getBaseResource().path("/_ping");
 
         LOGGER.trace("GET: {}", webResource);
-        webResource.request().get().close();
+        request(webResource).get().close();
 
         return null;
     }
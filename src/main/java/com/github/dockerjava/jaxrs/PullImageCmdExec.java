@@ -1,5 +1,7 @@
 package com.github.dockerjava.jaxrs;
 
+import java.util.concurrent.ExecutorService;
+
 import static javax.ws.rs.client.Entity.entity;
 
 import javax.ws.rs.client.Invocation;
@@ -28,6 +30,10 @@ public class PullImageCmdExec extends AbstrAsyncDockerCmdExec<PullImageCmd, Pull
         super(baseResource, dockerClientConfig);
     }
 
+    public PullImageCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     private Invocation.Builder resourceWithOptionalAuthConfig(PullImageCmd command, Invocation.Builder request) {
         AuthConfig authConfig = command.getAuthConfig();
         if (authConfig != null) {
@@ -44,7 +50,7 @@ public class PullImageCmdExec extends AbstrAsyncDockerCmdExec<PullImageCmd, Pull
                 .queryParam("fromImage", command.getRepository()).queryParam("registry", command.getRegistry());
 
         LOGGER.trace("POST: {}", webResource);
-        Builder builder = resourceWithOptionalAuthConfig(command, webResource.request()).accept(
+        Builder builder = resourceWithOptionalAuthConfig(command, request(webResource)).accept(
                 MediaType.APPLICATION_OCTET_STREAM_TYPE);
 
         return new POSTCallbackNotifier<PullResponseItem>(new JsonStreamProcessor<PullResponseItem>(
@@ -1,5 +1,7 @@
 package com.github.dockerjava.jaxrs;
 
+import java.util.concurrent.ExecutorService;
+
 import static javax.ws.rs.client.Entity.entity;
 
 import javax.ws.rs.client.Invocation.Builder;
@@ -27,6 +29,10 @@ public class PushImageCmdExec extends AbstrAsyncDockerCmdExec<PushImageCmd, Push
         super(baseResource, dockerClientConfig);
     }
 
+    public PushImageCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     private String name(PushImageCmd command) {
         String name = command.getName();
         AuthConfig authConfig = command.getAuthConfig();
@@ -43,7 +49,7 @@ public class PushImageCmdExec extends AbstrAsyncDockerCmdExec<PushImageCmd, Push
         final String registryAuth = registryAuth(command.getAuthConfig());
         LOGGER.trace("POST: {}", webResource);
 
-        Builder builder = webResource.request().header("X-Registry-Auth", registryAuth)
+        Builder builder = request(webResource).header("X-Registry-Auth", registryAuth)
                 .accept(MediaType.APPLICATION_JSON);
 
         return new POSTCallbackNotifier<PushResponseItem>(new JsonStreamProcessor<PushResponseItem>(
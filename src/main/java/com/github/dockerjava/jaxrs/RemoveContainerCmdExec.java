@@ -26,7 +26,7 @@ public class RemoveContainerCmdExec extends AbstrSyncDockerCmdExec<RemoveContain
         webTarget = booleanQueryParam(webTarget, "force", command.hasForceEnabled());
 
         LOGGER.trace("DELETE: {}", webTarget);
-        webTarget.request().accept(MediaType.APPLICATION_JSON).delete().close();
+        request(webTarget).accept(MediaType.APPLICATION_JSON).delete().close();
 
         return null;
     }
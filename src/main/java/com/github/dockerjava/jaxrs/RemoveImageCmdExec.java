@@ -24,7 +24,7 @@ public class RemoveImageCmdExec extends AbstrSyncDockerCmdExec<RemoveImageCmd, V
         webTarget = booleanQueryParam(webTarget, "noprune", command.hasNoPruneEnabled());
 
         LOGGER.trace("DELETE: {}", webTarget);
-        webTarget.request().delete().close();
+        request(webTarget).delete().close();
 
         return null;
     }
@@ -23,7 +23,7 @@ public class RemoveNetworkCmdExec extends AbstrSyncDockerCmdExec<RemoveNetworkCm
         WebTarget webTarget = getBaseResource().path("/networks/" + command.getNetworkId());
 
         LOGGER.trace("DELETE: {}", webTarget);
-        webTarget.request().accept(MediaType.APPLICATION_JSON).delete().close();
+        request(webTarget).accept(MediaType.APPLICATION_JSON).delete().close();
 
         return null;
     }
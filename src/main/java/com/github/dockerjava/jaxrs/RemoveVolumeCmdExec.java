@@ -23,7 +23,7 @@ public class RemoveVolumeCmdExec extends AbstrSyncDockerCmdExec<RemoveVolumeCmd,
         WebTarget webTarget = getBaseResource().path("/volumes/" + command.getName());
 
         LOGGER.trace("DELETE: {}", webTarget);
-        webTarget.request().accept(MediaType.APPLICATION_JSON).delete().close();
+        request(webTarget).accept(MediaType.APPLICATION_JSON).delete().close();
 
         return null;
     }
@@ -23,7 +23,7 @@ public class RenameContainerCmdExec extends AbstrSyncDockerCmdExec<RenameContain
                 .queryParam("name", command.getName());
 
         LOG.trace("POST: {}", webResource);
-        webResource.request().accept(MediaType.APPLICATION_JSON).post(null);
+        request(webResource).accept(MediaType.APPLICATION_JSON).post(null);
 
         return null;
     }
@@ -28,7 +28,7 @@ public class RestartContainerCmdExec extends AbstrSyncDockerCmdExec<RestartConta
         }
 
         LOGGER.trace("POST: {}", webResource);
-        webResource.request().accept(MediaType.APPLICATION_JSON).post(null).close();
+        request(webResource).accept(MediaType.APPLICATION_JSON).post(null).close();
 
         return null;
     }
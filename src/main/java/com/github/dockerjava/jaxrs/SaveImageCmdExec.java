@@ -26,7 +26,7 @@ public class SaveImageCmdExec extends AbstrSyncDockerCmdExec<SaveImageCmd, Input
                 command.getTag());
 
         LOGGER.trace("GET: {}", webResource);
-        Response response = webResource.request().accept(MediaType.APPLICATION_JSON).get();
+        Response response = request(webResource).accept(MediaType.APPLICATION_JSON).get();
 
         return new WrappedResponseInputStream(response);
     }
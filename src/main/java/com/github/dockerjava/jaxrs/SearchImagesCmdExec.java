@@ -27,7 +27,7 @@ public class SearchImagesCmdExec extends AbstrSyncDockerCmdExec<SearchImagesCmd,
         WebTarget webResource = getBaseResource().path("/images/search").queryParam("term", command.getTerm());
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(new GenericType<List<SearchItem>>() {
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(new GenericType<List<SearchItem>>() {
         });
     }
 
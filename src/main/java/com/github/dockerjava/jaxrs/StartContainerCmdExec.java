@@ -26,7 +26,7 @@ public class StartContainerCmdExec extends AbstrSyncDockerCmdExec<StartContainer
                 command.getContainerId());
 
         LOGGER.trace("POST: {}", webResource);
-        webResource.request().accept(MediaType.APPLICATION_JSON).post(entity(command, MediaType.APPLICATION_JSON))
+        request(webResource).accept(MediaType.APPLICATION_JSON).post(entity(command, MediaType.APPLICATION_JSON))
                 .close();
 
         return null;
@@ -1,5 +1,7 @@
 package com.github.dockerjava.jaxrs;
 
+import java.util.concurrent.ExecutorService;
+
 import javax.ws.rs.client.WebTarget;
 
 import org.slf4j.Logger;
@@ -20,6 +22,10 @@ public class StatsCmdExec extends AbstrAsyncDockerCmdExec<StatsCmd, Statistics>
         super(baseResource, dockerClientConfig);
     }
 
+    public StatsCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     @Override
     protected AbstractCallbackNotifier<Statistics> callbackNotifier(StatsCmd command,
             ResultCallback<Statistics> resultCallback) {
@@ -30,6 +36,6 @@ public class StatsCmdExec extends AbstrAsyncDockerCmdExec<StatsCmd, Statistics>
         LOGGER.trace("GET: {}", webTarget);
 
         return new GETCallbackNotifier<Statistics>(new JsonStreamProcessor<Statistics>(Statistics.class),
-                resultCallback, webTarget.request());
+                resultCallback, request(webTarget));
     }
 }
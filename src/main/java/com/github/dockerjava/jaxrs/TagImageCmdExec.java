@@ -24,7 +24,7 @@ public class TagImageCmdExec extends AbstrSyncDockerCmdExec<TagImageCmd, Void> i
         webTarget = booleanQueryParam(webTarget, "force", command.hasForceEnabled());
 
         LOGGER.trace("POST: {}", webTarget);
-        webTarget.request().post(null).close();
+        request(webTarget).post(null).close();
         return null;
     }
 
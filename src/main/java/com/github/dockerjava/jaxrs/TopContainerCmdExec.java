@@ -30,7 +30,7 @@ public class TopContainerCmdExec extends AbstrSyncDockerCmdExec<TopContainerCmd,
         }
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(TopContainerResponse.class);
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(TopContainerResponse.class);
     }
 
 }
@@ -24,7 +24,7 @@ public class UnpauseContainerCmdExec extends AbstrSyncDockerCmdExec<UnpauseConta
                 command.getContainerId());
 
         LOGGER.trace("POST: {}", webResource);
-        webResource.request().accept(MediaType.APPLICATION_JSON).post(null).close();
+        request(webResource).accept(MediaType.APPLICATION_JSON).post(null).close();
 
         return null;
     }
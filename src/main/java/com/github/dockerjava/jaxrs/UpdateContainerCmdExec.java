@@ -30,7 +30,7 @@ public class UpdateContainerCmdExec extends AbstrSyncDockerCmdExec<UpdateContain
                 .resolveTemplate("id", command.getContainerId());
 
         LOGGER.trace("POST: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON)
+        return request(webResource).accept(MediaType.APPLICATION_JSON)
                 .post(entity(command, MediaType.APPLICATION_JSON), UpdateContainerResponse.class);
     }
 }
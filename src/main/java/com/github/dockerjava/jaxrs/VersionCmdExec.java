@@ -23,7 +23,7 @@ public class VersionCmdExec extends AbstrSyncDockerCmdExec<VersionCmd, Version>
         WebTarget webResource = getBaseResource().path("/version");
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(Version.class);
+        return request(webResource).accept(MediaType.APPLICATION_JSON).get(Version.class);
     }
 
 }
@@ -1,5 +1,7 @@
 package com.github.dockerjava.jaxrs;
 
+import java.util.concurrent.ExecutorService;
+
 import static javax.ws.rs.client.Entity.entity;
 
 import javax.ws.rs.client.WebTarget;
@@ -25,6 +27,10 @@ public class WaitContainerCmdExec extends AbstrAsyncDockerCmdExec<WaitContainerC
         super(baseResource, dockerClientConfig);
     }
 
+    public WaitContainerCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig, ExecutorService executorService) {
+        super(baseResource, dockerClientConfig, executorService);
+    }
+
     @Override
     protected AbstractCallbackNotifier<WaitResponse> callbackNotifier(WaitContainerCmd command,
             ResultCallback<WaitResponse> resultCallback) {
@@ -35,7 +41,7 @@ public class WaitContainerCmdExec extends AbstrAsyncDockerCmdExec<WaitContainerC
         LOGGER.trace("POST: {}", webResource);
 
         return new POSTCallbackNotifier<WaitResponse>(new JsonStreamProcessor<WaitResponse>(WaitResponse.class),
-                resultCallback, webResource.request().accept(MediaType.APPLICATION_JSON), entity(null,
+                resultCallback, request(webResource).accept(MediaType.APPLICATION_JSON), entity(null,
                         MediaType.APPLICATION_JSON));
     }
 
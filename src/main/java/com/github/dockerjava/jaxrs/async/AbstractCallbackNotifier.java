@@ -8,9 +8,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.InputStream;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Invocation.Builder;
@@ -19,6 +22,7 @@ import javax.ws.rs.core.Response;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.core.async.ResponseStreamProcessor;
 import com.github.dockerjava.jaxrs.util.WrappedResponseInputStream;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public abstract class AbstractCallbackNotifier<T> implements Callable<Void> {
@@ -30,6 +34,8 @@ public abstract class AbstractCallbackNotifier<T> implements Callable<Void> {
     private static final ThreadFactory FACTORY =
             new ThreadFactoryBuilder().setDaemon(true).setNameFormat("dockerjava-jaxrs-async-%d").build();
 
+    private static final ExecutorService DEFAULT_EXECUTOR = newAsyncExecutor(Integer.MAX_VALUE);
+
     protected final Builder requestBuilder;
 
     protected AbstractCallbackNotifier(ResponseStreamProcessor<T> responseStreamProcessor,
@@ -79,11 +85,45 @@ public abstract class AbstractCallbackNotifier<T> implements Callable<Void> {
 
     protected abstract Response response();
 
+    /**
+     * Processes the response on the {@link #defaultAsyncExecutor() default executor}.
+     */
     public static <T> Future<Void> startAsyncProcessing(AbstractCallbackNotifier<T> callbackNotifier) {
+        return startAsyncProcessing(callbackNotifier, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Processes the response on the given (usually shared) executor. If the executor rejects the task the callback is
+     * notified via {@link ResultCallback#onError(Throwable)} and a failed future is returned.
+     */
+    public static <T> Future<Void> startAsyncProcessing(AbstractCallbackNotifier<T> callbackNotifier,
+            ExecutorService executorService) {
+
+        try {
+            return executorService.submit(callbackNotifier);
+        } catch (RejectedExecutionException e) {
+            if (callbackNotifier.resultCallback != null) {
+                callbackNotifier.resultCallback.onError(e);
+            }
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    /**
+     * @return the executor shared by all async commands that aren't given one. It starts a thread per concurrent command without
+     *         any limit, like the former executor per command did, but reuses threads of finished commands.
+     */
+    public static ExecutorService defaultAsyncExecutor() {
+        return DEFAULT_EXECUTOR;
+    }
 
-        ExecutorService executorService = Executors.newSingleThreadExecutor(FACTORY);
-        Future<Void> response = executorService.submit(callbackNotifier);
-        executorService.shutdown();
-        return response;
+    /**
+     * Creates an executor for async processing. A command keeps its thread for as long as the response is streamed, which
+     * never ends for e.g. followed logs or events, so tasks are handed off directly instead of being queued: beyond
+     * {@code maxThreads} concurrent commands they are rejected. Idle threads are terminated after a minute.
+     */
+    public static ThreadPoolExecutor newAsyncExecutor(int maxThreads) {
+        return new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), FACTORY,
+                new ThreadPoolExecutor.AbortPolicy());
     }
 }
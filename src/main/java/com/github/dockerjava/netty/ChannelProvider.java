@@ -2,6 +2,41 @@ package com.github.dockerjava.netty;
 
 import io.netty.channel.socket.DuplexChannel;
 
+import com.github.dockerjava.netty.handler.HttpPipeliningHandler;
+import sh.hyper.hyperjava.netty.handler.HyperAuthHandler;
+
 public interface ChannelProvider {
+
+    /**
+     * Acquires a keep-alive channel. The caller must hand it back via {@link #releaseChannel(DuplexChannel)} once the response
+     * was processed completely or the channel was closed.
+     */
     DuplexChannel getChannel();
+
+    void releaseChannel(DuplexChannel channel);
+
+    /**
+     * Opens a new channel that is never reused, e.g. for hijacked connections.
+     */
+    DuplexChannel getDedicatedChannel();
+
+    /**
+     * Returns a handler with a reserved slot for a pipelined request, or {@code null} if HTTP pipelining is disabled.
+     */
+    HttpPipeliningHandler getPipeliningHandler();
+
+    /**
+     * Returns the handler that signs the requests for Hyper_, or {@code null} if requests are not signed.
+     */
+    HyperAuthHandler getHyperAuthHandler();
+
+    /**
+     * Returns whether responses should be requested gzip compressed by default, i.e. whether the docker host is remote.
+     */
+    boolean isResponseCompressionEnabled();
+
+    /**
+     * Returns the size in bytes from which JSON request bodies are sent gzip compressed, or -1 if they are never compressed.
+     */
+    int getRequestCompressionThreshold();
 }
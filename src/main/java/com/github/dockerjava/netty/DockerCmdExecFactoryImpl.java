@@ -51,6 +51,7 @@ import com.github.dockerjava.api.command.UpdateContainerCmd;
 import com.github.dockerjava.api.command.VersionCmd;
 import com.github.dockerjava.api.command.WaitContainerCmd;
 import com.github.dockerjava.api.command.RenameContainerCmd;
+import com.github.dockerjava.api.exception.DockerClientException;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.DockerClientImpl;
 import com.github.dockerjava.core.LocalDirectorySSLConfig;
@@ -104,34 +105,52 @@ import com.github.dockerjava.netty.exec.UpdateContainerCmdExec;
 import com.github.dockerjava.netty.exec.VersionCmdExec;
 import com.github.dockerjava.netty.exec.WaitContainerCmdExec;
 import com.github.dockerjava.netty.exec.RenameContainerCmdExec;
+import com.github.dockerjava.netty.handler.HttpPipeliningHandler;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.FixedChannelPool;
 import io.netty.channel.socket.DuplexChannel;
-import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.channel.unix.DomainSocketAddress;
-import io.netty.channel.unix.UnixChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
 
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import sh.hyper.hyperjava.auth.EnvironmentCredentialsProvider;
+import sh.hyper.hyperjava.auth.HyperCredentialsProvider;
+import sh.hyper.hyperjava.auth.SigningDebugListener;
+import sh.hyper.hyperjava.netty.handler.HyperAuthHandler;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
 
 import java.io.IOException;
-import java.net.InetAddress;
-import java.net.InetSocketAddress;
-import java.net.SocketAddress;
-import java.security.Security;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -160,22 +179,164 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
      * https://github.com/slandelle/netty-request-chunking/blob/master/src/test/java/slandelle/ChunkingTest.java
      */
 
+    private static final int DEFAULT_MAX_PER_ROUTE_CONNECTIONS = 100;
+
+    private static final int DEFAULT_CONNECTION_IDLE_TIMEOUT = 30000;
+
+    private static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 30000;
+
+    private static final int DEFAULT_MAX_PENDING_CONNECTION_REQUESTS = 1000;
+
+    private static final int DEFAULT_MAX_PIPELINE_DEPTH = 16;
+
+    private static final AttributeKey<Boolean> IDLE_IN_POOL = AttributeKey.valueOf("dockerjava-netty-idle-in-pool");
+
     private DockerClientConfig dockerClientConfig;
 
     private Bootstrap bootstrap;
 
     private EventLoopGroup eventLoopGroup;
 
+    // created by this factory, so it is shut down on close
+    private EventLoopGroup ownEventLoopGroup;
+
+    // released on close
+    private SharedEventLoopGroup retainedEventLoopGroup;
+
+    private Bootstrap bootstrapTemplate = null;
+
+    private SharedEventLoopGroup sharedEventLoopGroup = null;
+
+    private int eventLoopThreads = 0;
+
     private NettyInitializer nettyInitializer;
 
+    private ChannelPool channelPool;
+
     private SSLContext sslContext = null;
 
+    private Integer maxPerRouteConnections = null;
+
+    private Integer connectionIdleTimeout = null;
+
+    private Integer connectionRequestTimeout = null;
+
+    private Integer maxPendingConnectionRequests = null;
+
+    private boolean httpPipelining = false;
+
+    private Integer maxPipelineDepth = null;
+
+    private SigningDebugListener signingDebugListener = null;
+
+    private HyperCredentialsProvider credentialsProvider = null;
+
+    private HyperAuthHandler hyperAuthHandler = null;
+
+    private boolean nativeTransport = true;
+
+    private Boolean tcpNoDelay = null;
+
+    private Boolean keepAlive = null;
+
+    private Integer sendBufferSize = null;
+
+    private Integer receiveBufferSize = null;
+
+    private Integer connectTimeout = null;
+
+    private ByteBufAllocator allocator = null;
+
+    private Boolean responseCompression = null;
+
+    private Integer requestCompressionThreshold = null;
+
+    private final Queue<HttpPipeliningHandler> pipeliningHandlers = new ConcurrentLinkedQueue<HttpPipeliningHandler>();
+
     private ChannelProvider channelProvider = new ChannelProvider() {
         @Override
         public DuplexChannel getChannel() {
-            DuplexChannel channel = connect();
-            channel.pipeline().addLast(new LoggingHandler(getClass()));
-            return channel;
+            Future<Channel> acquired = channelPool.acquire();
+
+            try {
+                acquired.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+
+            if (!acquired.isSuccess()) {
+                throw new DockerClientException("Could not acquire a connection to the docker host", acquired.cause());
+            }
+
+            return (DuplexChannel) acquired.getNow();
+        }
+
+        @Override
+        public void releaseChannel(DuplexChannel channel) {
+            channelPool.release(channel);
+        }
+
+        @Override
+        public DuplexChannel getDedicatedChannel() {
+            return connect();
+        }
+
+        @Override
+        public HttpPipeliningHandler getPipeliningHandler() {
+            if (!httpPipelining) {
+                return null;
+            }
+
+            HttpPipeliningHandler leastLoaded = null;
+
+            for (HttpPipeliningHandler handler : pipeliningHandlers) {
+                if (leastLoaded == null || handler.getPendingRequests() < leastLoaded.getPendingRequests()) {
+                    leastLoaded = handler;
+                }
+            }
+
+            if (leastLoaded != null && leastLoaded.tryReserve()) {
+                return leastLoaded;
+            }
+
+            // all pipelined channels are busy, so take another one from the pool
+            final DuplexChannel channel = getChannel();
+
+            HttpPipeliningHandler pipeliningHandler = new HttpPipeliningHandler(
+                    maxPipelineDepth != null ? maxPipelineDepth : DEFAULT_MAX_PIPELINE_DEPTH,
+                    new HttpPipeliningHandler.DrainListener() {
+                        @Override
+                        public void drained(HttpPipeliningHandler handler) {
+                            pipeliningHandlers.remove(handler);
+                            releaseChannel(channel);
+                        }
+                    });
+
+            pipeliningHandler.tryReserve();
+            channel.pipeline().addLast(pipeliningHandler);
+            pipeliningHandlers.add(pipeliningHandler);
+
+            return pipeliningHandler;
+        }
+
+        @Override
+        public HyperAuthHandler getHyperAuthHandler() {
+            return hyperAuthHandler;
+        }
+
+        @Override
+        public boolean isResponseCompressionEnabled() {
+            if (responseCompression != null) {
+                return responseCompression;
+            }
+
+            // saves bandwidth over a network, but only costs CPU on the local socket
+            return !"unix".equals(dockerClientConfig.getDockerHost().getScheme());
+        }
+
+        @Override
+        public int getRequestCompressionThreshold() {
+            return requestCompressionThreshold != null ? requestCompressionThreshold : -1;
         }
     };
 
@@ -184,7 +345,7 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
         checkNotNull(dockerClientConfig, "config was not specified");
         this.dockerClientConfig = dockerClientConfig;
 
-        bootstrap = new Bootstrap();
+        bootstrap = bootstrapTemplate != null ? bootstrapTemplate.clone() : new Bootstrap();
 
         String scheme = dockerClientConfig.getDockerHost().getScheme();
 
@@ -194,7 +355,50 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
             nettyInitializer = new InetSocketInitializer();
         }
 
-        eventLoopGroup = nettyInitializer.init(bootstrap, dockerClientConfig);
+        // the group of a template is managed by the caller
+        eventLoopGroup = bootstrap.group();
+
+        if (eventLoopGroup == null) {
+            if (sharedEventLoopGroup != null) {
+                sharedEventLoopGroup.retain();
+                retainedEventLoopGroup = sharedEventLoopGroup;
+                eventLoopGroup = sharedEventLoopGroup.getEventLoopGroup();
+            } else {
+                ownEventLoopGroup = nettyInitializer.newEventLoopGroup(eventLoopThreads);
+                eventLoopGroup = ownEventLoopGroup;
+            }
+            bootstrap.group(eventLoopGroup);
+        }
+
+        try {
+            nettyInitializer.init(bootstrap, dockerClientConfig);
+        } catch (RuntimeException e) {
+            // the caller has no factory to close, e.g. if a shared group doesn't match the transport
+            releaseEventLoopGroup();
+            throw e;
+        }
+
+        setOption(bootstrap, ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+        setOption(bootstrap, ChannelOption.ALLOCATOR, allocator);
+
+        int maxConnections = maxPerRouteConnections != null ? maxPerRouteConnections
+                : DEFAULT_MAX_PER_ROUTE_CONNECTIONS;
+
+        int acquireTimeout = connectionRequestTimeout != null ? connectionRequestTimeout
+                : DEFAULT_CONNECTION_REQUEST_TIMEOUT;
+
+        int maxPendingAcquires = maxPendingConnectionRequests != null ? maxPendingConnectionRequests
+                : DEFAULT_MAX_PENDING_CONNECTION_REQUESTS;
+
+        channelPool = new FixedChannelPool(bootstrap, new PooledChannelHandler(), ChannelHealthChecker.ACTIVE,
+                FixedChannelPool.AcquireTimeoutAction.FAIL, acquireTimeout, maxConnections, maxPendingAcquires, true);
+    }
+
+    // unset options keep the defaults of the transport
+    private static <T> void setOption(Bootstrap bootstrap, ChannelOption<T> option, T value) {
+        if (value != null) {
+            bootstrap.option(option, value);
+        }
     }
 
     private DuplexChannel connect() {
@@ -206,61 +410,65 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
     }
 
     private DuplexChannel connect(final Bootstrap bootstrap) throws InterruptedException {
-        return nettyInitializer.connect(bootstrap);
+        return (DuplexChannel) bootstrap.clone().handler(new ChannelInitializer<DuplexChannel>() {
+            @Override
+            protected void initChannel(DuplexChannel channel) throws Exception {
+                DockerCmdExecFactoryImpl.this.initChannel(channel);
+            }
+        }).connect().sync().channel();
+    }
+
+    private void initChannel(DuplexChannel channel) {
+        nettyInitializer.initChannel(channel);
+        channel.pipeline().addLast(new LoggingHandler(getClass()));
     }
 
     private interface NettyInitializer {
-        EventLoopGroup init(final Bootstrap bootstrap, DockerClientConfig dockerClientConfig);
+        EventLoopGroup newEventLoopGroup(int threads);
+
+        /**
+         * Sets the channel type matching the group of the bootstrap and the remote address.
+         */
+        void init(final Bootstrap bootstrap, DockerClientConfig dockerClientConfig);
 
-        DuplexChannel connect(final Bootstrap bootstrap) throws InterruptedException;
+        void initChannel(final DuplexChannel channel);
     }
 
     private class UnixDomainSocketInitializer implements NettyInitializer {
         @Override
-        public EventLoopGroup init(Bootstrap bootstrap, DockerClientConfig dockerClientConfig) {
-            EventLoopGroup epollEventLoopGroup = new EpollEventLoopGroup(0, new DefaultThreadFactory(threadPrefix));
-            bootstrap.group(epollEventLoopGroup).channel(EpollDomainSocketChannel.class)
-                    .handler(new ChannelInitializer<UnixChannel>() {
-                        @Override
-                        protected void initChannel(final UnixChannel channel) throws Exception {
-                            channel.pipeline().addLast(new HttpClientCodec());
-                        }
-                    });
-            return epollEventLoopGroup;
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new EpollEventLoopGroup(threads, new DefaultThreadFactory(threadPrefix));
         }
 
         @Override
-        public DuplexChannel connect(Bootstrap bootstrap) throws InterruptedException {
-            return (DuplexChannel) bootstrap.connect(new DomainSocketAddress("/var/run/docker.sock")).sync().channel();
+        public void init(Bootstrap bootstrap, DockerClientConfig dockerClientConfig) {
+            if (!(bootstrap.group() instanceof EpollEventLoopGroup)) {
+                throw new IllegalArgumentException("Unix sockets need an EpollEventLoopGroup");
+            }
+
+            bootstrap.channel(EpollDomainSocketChannel.class).remoteAddress(new DomainSocketAddress("/var/run/docker.sock"));
+        }
+
+        @Override
+        public void initChannel(DuplexChannel channel) {
+            channel.pipeline().addLast(new HttpClientCodec());
+            channel.pipeline().addLast(new HttpContentDecompressor());
         }
     }
 
     private class InetSocketInitializer implements NettyInitializer {
         @Override
-        public EventLoopGroup init(Bootstrap bootstrap, final DockerClientConfig dockerClientConfig) {
-            EventLoopGroup nioEventLoopGroup = new NioEventLoopGroup(0, new DefaultThreadFactory(threadPrefix));
-
-            InetAddress addr = InetAddress.getLoopbackAddress();
-
-            final SocketAddress proxyAddress = new InetSocketAddress(addr, 8008);
-
-            Security.addProvider(new BouncyCastleProvider());
-
-            bootstrap.group(nioEventLoopGroup).channel(NioSocketChannel.class)
-                    .handler(new ChannelInitializer<SocketChannel>() {
-                        @Override
-                        protected void initChannel(final SocketChannel channel) throws Exception {
-                            // channel.pipeline().addLast(new
-                            // HttpProxyHandler(proxyAddress));
-                            channel.pipeline().addLast(new HttpClientCodec());
-                        }
-                    });
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            // the native transport saves syscalls and copies on Linux
+            if (nativeTransport && Epoll.isAvailable()) {
+                return new EpollEventLoopGroup(threads, new DefaultThreadFactory(threadPrefix));
+            }
 
-            return nioEventLoopGroup;
+            return new NioEventLoopGroup(threads, new DefaultThreadFactory(threadPrefix));
         }
 
         @Override
-        public DuplexChannel connect(Bootstrap bootstrap) throws InterruptedException {
+        public void init(Bootstrap bootstrap, final DockerClientConfig dockerClientConfig) {
             String host = dockerClientConfig.getDockerHost().getHost();
             int port = dockerClientConfig.getDockerHost().getPort();
 
@@ -268,17 +476,51 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
                 throw new RuntimeException("no port configured for " + host);
             }
 
-            DuplexChannel channel = (DuplexChannel) bootstrap.connect(host, port).sync().channel();
+            // shared with the other clients of the same certificates, so reconnects can resume their TLS sessions
+            if (dockerClientConfig.getDockerTlsVerify() && sslContext == null) {
+                try {
+                    sslContext = new LocalDirectorySSLConfig(dockerClientConfig.getDockerCertPath()).getSSLContext();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            if (bootstrap.group() instanceof EpollEventLoopGroup) {
+                bootstrap.channel(EpollSocketChannel.class);
+            } else {
+                bootstrap.channel(NioSocketChannel.class);
+            }
+
+            bootstrap.remoteAddress(host, port);
+
+            setOption(bootstrap, ChannelOption.TCP_NODELAY, tcpNoDelay);
+            setOption(bootstrap, ChannelOption.SO_KEEPALIVE, keepAlive);
+            setOption(bootstrap, ChannelOption.SO_SNDBUF, sendBufferSize);
+            setOption(bootstrap, ChannelOption.SO_RCVBUF, receiveBufferSize);
+
+            hyperAuthHandler = new HyperAuthHandler(host, credentialsProvider != null ? credentialsProvider
+                    : new EnvironmentCredentialsProvider(), signingDebugListener);
+        }
 
+        @Override
+        public void initChannel(DuplexChannel channel) {
             if (dockerClientConfig.getDockerTlsVerify()) {
                 final SslHandler ssl = initSsl(dockerClientConfig);
 
                 if (ssl != null) {
-                    channel.pipeline().addFirst(ssl);
+                    channel.pipeline().addLast(ssl);
                 }
             }
 
-            return channel;
+            // channel.pipeline().addLast(new
+            // HttpProxyHandler(proxyAddress));
+            channel.pipeline().addLast(new HttpClientCodec());
+
+            // add the Auth Header for Hyper_
+            channel.pipeline().addLast(hyperAuthHandler);
+
+            // decodes gzip bodies for the response handlers that are added per request
+            channel.pipeline().addLast(new HttpContentDecompressor());
         }
 
         private SslHandler initSsl(DockerClientConfig dockerClientConfig) {
@@ -288,10 +530,7 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
                 String host = dockerClientConfig.getDockerHost().getHost();
                 int port = dockerClientConfig.getDockerHost().getPort();
 
-                if (sslContext == null) {
-                    sslContext = new LocalDirectorySSLConfig(dockerClientConfig.getDockerCertPath()).getSSLContext();
-                }
-
+                // the peer address is the key of the session cache of the context
                 SSLEngine engine = sslContext.createSSLEngine(host, port);
                 engine.setUseClientMode(true);
                 engine.setSSLParameters(enableHostNameVerification(engine.getSSLParameters()));
@@ -309,6 +548,49 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
         }
     }
 
+    /**
+     * Sets up the pipeline of pooled keep-alive channels and keeps track of whether a channel is currently idle in the pool, so
+     * that {@link IdleChannelEvictionHandler} only closes channels that nobody is using.
+     */
+    private class PooledChannelHandler extends AbstractChannelPoolHandler {
+
+        @Override
+        public void channelCreated(Channel channel) throws Exception {
+            int idleTimeout = connectionIdleTimeout != null ? connectionIdleTimeout : DEFAULT_CONNECTION_IDLE_TIMEOUT;
+
+            initChannel((DuplexChannel) channel);
+
+            channel.pipeline().addFirst(new IdleStateHandler(0, 0, idleTimeout, TimeUnit.MILLISECONDS));
+            channel.pipeline().addLast(new IdleChannelEvictionHandler());
+        }
+
+        @Override
+        public void channelAcquired(Channel channel) throws Exception {
+            channel.attr(IDLE_IN_POOL).set(false);
+        }
+
+        @Override
+        public void channelReleased(Channel channel) throws Exception {
+            channel.attr(IDLE_IN_POOL).set(true);
+        }
+    }
+
+    /**
+     * Closes pooled channels that have not been used for the configured idle timeout. The closed channels are dropped by the
+     * health check of the pool on the next acquire.
+     */
+    private static class IdleChannelEvictionHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent && Boolean.TRUE.equals(ctx.channel().attr(IDLE_IN_POOL).get())) {
+                ctx.close();
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+    }
+
     protected DockerClientConfig getDockerClientConfig() {
         checkNotNull(dockerClientConfig,
                 "Factor not initialized, dockerClientConfig not set. You probably forgot to call init()!");
@@ -574,7 +856,21 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
     public void close() throws IOException {
         checkNotNull(eventLoopGroup, "Factory not initialized. You probably forgot to call init()!");
 
-        eventLoopGroup.shutdownGracefully();
+        channelPool.close();
+
+        releaseEventLoopGroup();
+    }
+
+    private void releaseEventLoopGroup() {
+        if (ownEventLoopGroup != null) {
+            ownEventLoopGroup.shutdownGracefully();
+            ownEventLoopGroup = null;
+        }
+
+        if (retainedEventLoopGroup != null) {
+            retainedEventLoopGroup.release();
+            retainedEventLoopGroup = null;
+        }
     }
 
     @Override
@@ -583,6 +879,178 @@ public class DockerCmdExecFactoryImpl implements DockerCmdExecFactory {
         return this;
     }
 
+    /**
+     * Maximum number of keep-alive connections that are kept open to the docker host. Callers block when all of them are in
+     * use, see {@link #withConnectionRequestTimeout(Integer)}. Hijacked connections (attach/exec) and the connections of streams
+     * that may never end (followed logs, events, stats, wait) are not counted.
+     */
+    public DockerCmdExecFactoryImpl withMaxPerRouteConnections(Integer maxPerRouteConnections) {
+        this.maxPerRouteConnections = maxPerRouteConnections;
+        return this;
+    }
+
+    /**
+     * Time in milliseconds a command waits for a pooled connection when all of them are in use before it fails, defaults to 30
+     * seconds.
+     */
+    public DockerCmdExecFactoryImpl withConnectionRequestTimeout(Integer connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        return this;
+    }
+
+    /**
+     * Maximum number of commands waiting for a pooled connection, defaults to 1000. Further commands fail immediately.
+     */
+    public DockerCmdExecFactoryImpl withMaxPendingConnectionRequests(Integer maxPendingConnectionRequests) {
+        this.maxPendingConnectionRequests = maxPendingConnectionRequests;
+        return this;
+    }
+
+    /**
+     * Enables HTTP pipelining of idempotent requests (inspect, list, version, ...) on pooled connections.
+     */
+    public DockerCmdExecFactoryImpl withHttpPipelining(boolean httpPipelining) {
+        this.httpPipelining = httpPipelining;
+        return this;
+    }
+
+    /**
+     * Maximum number of requests that are pipelined on a single connection before another one is taken from the pool.
+     */
+    public DockerCmdExecFactoryImpl withMaxPipelineDepth(Integer maxPipelineDepth) {
+        this.maxPipelineDepth = maxPipelineDepth;
+        return this;
+    }
+
+    /**
+     * Time in milliseconds after which an unused pooled connection is closed.
+     */
+    public DockerCmdExecFactoryImpl withConnectionIdleTimeout(Integer connectionIdleTimeout) {
+        this.connectionIdleTimeout = connectionIdleTimeout;
+        return this;
+    }
+
+    /**
+     * Supplies the credentials Hyper_ requests are signed with, defaults to {@link EnvironmentCredentialsProvider}. Commands of
+     * other accounts can share this client and its connection pool within a {@link sh.hyper.hyperjava.auth.HyperCredentialsScope}.
+     */
+    public DockerCmdExecFactoryImpl withCredentialsProvider(HyperCredentialsProvider credentialsProvider) {
+        this.credentialsProvider = credentialsProvider;
+        return this;
+    }
+
+    /**
+     * Enables debug output for the signing of Hyper_ requests, e.g. {@link sh.hyper.hyperjava.auth.SigningDebugLog}.
+     */
+    public DockerCmdExecFactoryImpl withSigningDebugListener(SigningDebugListener signingDebugListener) {
+        this.signingDebugListener = signingDebugListener;
+        return this;
+    }
+
+    /**
+     * Template for the bootstrap of the connections, e.g. with options or attributes shared by several factories. If the template
+     * has a group, it is used and must be shut down by the caller.
+     */
+    public DockerCmdExecFactoryImpl withBootstrap(Bootstrap bootstrapTemplate) {
+        this.bootstrapTemplate = bootstrapTemplate;
+        return this;
+    }
+
+    /**
+     * Runs the connections on the given group instead of starting own I/O threads. The group is released on {@link #close()}.
+     */
+    public DockerCmdExecFactoryImpl withEventLoopGroup(SharedEventLoopGroup sharedEventLoopGroup) {
+        this.sharedEventLoopGroup = sharedEventLoopGroup;
+        return this;
+    }
+
+    /**
+     * Number of I/O threads of the group of this factory, defaults to 0, i.e. twice the number of cores. Not used with a shared
+     * group.
+     */
+    public DockerCmdExecFactoryImpl withEventLoopThreads(int eventLoopThreads) {
+        this.eventLoopThreads = eventLoopThreads;
+        return this;
+    }
+
+    /**
+     * Uses the epoll transport for {@code tcp://} hosts if it is available, i.e. on Linux. Enabled by default, otherwise NIO is
+     * used. A shared group or the group of a bootstrap template determines the transport itself.
+     */
+    public DockerCmdExecFactoryImpl withNativeTransport(boolean nativeTransport) {
+        this.nativeTransport = nativeTransport;
+        return this;
+    }
+
+    /**
+     * Disables Nagle's algorithm on {@code tcp://} connections. Netty enables {@code TCP_NODELAY} by default.
+     */
+    public DockerCmdExecFactoryImpl withTcpNoDelay(Boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return this;
+    }
+
+    /**
+     * Enables TCP keep-alive probes on {@code tcp://} connections, so that pooled connections dropped by a NAT gateway or load
+     * balancer are detected.
+     */
+    public DockerCmdExecFactoryImpl withKeepAlive(Boolean keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    /**
+     * Size of the socket send buffer ({@code SO_SNDBUF}) of {@code tcp://} connections in bytes, e.g. for large uploads over
+     * links with a high latency.
+     */
+    public DockerCmdExecFactoryImpl withSendBufferSize(Integer sendBufferSize) {
+        this.sendBufferSize = sendBufferSize;
+        return this;
+    }
+
+    /**
+     * Size of the socket receive buffer ({@code SO_RCVBUF}) of {@code tcp://} connections in bytes, e.g. for large image or
+     * archive downloads.
+     */
+    public DockerCmdExecFactoryImpl withReceiveBufferSize(Integer receiveBufferSize) {
+        this.receiveBufferSize = receiveBufferSize;
+        return this;
+    }
+
+    /**
+     * Time in milliseconds after which establishing a connection fails.
+     */
+    public DockerCmdExecFactoryImpl withConnectTimeout(Integer connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * Allocator of the buffers of the connections, e.g. {@link io.netty.buffer.PooledByteBufAllocator#DEFAULT}.
+     */
+    public DockerCmdExecFactoryImpl withAllocator(ByteBufAllocator allocator) {
+        this.allocator = allocator;
+        return this;
+    }
+
+    /**
+     * Whether responses are requested gzip compressed, unless a command decides otherwise. Defaults to {@code true} for
+     * {@code tcp://} hosts and {@code false} for the unix socket.
+     */
+    public DockerCmdExecFactoryImpl withResponseCompression(Boolean responseCompression) {
+        this.responseCompression = responseCompression;
+        return this;
+    }
+
+    /**
+     * JSON request bodies of at least the given size in bytes are sent gzip compressed, e.g. large create requests over a slow
+     * link. Only use it if the docker host accepts {@code Content-Encoding: gzip}. Disabled by default.
+     */
+    public DockerCmdExecFactoryImpl withRequestCompressionThreshold(Integer requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+        return this;
+    }
+
     private WebTarget getBaseResource() {
         return new WebTarget(channelProvider);
     }
@@ -1,9 +1,15 @@
 package com.github.dockerjava.netty;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.socket.DuplexChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpRequest;
@@ -17,30 +23,53 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.json.JsonObjectDecoder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedNioFile;
 import io.netty.handler.stream.ChunkedStream;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 
 import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.binary.Hex;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.exception.DockerClientException;
 import com.github.dockerjava.api.model.Frame;
 import com.github.dockerjava.core.async.ResultCallbackTemplate;
+import com.github.dockerjava.core.util.JsonCodec;
+import com.github.dockerjava.netty.handler.FrameDecoder;
 import com.github.dockerjava.netty.handler.FramedResponseStreamHandler;
 import com.github.dockerjava.netty.handler.HttpConnectionHijackHandler;
+import com.github.dockerjava.netty.handler.HttpPipeliningHandler;
 import com.github.dockerjava.netty.handler.HttpRequestProvider;
+import com.github.dockerjava.netty.handler.HttpResponseCompleteListener;
 import com.github.dockerjava.netty.handler.HttpResponseHandler;
 import com.github.dockerjava.netty.handler.HttpResponseStreamHandler;
 import com.github.dockerjava.netty.handler.JsonResponseCallbackHandler;
+import sh.hyper.hyperjava.auth.HyperCredentials;
+import sh.hyper.hyperjava.auth.HyperCredentialsScope;
+import sh.hyper.hyperjava.auth.SpooledPayload;
+import sh.hyper.hyperjava.netty.handler.HyperAuthHandler;
+import sh.hyper.hyperjava.netty.handler.ScopedHttpRequests;
 
 /**
  * This class is basically a replacement of javax.ws.rs.client.Invocation.Builder to allow simpler migration of JAX-RS code to a netty based
@@ -52,7 +81,9 @@ public class InvocationBuilder {
 
     public class ResponseCallback<T> extends ResultCallbackTemplate<ResponseCallback<T>, T> {
 
-        private T result = null;
+        private final CountDownLatch firstResult = new CountDownLatch(1);
+
+        private volatile T result = null;
 
         public T awaitResult() {
             try {
@@ -63,21 +94,218 @@ public class InvocationBuilder {
             return result;
         }
 
+        /**
+         * Blocks until the first result was received or the callback was closed, e.g. to return a stream before the whole response
+         * body arrived.
+         */
+        public T awaitFirstResult() {
+            try {
+                firstResult.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            // eventually (re)throws RuntimeException
+            getFirstError();
+            return result;
+        }
+
         @Override
         public void onNext(T object) {
             result = object;
+            firstResult.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (firstResult.getCount() == 0) {
+                // a stream passed to onNext() reports errors itself
+                onComplete();
+                return;
+            }
+            super.onError(throwable);
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            firstResult.countDown();
         }
     }
 
+    /**
+     * A channel acquired from the {@link ChannelProvider} for a single request. The per-request handlers are removed and the
+     * channel is handed back once the response is complete or the channel was closed. In the latter case the result callback
+     * fails. A dedicated channel is closed instead.
+     */
+    private class ChannelLease implements HttpResponseCompleteListener, ChannelFutureListener {
+
+        private final DuplexChannel channel;
+
+        private final List<ChannelHandler> handlers = new ArrayList<ChannelHandler>();
+
+        private final ResultCallback<?> resultCallback;
+
+        private final boolean pooled;
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        // a failed write is handled by the writer, which may send the request again
+        private volatile boolean writing = false;
+
+        ChannelLease(DuplexChannel channel, ResultCallback<?> resultCallback, boolean pooled) {
+            this.channel = channel;
+            this.resultCallback = resultCallback;
+            this.pooled = pooled;
+            channel.closeFuture().addListener(this);
+        }
+
+        public DuplexChannel getChannel() {
+            return channel;
+        }
+
+        public void addLast(ChannelHandler... channelHandlers) {
+            for (ChannelHandler handler : channelHandlers) {
+                channel.pipeline().addLast(handler);
+                handlers.add(handler);
+            }
+        }
+
+        @Override
+        public void responseComplete(boolean keepAlive) {
+            release(keepAlive);
+        }
+
+        /**
+         * Writes the request and waits until it was sent. If that fails, the channel is closed and released without notifying
+         * the result callback.
+         *
+         * @return the cause of the failure or {@code null} if the request was sent
+         */
+        public Throwable write(HttpRequest request) {
+            writing = true;
+
+            // registered before the write, so it runs before the channel can be closed after a successful write
+            ChannelPromise promise = channel.newPromise();
+            promise.addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception {
+                    if (future.isSuccess()) {
+                        writing = false;
+                    }
+                }
+            });
+
+            channel.writeAndFlush(request, promise).awaitUninterruptibly();
+
+            if (promise.isSuccess()) {
+                return null;
+            }
+
+            release(false);
+
+            return promise.cause();
+        }
+
+        @Override
+        public void operationComplete(ChannelFuture future) throws Exception {
+            if (writing) {
+                return;
+            }
+
+            // channel was closed while the request was still in progress
+            if (release(false)) {
+                resultCallback.onError(new IOException("Connection closed before the response was complete"));
+                resultCallback.onComplete();
+            }
+        }
+
+        /**
+         * @return {@code false} if the channel was released before
+         */
+        private boolean release(boolean reusable) {
+            if (!released.compareAndSet(false, true)) {
+                return false;
+            }
+
+            channel.closeFuture().removeListener(this);
+
+            for (int i = handlers.size() - 1; i >= 0; i--) {
+                ChannelHandler handler = handlers.get(i);
+                if (channel.pipeline().context(handler) != null) {
+                    channel.pipeline().remove(handler);
+                }
+            }
+
+            if (!reusable || !pooled) {
+                channel.close();
+            }
+
+            if (pooled) {
+                channelProvider.releaseChannel(channel);
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Creates the handlers that process the response on a leased channel, once per attempt to send the request.
+     */
+    private interface ResponseHandlers {
+        ChannelHandler[] create(ChannelLease lease);
+    }
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
     private ChannelProvider channelProvider;
 
     private String resource;
 
     private Map<String, String> headers = new HashMap<String, String>();
 
+    private boolean pipelined = false;
+
+    private boolean dedicated = false;
+
+    private Boolean compressResponse = null;
+
+    private HyperAuthHandler hyperAuthHandler;
+
+    // requests are signed on the event loop, so the credentials of the calling scope are captured here
+    private HyperCredentials scopedCredentials;
+
     public InvocationBuilder(ChannelProvider channelProvider, String resource) {
         this.channelProvider = channelProvider;
         this.resource = resource;
+        this.hyperAuthHandler = channelProvider.getHyperAuthHandler();
+        this.scopedCredentials = HyperCredentialsScope.current();
+    }
+
+    /**
+     * Allows the request to be pipelined with other requests on the same connection if HTTP pipelining is enabled. Only use it
+     * for idempotent GET requests that return a complete JSON response, as a slow response delays all requests queued behind it.
+     */
+    public InvocationBuilder pipelined() {
+        this.pipelined = true;
+        return this;
+    }
+
+    /**
+     * Sends the request on a new connection that is closed afterwards instead of a pooled one. Use it for responses that are
+     * streamed for an unbounded time, e.g. followed logs or events, so that they don't use up the pool.
+     */
+    public InvocationBuilder dedicated() {
+        this.dedicated = true;
+        return this;
+    }
+
+    /**
+     * Overrides whether the response is requested gzip compressed, which defaults to
+     * {@link ChannelProvider#isResponseCompressionEnabled()}.
+     */
+    public InvocationBuilder compressResponse(boolean compressResponse) {
+        this.compressResponse = compressResponse;
+        return this;
     }
 
     public InvocationBuilder accept(MediaType mediaType) {
@@ -91,35 +319,31 @@ public class InvocationBuilder {
 
     public void delete() {
 
-        HttpRequestProvider requestProvider = httpDeleteRequestProvider();
+        final HttpRequestProvider requestProvider = httpDeleteRequestProvider();
 
-        ResponseCallback<Void> callback = new ResponseCallback<Void>();
+        final ResponseCallback<Void> callback = new ResponseCallback<Void>();
 
-        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, callback);
-
-        Channel channel = getChannel();
-
-        channel.pipeline().addLast(responseHandler);
-
-        sendRequest(requestProvider, channel);
+        sendRequest(requestProvider, callback, new ResponseHandlers() {
+            @Override
+            public ChannelHandler[] create(ChannelLease lease) {
+                return new ChannelHandler[] {new HttpResponseHandler(requestProvider, callback, lease)};
+            }
+        });
 
         callback.awaitResult();
     }
 
-    public void get(ResultCallback<Frame> resultCallback) {
+    public void get(final ResultCallback<Frame> resultCallback) {
 
-        HttpRequestProvider requestProvider = httpGetRequestProvider();
-
-        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, resultCallback);
-
-        FramedResponseStreamHandler streamHandler = new FramedResponseStreamHandler(resultCallback);
-
-        Channel channel = getChannel();
-
-        channel.pipeline().addLast(responseHandler);
-        channel.pipeline().addLast(streamHandler);
+        final HttpRequestProvider requestProvider = httpGetRequestProvider();
 
-        sendRequest(requestProvider, channel);
+        sendRequest(requestProvider, resultCallback, new ResponseHandlers() {
+            @Override
+            public ChannelHandler[] create(ChannelLease lease) {
+                return new ChannelHandler[] {new HttpResponseHandler(requestProvider, resultCallback, lease),
+                        new FrameDecoder(), new FramedResponseStreamHandler(resultCallback)};
+            }
+        });
     }
 
     public <T> T get(TypeReference<T> typeReference) {
@@ -131,28 +355,46 @@ public class InvocationBuilder {
         return callback.awaitResult();
     }
 
-    public <T> void get(TypeReference<T> typeReference, ResultCallback<T> resultCallback) {
+    public <T> void get(final TypeReference<T> typeReference, final ResultCallback<T> resultCallback) {
 
-        HttpRequestProvider requestProvider = httpGetRequestProvider();
+        final HttpRequestProvider requestProvider = httpGetRequestProvider();
 
-        Channel channel = getChannel();
+        HttpPipeliningHandler pipeliningHandler = pipelined && !dedicated ? channelProvider.getPipeliningHandler() : null;
 
-        JsonResponseCallbackHandler<T> jsonResponseHandler = new JsonResponseCallbackHandler<T>(typeReference,
-                resultCallback);
+        if (pipeliningHandler != null) {
+            HttpPipeliningHandler.Exchange exchange = pipeliningHandler.newExchange(
+                    requestProvider.getHttpRequest(resource), resultCallback);
 
-        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, resultCallback);
+            exchange.addLast(new HttpResponseHandler(requestProvider, resultCallback, exchange), new JsonObjectDecoder(),
+                    new JsonResponseCallbackHandler<T>(typeReference, resultCallback));
 
-        channel.pipeline().addLast(responseHandler);
-        channel.pipeline().addLast(new JsonObjectDecoder());
-        channel.pipeline().addLast(jsonResponseHandler);
+            pipeliningHandler.submit(exchange);
 
-        sendRequest(requestProvider, channel);
+            return;
+        }
+
+        sendRequest(requestProvider, resultCallback, jsonResponseHandlers(requestProvider, typeReference, resultCallback));
 
         return;
     }
 
-    private DuplexChannel getChannel() {
-        return channelProvider.getChannel();
+    private <T> ResponseHandlers jsonResponseHandlers(final HttpRequestProvider requestProvider,
+            final TypeReference<T> typeReference, final ResultCallback<T> resultCallback) {
+        return new ResponseHandlers() {
+            @Override
+            public ChannelHandler[] create(ChannelLease lease) {
+                return new ChannelHandler[] {new HttpResponseHandler(requestProvider, resultCallback, lease),
+                        new JsonObjectDecoder(), new JsonResponseCallbackHandler<T>(typeReference, resultCallback)};
+            }
+        };
+    }
+
+    private ChannelLease newLease(ResultCallback<?> resultCallback) {
+        if (dedicated) {
+            return new ChannelLease(channelProvider.getDedicatedChannel(), resultCallback, false);
+        }
+
+        return new ChannelLease(channelProvider.getChannel(), resultCallback, true);
     }
 
     private HttpRequestProvider httpDeleteRequestProvider() {
@@ -195,19 +437,22 @@ public class InvocationBuilder {
 
         HttpRequestProvider requestProvider = httpPostRequestProvider(entity);
 
-        Channel channel = getChannel();
-
         ResponseCallback<InputStream> callback = new ResponseCallback<InputStream>();
 
-        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, callback);
-        HttpResponseStreamHandler streamHandler = new HttpResponseStreamHandler(callback);
-
-        channel.pipeline().addLast(responseHandler);
-        channel.pipeline().addLast(streamHandler);
+        sendRequest(requestProvider, callback, streamResponseHandlers(requestProvider, callback));
 
-        sendRequest(requestProvider, channel);
+        return callback.awaitFirstResult();
+    }
 
-        return callback.awaitResult();
+    private ResponseHandlers streamResponseHandlers(final HttpRequestProvider requestProvider,
+            final ResultCallback<InputStream> resultCallback) {
+        return new ResponseHandlers() {
+            @Override
+            public ChannelHandler[] create(ChannelLease lease) {
+                return new ChannelHandler[] {new HttpResponseHandler(requestProvider, resultCallback, lease),
+                        new HttpResponseStreamHandler(resultCallback)};
+            }
+        };
     }
 
     public void post(final Object entity, final InputStream stdin, final ResultCallback<Frame> resultCallback) {
@@ -216,7 +461,11 @@ public class InvocationBuilder {
 
         FramedResponseStreamHandler streamHandler = new FramedResponseStreamHandler(resultCallback);
 
-        final DuplexChannel channel = getChannel();
+        // hijacked connections can't be reused, so they don't take part in pooling
+        final DuplexChannel channel = channelProvider.getDedicatedChannel();
+
+        // the raw stream after the upgrade is never encoded
+        compressResponse = false;
 
         // result callback's close() method must be called when the servers closes the connection
         channel.closeFuture().addListener(new GenericFutureListener<Future<? super Void>>() {
@@ -234,7 +483,7 @@ public class InvocationBuilder {
 
         channel.pipeline().addLast(
                 new HttpClientUpgradeHandler(httpClientCodec, hijackHandler, Integer.MAX_VALUE));
-        channel.pipeline().addLast(streamHandler);
+        channel.pipeline().addLast(new FrameDecoder(), streamHandler);
 
         sendRequest(requestProvider, channel);
 
@@ -284,25 +533,14 @@ public class InvocationBuilder {
 
         HttpRequestProvider requestProvider = httpPostRequestProvider(entity);
 
-        Channel channel = getChannel();
-
-        JsonResponseCallbackHandler<T> jsonResponseHandler = new JsonResponseCallbackHandler<T>(typeReference,
-                resultCallback);
-
-        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, resultCallback);
-
-        channel.pipeline().addLast(responseHandler);
-        channel.pipeline().addLast(new JsonObjectDecoder());
-        channel.pipeline().addLast(jsonResponseHandler);
-
-        sendRequest(requestProvider, channel);
+        sendRequest(requestProvider, resultCallback, jsonResponseHandlers(requestProvider, typeReference, resultCallback));
 
         return;
     }
 
     private HttpRequest prepareDeleteRequest(String uri) {
 
-        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.DELETE, uri);
+        FullHttpRequest request = newFullRequest(HttpMethod.DELETE, uri, Unpooled.buffer(0));
 
         setDefaultHeaders(request);
 
@@ -311,13 +549,21 @@ public class InvocationBuilder {
 
     private FullHttpRequest prepareGetRequest(String uri) {
 
-        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+        FullHttpRequest request = newFullRequest(HttpMethod.GET, uri, Unpooled.buffer(0));
 
         setDefaultHeaders(request);
 
         return request;
     }
 
+    private FullHttpRequest newFullRequest(HttpMethod httpMethod, String uri, ByteBuf content) {
+        if (scopedCredentials == null) {
+            return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, httpMethod, uri, content);
+        }
+
+        return ScopedHttpRequests.newFullRequest(httpMethod, uri, content, scopedCredentials);
+    }
+
     private HttpRequest preparePostRequest(String uri, Object entity) {
         return prepareEntityRequest(uri, entity, HttpMethod.POST);
     }
@@ -332,22 +578,34 @@ public class InvocationBuilder {
 
         if (entity != null) {
 
-            FullHttpRequest fullRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, httpMethod, uri);
-
-            byte[] bytes;
+            // serialize straight into a pooled buffer that is released once the request was written
+            ByteBuf content = ByteBufAllocator.DEFAULT.buffer();
             try {
-                bytes = new ObjectMapper().writeValueAsBytes(entity);
-            } catch (JsonProcessingException e) {
+                JsonCodec.writer(entity.getClass()).writeValue(new ByteBufOutputStream(content), entity);
+            } catch (IOException e) {
+                content.release();
                 throw new RuntimeException(e);
             }
 
+            int compressionThreshold = channelProvider.getRequestCompressionThreshold();
+            boolean compress = compressionThreshold >= 0 && content.readableBytes() >= compressionThreshold;
+
+            if (compress) {
+                content = gzip(content);
+            }
+
+            FullHttpRequest fullRequest = newFullRequest(httpMethod, uri, content);
+
             fullRequest.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json");
-            fullRequest.content().clear().writeBytes(Unpooled.copiedBuffer(bytes));
-            fullRequest.headers().set(HttpHeaderNames.CONTENT_LENGTH, bytes.length);
+            if (compress) {
+                fullRequest.headers().set(HttpHeaderNames.CONTENT_ENCODING, HttpHeaderValues.GZIP);
+            }
+            fullRequest.headers().set(HttpHeaderNames.CONTENT_LENGTH, content.readableBytes());
 
             request = fullRequest;
         } else {
-            request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, httpMethod, uri);
+            request = scopedCredentials == null ? new DefaultHttpRequest(HttpVersion.HTTP_1_1, httpMethod, uri)
+                    : ScopedHttpRequests.newRequest(httpMethod, uri, scopedCredentials);
             request.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
         }
 
@@ -356,27 +614,97 @@ public class InvocationBuilder {
         return request;
     }
 
-    private void sendRequest(HttpRequestProvider requestProvider, Channel channel) {
+    /**
+     * Compresses and releases the given content.
+     */
+    private static ByteBuf gzip(ByteBuf content) {
+        ByteBuf compressed = ByteBufAllocator.DEFAULT.buffer(content.readableBytes() / 4);
+        try {
+            GZIPOutputStream out = new GZIPOutputStream(new ByteBufOutputStream(compressed));
+            content.readBytes(out, content.readableBytes());
+            out.close();
+        } catch (IOException e) {
+            compressed.release();
+            throw new RuntimeException(e);
+        } finally {
+            content.release();
+        }
+        return compressed;
+    }
 
-        ChannelFuture channelFuture = channel.writeAndFlush(requestProvider.getHttpRequest(resource));
+    /**
+     * Sends the request on a leased channel. A pooled channel may have been closed by the server while it was idle, so if the
+     * request could not be written, it is sent once more on another channel if it is idempotent. Otherwise the result callback
+     * fails.
+     */
+    private void sendRequest(HttpRequestProvider requestProvider, ResultCallback<?> resultCallback,
+            ResponseHandlers responseHandlers) {
 
-        channelFuture.addListener(new ChannelFutureListener() {
-            @Override
-            public void operationComplete(ChannelFuture future) throws Exception {
+        for (int attempt = 0;; attempt++) {
+            ChannelLease lease = newLease(resultCallback);
+
+            lease.addLast(responseHandlers.create(lease));
+
+            HttpRequest request = requestProvider.getHttpRequest(resource);
+
+            boolean retryable = attempt == 0 && HttpMethod.GET.equals(request.method());
+
+            Throwable cause = lease.write(request);
+
+            if (cause == null) {
+                return;
             }
-        });
+
+            if (!retryable) {
+                resultCallback.onError(cause);
+                resultCallback.onComplete();
+                return;
+            }
+        }
+    }
+
+    private void sendRequest(HttpRequestProvider requestProvider, Channel channel) {
+        channel.writeAndFlush(requestProvider.getHttpRequest(resource)).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
     }
 
     private void setDefaultHeaders(HttpRequest request) {
         request.headers().set(HttpHeaderNames.HOST, "");
         request.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
-        request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.GZIP);
+
+        if (compressResponse != null ? compressResponse : channelProvider.isResponseCompressionEnabled()) {
+            request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.GZIP);
+        }
 
         for (Map.Entry<String, String> entry : headers.entrySet()) {
             request.headers().set((CharSequence) entry.getKey(), entry.getValue());
         }
     }
 
+    /**
+     * Hyper_ signs the hash of the body before the body is sent, so a streamed body is spooled to a temporary file while it is
+     * hashed if the channel signs its requests.
+     */
+    private InputStream prepareStreamedBody(Channel channel, HttpRequest request, InputStream body) {
+        if (hyperAuthHandler == null) {
+            return body;
+        }
+
+        SpooledPayload spooledPayload;
+        try {
+            spooledPayload = SpooledPayload.spool(body);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        try {
+            request.headers().set(HyperAuthHandler.HEAD_X_HYPER_CONTENT_SHA256, spooledPayload.getSha256Hex());
+            return spooledPayload.openStream();
+        } catch (IOException e) {
+            spooledPayload.delete();
+            throw new RuntimeException(e);
+        }
+    }
+
     public <T> T post(TypeReference<T> typeReference, InputStream body) {
 
         ResponseCallback<T> callback = new ResponseCallback<T>();
@@ -387,19 +715,29 @@ public class InvocationBuilder {
     }
 
     public <T> void post(TypeReference<T> typeReference, ResultCallback<T> resultCallback, InputStream body) {
+        post(typeReference, resultCallback, new StreamBody(body));
+    }
+
+    /**
+     * Sends the file straight from the page cache if the connection is not encrypted.
+     */
+    public <T> void post(TypeReference<T> typeReference, ResultCallback<T> resultCallback, File body) {
+        post(typeReference, resultCallback, new StreamBody(openFile(body)));
+    }
+
+    private <T> void post(TypeReference<T> typeReference, ResultCallback<T> resultCallback, StreamBody body) {
         HttpRequestProvider requestProvider = httpPostRequestProvider(null);
 
-        Channel channel = getChannel();
+        ChannelLease lease = newLease(resultCallback);
+
+        Channel channel = lease.getChannel();
 
         JsonResponseCallbackHandler<T> jsonResponseHandler = new JsonResponseCallbackHandler<T>(typeReference,
                 resultCallback);
 
-        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, resultCallback);
+        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, resultCallback, lease);
 
-        channel.pipeline().addLast(new ChunkedWriteHandler());
-        channel.pipeline().addLast(responseHandler);
-        channel.pipeline().addLast(new JsonObjectDecoder());
-        channel.pipeline().addLast(jsonResponseHandler);
+        lease.addLast(new ChunkedWriteHandler(), responseHandler, new JsonObjectDecoder(), jsonResponseHandler);
 
         HttpRequest request = requestProvider.getHttpRequest(resource);
 
@@ -408,46 +746,42 @@ public class InvocationBuilder {
             throw new DockerClientException("fatal: request is instance of FullHttpRequest");
         }
 
-        request.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
-        request.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
-
-        channel.write(request);
-
-        channel.write(new ChunkedStream(new BufferedInputStream(body, 1024 * 1024), 1024 * 1024));
-        channel.write(LastHttpContent.EMPTY_LAST_CONTENT);
-        channel.flush();
+        writeStreamedRequest(channel, request, body);
     }
 
     public InputStream get() {
         HttpRequestProvider requestProvider = httpGetRequestProvider();
 
-        Channel channel = getChannel();
-
         ResponseCallback<InputStream> resultCallback = new ResponseCallback<InputStream>();
 
-        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, resultCallback);
-
-        HttpResponseStreamHandler streamHandler = new HttpResponseStreamHandler(resultCallback);
+        sendRequest(requestProvider, resultCallback, streamResponseHandlers(requestProvider, resultCallback));
 
-        channel.pipeline().addLast(responseHandler);
-        channel.pipeline().addLast(streamHandler);
+        return resultCallback.awaitFirstResult();
+    }
 
-        sendRequest(requestProvider, channel);
+    public void put(InputStream body, MediaType mediaType) {
+        put(new StreamBody(body), mediaType);
+    }
 
-        return resultCallback.awaitResult();
+    /**
+     * Sends the file straight from the page cache if the connection is not encrypted.
+     */
+    public void put(File body, MediaType mediaType) {
+        put(new StreamBody(openFile(body)), mediaType);
     }
 
-    public void put(InputStream body, MediaType mediaType) {
+    private void put(StreamBody body, MediaType mediaType) {
         HttpRequestProvider requestProvider = httpPutRequestProvider(null);
 
-        Channel channel = getChannel();
-
         ResponseCallback<Void> resultCallback = new ResponseCallback<Void>();
 
-        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, resultCallback);
+        ChannelLease lease = newLease(resultCallback);
 
-        channel.pipeline().addLast(new ChunkedWriteHandler());
-        channel.pipeline().addLast(responseHandler);
+        Channel channel = lease.getChannel();
+
+        HttpResponseHandler responseHandler = new HttpResponseHandler(requestProvider, resultCallback, lease);
+
+        lease.addLast(new ChunkedWriteHandler(), responseHandler);
 
         HttpRequest request = requestProvider.getHttpRequest(resource);
 
@@ -456,14 +790,138 @@ public class InvocationBuilder {
             throw new DockerClientException("fatal: request is instance of FullHttpRequest");
         }
 
-        request.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
-        request.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
         request.headers().set(HttpHeaderNames.CONTENT_TYPE, mediaType.getMediaType());
 
-        channel.write(request);
-        channel.write(new ChunkedStream(new BufferedInputStream(body, 1024 * 1024)));
-        channel.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+        writeStreamedRequest(channel, request, body);
 
         resultCallback.awaitResult();
-    };
+    }
+
+    /**
+     * Writes the request and its body. The content of a file is handed to the transport as {@link DefaultFileRegion}, so that
+     * the kernel copies it to the socket, unless it has to be encrypted by the {@link SslHandler} anyway. Other streams are
+     * copied in chunks.
+     */
+    private void writeStreamedRequest(Channel channel, HttpRequest request, StreamBody body) {
+        if (body.fileChannel == null) {
+            request.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+            request.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
+
+            InputStream content = prepareStreamedBody(channel, request, body.stream);
+
+            channel.write(request);
+            channel.write(new ChunkedStream(new BufferedInputStream(content, CHUNK_SIZE), CHUNK_SIZE))
+                    .addListener(closeOnFailure(content));
+            // the lease fails the result callback once the channel is closed
+            channel.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+            return;
+        }
+
+        FileChannel fileChannel = body.fileChannel;
+
+        try {
+            long position = fileChannel.position();
+            long count = fileChannel.size() - position;
+
+            // the length is known, so the file doesn't need the chunked encoding
+            request.headers().remove(HttpHeaderNames.TRANSFER_ENCODING);
+            request.headers().set(HttpHeaderNames.CONTENT_LENGTH, count);
+
+            if (hyperAuthHandler != null) {
+                // a file can be read twice, so unlike a stream it needs no spooling for the signature
+                request.headers().set(HyperAuthHandler.HEAD_X_HYPER_CONTENT_SHA256, sha256Hex(fileChannel, position, count));
+            }
+
+            channel.write(request);
+
+            if (channel.pipeline().get(SslHandler.class) != null) {
+                channel.write(new ChunkedNioFile(fileChannel, position, count, CHUNK_SIZE));
+            } else {
+                channel.write(new DefaultFileRegion(fileChannel, position, count));
+            }
+
+            // the lease fails the result callback once the channel is closed
+            channel.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT).addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        } catch (IOException e) {
+            closeQuietly(fileChannel);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static FileInputStream openFile(File file) {
+        try {
+            return new FileInputStream(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String sha256Hex(FileChannel fileChannel, long position, long count) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long offset = position;
+        long end = position + count;
+
+        // positional reads leave the position of the channel alone
+        while (offset < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - offset));
+
+            int read = fileChannel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("File was truncated while it was hashed");
+            }
+
+            buffer.flip();
+            digest.update(buffer);
+            offset += read;
+        }
+
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * Closes the content of a body that could not be sent, e.g. to delete a spooled body, as a closed channel drops it without
+     * closing it.
+     */
+    private static ChannelFutureListener closeOnFailure(final Closeable content) {
+        return new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                if (!future.isSuccess()) {
+                    closeQuietly(content);
+                }
+            }
+        };
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * A streamed request body, which is sent from the file if the stream reads one.
+     */
+    private static class StreamBody {
+
+        private final InputStream stream;
+
+        private final FileChannel fileChannel;
+
+        StreamBody(InputStream stream) {
+            this.stream = stream;
+            // closing the channel closes the stream as well
+            this.fileChannel = stream instanceof FileInputStream ? ((FileInputStream) stream).getChannel() : null;
+        }
+    }
 }
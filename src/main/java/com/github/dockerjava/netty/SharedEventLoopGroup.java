@@ -0,0 +1,77 @@
+package com.github.dockerjava.netty;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * An {@link EventLoopGroup} that is shared by several {@link DockerCmdExecFactoryImpl}s, e.g. the clients of different regions
+ * or accounts, instead of each of them starting its own I/O threads.
+ *
+ * Every factory that was initialized with the group releases it on {@link DockerCmdExecFactoryImpl#close()}. The group is shut
+ * down when the last of them was closed.
+ */
+public class SharedEventLoopGroup {
+
+    private final EventLoopGroup eventLoopGroup;
+
+    private int references = 0;
+
+    private boolean shutdown = false;
+
+    /**
+     * @param eventLoopGroup
+     *            an {@link EpollEventLoopGroup} is needed for unix sockets and selects the epoll transport for TCP, any other
+     *            group must be usable with {@link io.netty.channel.socket.nio.NioSocketChannel}
+     */
+    public SharedEventLoopGroup(EventLoopGroup eventLoopGroup) {
+        checkNotNull(eventLoopGroup, "eventLoopGroup was not specified");
+        this.eventLoopGroup = eventLoopGroup;
+    }
+
+    /**
+     * Creates a group with the native epoll transport if it is available, NIO otherwise.
+     *
+     * @param threads
+     *            number of I/O threads, 0 for twice the number of cores
+     */
+    public static SharedEventLoopGroup create(int threads) {
+        DefaultThreadFactory threadFactory = new DefaultThreadFactory("dockerjava-netty-shared");
+
+        if (Epoll.isAvailable()) {
+            return new SharedEventLoopGroup(new EpollEventLoopGroup(threads, threadFactory));
+        }
+
+        return new SharedEventLoopGroup(new NioEventLoopGroup(threads, threadFactory));
+    }
+
+    public EventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    public synchronized int getReferences() {
+        return references;
+    }
+
+    synchronized void retain() {
+        if (shutdown) {
+            throw new IllegalStateException("The event loop group was shut down when its last factory was closed");
+        }
+        references++;
+    }
+
+    synchronized void release() {
+        if (references == 0) {
+            throw new IllegalStateException("The event loop group is not in use");
+        }
+
+        if (--references == 0) {
+            shutdown = true;
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+}
@@ -34,7 +34,7 @@ public class EventsCmdExec extends AbstrAsyncDockerCmdExec<EventsCmd, Event> imp
 
         LOGGER.trace("GET: {}", webTarget);
 
-        webTarget.request().get(new TypeReference<Event>() {
+        webTarget.request().dedicated().get(new TypeReference<Event>() {
         }, resultCallback);
 
         return null;
@@ -28,7 +28,7 @@ public class InfoCmdExec implements InfoCmd.Exec {
 
     @Override
     public Info exec(InfoCmd command) {
-        return webResource.path("info").request().get(new TypeReference<Info>() {
+        return webResource.path("info").request().pipelined().get(new TypeReference<Info>() {
         });
     }
 
@@ -27,7 +27,7 @@ public class InspectContainerCmdExec extends AbstrSyncDockerCmdExec<InspectConta
         webResource = booleanQueryParam(webResource, "size", command.getSize());
 
         LOGGER.debug("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON)
+        return webResource.request().pipelined().accept(MediaType.APPLICATION_JSON)
                 .get(new TypeReference<InspectContainerResponse>() {
                 });
     }
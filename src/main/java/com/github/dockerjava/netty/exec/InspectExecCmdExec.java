@@ -24,7 +24,8 @@ public class InspectExecCmdExec extends AbstrSyncDockerCmdExec<InspectExecCmd, I
 
         LOGGER.debug("GET: {}", webResource);
 
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(new TypeReference<InspectExecResponse>() {
+        return webResource.request().pipelined()
+                .accept(MediaType.APPLICATION_JSON).get(new TypeReference<InspectExecResponse>() {
         });
     }
 }
@@ -25,7 +25,8 @@ public class InspectImageCmdExec extends AbstrSyncDockerCmdExec<InspectImageCmd,
 
         LOGGER.trace("GET: {}", webResource);
 
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(new TypeReference<InspectImageResponse>() {
+        return webResource.request().pipelined()
+                .accept(MediaType.APPLICATION_JSON).get(new TypeReference<InspectImageResponse>() {
         });
     }
 
@@ -23,7 +23,7 @@ public class InspectNetworkCmdExec extends AbstrSyncDockerCmdExec<InspectNetwork
         WebTarget webResource = getBaseResource().path("/networks/{id}").resolveTemplate("id", command.getNetworkId());
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(new TypeReference<Network>() {
+        return webResource.request().pipelined().accept(MediaType.APPLICATION_JSON).get(new TypeReference<Network>() {
         });
     }
 }
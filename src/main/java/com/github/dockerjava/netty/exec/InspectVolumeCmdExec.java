@@ -24,7 +24,8 @@ public class InspectVolumeCmdExec extends AbstrSyncDockerCmdExec<InspectVolumeCm
         WebTarget webResource = getBaseResource().path("/volumes/{name}").resolveTemplate("name", command.getName());
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(new TypeReference<InspectVolumeResponse>() {
+        return webResource.request().pipelined()
+                .accept(MediaType.APPLICATION_JSON).get(new TypeReference<InspectVolumeResponse>() {
         });
     }
 }
@@ -43,7 +43,7 @@ public class ListContainersCmdExec extends AbstrSyncDockerCmdExec<ListContainers
 
         LOGGER.trace("GET: {}", webTarget);
 
-        List<Container> containers = webTarget.request().accept(MediaType.APPLICATION_JSON)
+        List<Container> containers = webTarget.request().pipelined().accept(MediaType.APPLICATION_JSON)
                 .get(new TypeReference<List<Container>>() {
                 });
 
@@ -39,7 +39,7 @@ public class ListImagesCmdExec extends AbstrSyncDockerCmdExec<ListImagesCmd, Lis
 
         LOGGER.trace("GET: {}", webTarget);
 
-        List<Image> images = webTarget.request().accept(MediaType.APPLICATION_JSON)
+        List<Image> images = webTarget.request().pipelined().accept(MediaType.APPLICATION_JSON)
                 .get(new TypeReference<List<Image>>() {
                 });
 
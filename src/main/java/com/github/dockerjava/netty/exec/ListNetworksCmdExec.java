@@ -34,7 +34,8 @@ public class ListNetworksCmdExec extends AbstrSyncDockerCmdExec<ListNetworksCmd,
 
         LOGGER.trace("GET: {}", webTarget);
 
-        return webTarget.request().accept(MediaType.APPLICATION_JSON).get(new TypeReference<List<Network>>() {
+        return webTarget.request().pipelined()
+                .accept(MediaType.APPLICATION_JSON).get(new TypeReference<List<Network>>() {
         });
     }
 }
@@ -32,7 +32,8 @@ public class ListVolumesCmdExec extends AbstrSyncDockerCmdExec<ListVolumesCmd, L
 
         LOGGER.trace("GET: {}", webTarget);
 
-        return webTarget.request().accept(MediaType.APPLICATION_JSON).get(new TypeReference<ListVolumesResponse>() {
+        return webTarget.request().pipelined()
+                .accept(MediaType.APPLICATION_JSON).get(new TypeReference<ListVolumesResponse>() {
         });
     }
 }
@@ -7,6 +7,7 @@ import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.command.LogContainerCmd;
 import com.github.dockerjava.api.model.Frame;
 import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.netty.InvocationBuilder;
 import com.github.dockerjava.netty.WebTarget;
 
 public class LogContainerCmdExec extends AbstrAsyncDockerCmdExec<LogContainerCmd, Frame> implements
@@ -39,7 +40,14 @@ public class LogContainerCmdExec extends AbstrAsyncDockerCmdExec<LogContainerCmd
 
         LOGGER.trace("GET: {}", webTarget);
 
-        webTarget.request().get(resultCallback);
+        InvocationBuilder builder = webTarget.request();
+
+        // a followed log doesn't end before the container does
+        if (Boolean.TRUE.equals(command.hasFollowStreamEnabled())) {
+            builder.dedicated();
+        }
+
+        builder.get(resultCallback);
 
         return null;
     }
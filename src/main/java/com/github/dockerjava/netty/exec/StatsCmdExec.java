@@ -25,7 +25,7 @@ public class StatsCmdExec extends AbstrAsyncDockerCmdExec<StatsCmd, Statistics>
 
         LOGGER.trace("GET: {}", webTarget);
 
-        webTarget.request().get(new TypeReference<Statistics>() {
+        webTarget.request().dedicated().get(new TypeReference<Statistics>() {
         }, resultCallback);
 
         return null;
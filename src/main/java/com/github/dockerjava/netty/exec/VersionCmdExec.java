@@ -23,7 +23,7 @@ public class VersionCmdExec extends AbstrSyncDockerCmdExec<VersionCmd, Version>
         WebTarget webResource = getBaseResource().path("/version");
 
         LOGGER.trace("GET: {}", webResource);
-        return webResource.request().accept(MediaType.APPLICATION_JSON).get(new TypeReference<Version>() {
+        return webResource.request().pipelined().accept(MediaType.APPLICATION_JSON).get(new TypeReference<Version>() {
         });
     }
 
@@ -0,0 +1,34 @@
+package com.github.dockerjava.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+import com.github.dockerjava.api.model.StreamType;
+
+/**
+ * A frame of a docker-raw-stream as emitted by {@link FrameDecoder}. The payload is a retained slice of the received buffer,
+ * which must be released by the consumer.
+ */
+public class ByteBufFrame extends DefaultByteBufHolder {
+
+    private final StreamType streamType;
+
+    public ByteBufFrame(StreamType streamType, ByteBuf content) {
+        super(content);
+        this.streamType = streamType;
+    }
+
+    public StreamType getStreamType() {
+        return streamType;
+    }
+
+    @Override
+    public ByteBufFrame copy() {
+        return new ByteBufFrame(streamType, content().copy());
+    }
+
+    @Override
+    public ByteBufFrame duplicate() {
+        return new ByteBufFrame(streamType, content().duplicate());
+    }
+}
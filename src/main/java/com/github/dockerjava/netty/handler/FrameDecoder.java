@@ -0,0 +1,65 @@
+package com.github.dockerjava.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+
+import com.github.dockerjava.api.model.StreamType;
+
+/**
+ * Decoder for a docker-raw-stream as described here:
+ *
+ * https://docs.docker.com/engine/reference/api/docker_remote_api_v1.21/#attach-to-a-container
+ *
+ * It emits {@link ByteBufFrame}s holding retained slices of the received buffers, so no payload is copied. If the stream doesn't
+ * start with a valid header (e.g. the container has a tty) everything is passed as {@link StreamType#RAW}.
+ */
+public class FrameDecoder extends ByteToMessageDecoder {
+
+    private static final int HEADER_SIZE = 8;
+
+    private boolean raw = false;
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        if (!raw && in.isReadable() && streamType(in.getByte(in.readerIndex())) == StreamType.RAW) {
+            raw = true;
+        }
+
+        if (raw) {
+            if (in.isReadable()) {
+                out.add(new ByteBufFrame(StreamType.RAW, in.readSlice(in.readableBytes()).retain()));
+            }
+            return;
+        }
+
+        while (in.readableBytes() >= HEADER_SIZE) {
+            int headerIndex = in.readerIndex();
+            int payloadSize = in.getInt(headerIndex + 4);
+
+            if (in.readableBytes() < HEADER_SIZE + payloadSize) {
+                return;
+            }
+
+            StreamType streamType = streamType(in.getByte(headerIndex));
+
+            in.skipBytes(HEADER_SIZE);
+            out.add(new ByteBufFrame(streamType, in.readSlice(payloadSize).retain()));
+        }
+    }
+
+    private static StreamType streamType(byte streamType) {
+        switch (streamType) {
+            case 0:
+                return StreamType.STDIN;
+            case 1:
+                return StreamType.STDOUT;
+            case 2:
+                return StreamType.STDERR;
+            default:
+                return StreamType.RAW;
+        }
+    }
+}
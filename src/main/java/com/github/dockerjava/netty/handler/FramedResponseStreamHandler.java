@@ -1,133 +1,58 @@
 package com.github.dockerjava.netty.handler;
 
-import java.util.Arrays;
-
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.model.Frame;
-import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.core.async.FrameSink;
 
 /**
- * Handler that decodes a docker-raw-stream as described here:
- *
- * https://docs.docker.com/engine/reference/api/docker_remote_api_v1.21/#attach-to-a-container
+ * Handler that passes the frames of a docker-raw-stream decoded by a preceding {@link FrameDecoder} to the
+ * {@link ResultCallback#onNext(Object)} method of the passed {@link ResultCallback}, each as a {@link Frame} with a copy of the
+ * payload.
  *
- * It drives the {@link ResultCallback#onNext(Object)} method of the passed {@link ResultCallback}.
+ * Callbacks that implement {@link FrameSink} get the payload from the received buffer instead, or from a scratch array that is
+ * reused for all frames of the stream if the buffer is not backed by an array, e.g. a pooled direct buffer. It is only valid
+ * until {@link FrameSink#onFrame} returns.
  *
  * @author Marcus Linke
  */
-public class FramedResponseStreamHandler extends SimpleChannelInboundHandler<ByteBuf> {
-
-    private static final int HEADER_SIZE = 8;
-
-    private final ByteBuf rawBuffer = Unpooled.buffer(1000);
-
-    private byte[] header = new byte[HEADER_SIZE];
-
-    private int headerCnt = 0;
-
-    private byte[] payload = new byte[0];
-
-    private int payloadCnt = 0;
+public class FramedResponseStreamHandler extends SimpleChannelInboundHandler<ByteBufFrame> {
 
     private ResultCallback<Frame> resultCallback;
 
-    private StreamType streamType = null;
+    private byte[] scratch = new byte[0];
 
     public FramedResponseStreamHandler(ResultCallback<Frame> resultCallback) {
         this.resultCallback = resultCallback;
     }
 
     @Override
-    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
-
-        rawBuffer.writeBytes(msg, 0, msg.readableBytes());
-
-        Frame frame = null;
-
-        do {
-            frame = decode();
-
-            if (frame != null) {
-                resultCallback.onNext(frame);
-            }
-
-        } while (frame != null);
-    }
-
-    private int read(byte[] buf, int offset, int length) {
-        length = Math.min(rawBuffer.readableBytes(), length);
-        rawBuffer.readBytes(buf, offset, length);
-        rawBuffer.discardReadBytes();
-        return length;
-    }
-
-    private Frame decode() {
-        if (headerCnt < HEADER_SIZE) {
-
-            int headerCount = read(header, headerCnt, HEADER_SIZE - headerCnt);
-
-            if (headerCount == 0) {
-                return null;
-            }
-
-            headerCnt += headerCount;
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBufFrame frame) throws Exception {
+        ByteBuf content = frame.content();
 
-            streamType = streamType(header[0]);
-
-            if (streamType.equals(StreamType.RAW)) {
-                return new Frame(streamType, Arrays.copyOf(header, headerCount));
-            }
-
-            if (headerCnt < HEADER_SIZE) {
-                return null;
-            }
+        if (!(resultCallback instanceof FrameSink)) {
+            resultCallback.onNext(new Frame(frame.getStreamType(), ByteBufUtil.getBytes(content)));
+            return;
         }
 
-        if (streamType.equals(StreamType.RAW)) {
-
-            if (payloadCnt == 0) {
-                payload = new byte[rawBuffer.readableBytes()];
-            }
+        FrameSink sink = (FrameSink) resultCallback;
 
-            int count = read(payload, payloadCnt, rawBuffer.readableBytes());
-
-            if (count == 0) {
-                return null;
-            }
-
-            payloadCnt = 0;
-
-            return new Frame(StreamType.RAW, payload);
+        if (content.hasArray()) {
+            sink.onFrame(frame.getStreamType(), content.array(), content.arrayOffset() + content.readerIndex(),
+                    content.readableBytes());
         } else {
+            int length = content.readableBytes();
 
-            int payloadSize = ((header[4] & 0xff) << 24) + ((header[5] & 0xff) << 16) + ((header[6] & 0xff) << 8)
-                    + (header[7] & 0xff);
-
-            if (payloadCnt == 0) {
-                payload = new byte[payloadSize];
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
             }
 
-            int count = read(payload, payloadCnt, payloadSize - payloadCnt);
-
-            if (count == 0) {
-                return null;
-            }
-
-            payloadCnt += count;
-
-            if (payloadCnt < payloadSize) {
-                return null;
-            }
-
-            headerCnt = 0;
-            payloadCnt = 0;
-
-            return new Frame(streamType, payload);
+            content.getBytes(content.readerIndex(), scratch, 0, length);
+            sink.onFrame(frame.getStreamType(), scratch, 0, length);
         }
     }
 
@@ -136,18 +61,4 @@ public class FramedResponseStreamHandler extends SimpleChannelInboundHandler<Byt
         resultCallback.onError(cause);
         ctx.close();
     }
-
-    private static StreamType streamType(byte streamType) {
-        switch (streamType) {
-            case 0:
-                return StreamType.STDIN;
-            case 1:
-                return StreamType.STDOUT;
-            case 2:
-                return StreamType.STDERR;
-            default:
-                return StreamType.RAW;
-        }
-    }
-
 }
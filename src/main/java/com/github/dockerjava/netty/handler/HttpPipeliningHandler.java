@@ -0,0 +1,204 @@
+package com.github.dockerjava.netty.handler;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpRequest;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.dockerjava.api.async.ResultCallback;
+
+/**
+ * Handler that allows to pipeline several HTTP requests on a single channel. Requests are written as soon as they are submitted
+ * while the responses are dispatched in FIFO order: the per-request handlers of an {@link Exchange} are added to the pipeline
+ * when it reaches the head of the queue and are removed again once its response is complete.
+ *
+ * Only idempotent requests that return a complete response (no streams) must be pipelined.
+ *
+ * @see https://tools.ietf.org/html/rfc7230#section-6.3.2
+ */
+public class HttpPipeliningHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * Notified on the event loop once all pipelined exchanges are done and the handler was removed from the pipeline, or when
+     * the channel was closed.
+     */
+    public interface DrainListener {
+        void drained(HttpPipeliningHandler handler);
+    }
+
+    private static final int DRAINED = -1;
+
+    private final Deque<Exchange> exchanges = new ArrayDeque<Exchange>();
+
+    private final AtomicInteger pendingRequests = new AtomicInteger(0);
+
+    private final int maxPipelineDepth;
+
+    private final DrainListener drainListener;
+
+    private volatile ChannelHandlerContext ctx;
+
+    public HttpPipeliningHandler(int maxPipelineDepth, DrainListener drainListener) {
+        this.maxPipelineDepth = maxPipelineDepth;
+        this.drainListener = drainListener;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Reserves a slot for a request that is going to be submitted via {@link #submit(Exchange)}.
+     *
+     * @return {@code false} if the pipeline is full or the handler already drained
+     */
+    public boolean tryReserve() {
+        while (true) {
+            int pending = pendingRequests.get();
+
+            if (pending == DRAINED || pending >= maxPipelineDepth) {
+                return false;
+            }
+
+            if (pendingRequests.compareAndSet(pending, pending + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public int getPendingRequests() {
+        return Math.max(pendingRequests.get(), 0);
+    }
+
+    public Exchange newExchange(HttpRequest request, ResultCallback<?> resultCallback) {
+        return new Exchange(request, resultCallback);
+    }
+
+    /**
+     * Submits an exchange for which a slot was reserved before via {@link #tryReserve()}.
+     */
+    public void submit(final Exchange exchange) {
+        ctx.executor().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (!ctx.channel().isActive()) {
+                    exchange.resultCallback.onError(new IOException("Connection closed before the request was sent"));
+                    return;
+                }
+
+                exchanges.add(exchange);
+
+                if (exchanges.size() == 1) {
+                    exchange.install();
+                }
+
+                ctx.channel().writeAndFlush(exchange.request);
+            }
+        });
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        Exchange exchange;
+
+        while ((exchange = exchanges.poll()) != null) {
+            exchange.uninstall();
+            exchange.resultCallback.onError(new IOException("Connection closed before the pipelined response was received"));
+        }
+
+        if (pendingRequests.getAndSet(DRAINED) != DRAINED) {
+            drainListener.drained(this);
+        }
+
+        super.channelInactive(ctx);
+    }
+
+    private void responseComplete(Exchange exchange, boolean keepAlive) {
+        exchanges.remove(exchange);
+        exchange.uninstall();
+
+        if (!keepAlive) {
+            // remaining exchanges are failed by channelInactive()
+            ctx.close();
+            return;
+        }
+
+        Exchange next = exchanges.peek();
+
+        if (next != null) {
+            next.install();
+        }
+
+        if (pendingRequests.decrementAndGet() == 0 && pendingRequests.compareAndSet(0, DRAINED)) {
+            ctx.pipeline().remove(this);
+            drainListener.drained(this);
+        }
+    }
+
+    /**
+     * A single request/response pair on a pipelined channel.
+     */
+    public final class Exchange implements HttpResponseCompleteListener {
+
+        private final HttpRequest request;
+
+        private final ResultCallback<?> resultCallback;
+
+        private final List<ChannelHandler> handlers = new ArrayList<ChannelHandler>();
+
+        private boolean installed = false;
+
+        private Exchange(HttpRequest request, ResultCallback<?> resultCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+        }
+
+        /**
+         * Adds handlers that process the response of this exchange. They are added to the pipeline once all responses of the
+         * previously submitted exchanges were received.
+         */
+        public Exchange addLast(ChannelHandler... channelHandlers) {
+            handlers.addAll(Arrays.asList(channelHandlers));
+            return this;
+        }
+
+        @Override
+        public void responseComplete(boolean keepAlive) {
+            HttpPipeliningHandler.this.responseComplete(this, keepAlive);
+        }
+
+        private void install() {
+            for (ChannelHandler handler : handlers) {
+                ctx.pipeline().addLast(handler);
+            }
+            installed = true;
+        }
+
+        private void uninstall() {
+            if (!installed) {
+                return;
+            }
+
+            ChannelPipeline pipeline = ctx.pipeline();
+
+            for (int i = handlers.size() - 1; i >= 0; i--) {
+                ChannelHandler handler = handlers.get(i);
+                if (pipeline.context(handler) != null) {
+                    pipeline.remove(handler);
+                }
+            }
+
+            installed = false;
+        }
+    }
+}
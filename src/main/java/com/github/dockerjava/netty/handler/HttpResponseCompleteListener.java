@@ -0,0 +1,15 @@
+package com.github.dockerjava.netty.handler;
+
+/**
+ * Listener that is notified by {@link HttpResponseHandler} once the last chunk of a response was passed down the pipeline.
+ *
+ * @see HttpResponseHandler
+ */
+public interface HttpResponseCompleteListener {
+
+    /**
+     * @param keepAlive
+     *            {@code true} if the connection may be used for further requests
+     */
+    void responseComplete(boolean keepAlive);
+}
@@ -0,0 +1,12 @@
+package com.github.dockerjava.netty.handler;
+
+/**
+ * User events fired by {@link HttpResponseHandler} to the handlers that process the content of a response.
+ */
+public enum HttpResponseEvent {
+
+    /**
+     * Fired after the content of the last chunk of a successful response was passed down the pipeline.
+     */
+    LAST_CONTENT
+}
@@ -2,16 +2,18 @@ package com.github.dockerjava.netty.handler;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpObject;
-import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
 
 import java.io.Closeable;
+import java.net.URI;
 import java.nio.charset.Charset;
 
 import com.github.dockerjava.api.async.ResultCallback;
@@ -28,10 +30,15 @@ import com.github.dockerjava.api.exception.UnauthorizedException;
  * Handler that is responsible to handle an incoming {@link HttpResponse}. It evaluates the status code and triggers the appropriate
  * lifecycle methods at the passed {@link ResultCallback}.
  *
+ * Redirects to a relative location are followed on the same connection, so the response of the redirected request is handled
+ * like the original one. Redirects that can't be followed that way fail with a {@link DockerException}.
+ *
  * @author Marcus Linke
  */
 public class HttpResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
 
+    private static final int MAX_REDIRECTS = 5;
+
     private HttpResponse response;
 
     private ByteBuf errorBody = Unpooled.buffer();
@@ -40,22 +47,47 @@ public class HttpResponseHandler extends SimpleChannelInboundHandler<HttpObject>
 
     private ResultCallback<?> resultCallback;
 
+    private HttpResponseCompleteListener completeListener;
+
+    private volatile boolean complete = false;
+
+    private int redirects = 0;
+
     public HttpResponseHandler(HttpRequestProvider requestProvider, ResultCallback<?> resultCallback) {
+        this(requestProvider, resultCallback, null);
+    }
+
+    /**
+     * @param completeListener
+     *            notified before {@link ResultCallback#onComplete()} is called, e.g. to hand a pooled channel back. Closing the
+     *            stream passed to {@link ResultCallback#onStart(Closeable)} won't close the channel afterwards.
+     */
+    public HttpResponseHandler(HttpRequestProvider requestProvider, ResultCallback<?> resultCallback,
+            HttpResponseCompleteListener completeListener) {
         super(false);
         this.requestProvider = requestProvider;
         this.resultCallback = resultCallback;
+        this.completeListener = completeListener;
     }
 
     @Override
     protected void channelRead0(final ChannelHandlerContext ctx, HttpObject msg) throws Exception {
         if (msg instanceof HttpResponse) {
 
+            boolean redirected = response != null;
+
             response = (HttpResponse) msg;
 
+            if (redirected) {
+                return;
+            }
+
             resultCallback.onStart(new Closeable() {
                 @Override
                 public void close() {
-                    ctx.channel().close();
+                    if (completeListener == null || !complete) {
+                        ctx.channel().close();
+                    }
                 }
             });
 
@@ -70,12 +102,24 @@ public class HttpResponseHandler extends SimpleChannelInboundHandler<HttpObject>
                 case 201:
                 case 204:
                     ctx.fireChannelRead(byteBuf);
+
+                    if (content instanceof LastHttpContent) {
+                        ctx.fireUserEventTriggered(HttpResponseEvent.LAST_CONTENT);
+                    }
                     break;
                 default:
                     errorBody.writeBytes(byteBuf);
             }
 
             if (content instanceof LastHttpContent) {
+                boolean keepAlive = HttpUtil.isKeepAlive(response);
+
+                if (isRedirect() && followRedirect(ctx, keepAlive)) {
+                    return;
+                }
+
+                complete = true;
+
                 try {
 
                     switch (response.status().code()) {
@@ -86,13 +130,9 @@ public class HttpResponseHandler extends SimpleChannelInboundHandler<HttpObject>
                             break;
                         case 301:
                         case 302:
-                            if (response.headers().contains(HttpHeaderNames.LOCATION)) {
-                                String location = response.headers().get(HttpHeaderNames.LOCATION);
-                                HttpRequest redirected = requestProvider.getHttpRequest(location);
-
-                                ctx.channel().writeAndFlush(redirected);
-                            }
-                            break;
+                            errorBody.release();
+                            throw new DockerException("Can't follow the redirect to "
+                                    + response.headers().get(HttpHeaderNames.LOCATION), response.status().code());
                         case 304:
                             throw new NotModifiedException(getBodyAsMessage(errorBody));
                         case 400:
@@ -113,12 +153,55 @@ public class HttpResponseHandler extends SimpleChannelInboundHandler<HttpObject>
                 } catch (Throwable e) {
                     resultCallback.onError(e);
                 } finally {
+                    if (completeListener != null) {
+                        completeListener.responseComplete(keepAlive);
+                    }
+
                     resultCallback.onComplete();
                 }
             }
         }
     }
 
+    private boolean isRedirect() {
+        int code = response.status().code();
+        return code == 301 || code == 302;
+    }
+
+    /**
+     * Sends the redirected request on the same channel, which is only possible if the connection is kept alive, the location
+     * refers to the same host and no other responses are pipelined behind this one.
+     *
+     * @return {@code false} if the redirect can't be followed
+     */
+    private boolean followRedirect(ChannelHandlerContext ctx, boolean keepAlive) {
+        String location = response.headers().get(HttpHeaderNames.LOCATION);
+
+        if (location == null || !keepAlive || redirects >= MAX_REDIRECTS
+                || completeListener instanceof HttpPipeliningHandler.Exchange) {
+            return false;
+        }
+
+        try {
+            URI uri = URI.create(location);
+
+            if (uri.isAbsolute() || uri.getRawAuthority() != null) {
+                return false;
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        redirects++;
+        errorBody.clear();
+
+        // a failed write closes the channel, which fails the pending request
+        ctx.channel().writeAndFlush(requestProvider.getHttpRequest(location)).addListener(
+                ChannelFutureListener.CLOSE_ON_FAILURE);
+
+        return true;
+    }
+
     private String getBodyAsMessage(ByteBuf body) {
         String result = body.readBytes(body.readableBytes()).toString(Charset.forName("UTF-8"));
         body.discardReadBytes();
@@ -1,100 +1,258 @@
 package com.github.dockerjava.netty.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.concurrent.LinkedTransferQueue;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import com.github.dockerjava.api.async.ResultCallback;
 
 /**
  * Handler that converts an incoming byte stream to an {@link InputStream}.
  *
+ * The received buffers are handed to the stream without copying them. Reading from the channel is suspended while more than
+ * {@link #HIGH_WATER_MARK} bytes are waiting to be consumed. The stream is passed to {@link ResultCallback#onNext(Object)} when
+ * the first content of a successful response arrives and ends with the {@link HttpResponseEvent#LAST_CONTENT} event.
+ *
  * @author marcus
  */
 public class HttpResponseStreamHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
-    private HttpResponseInputStream stream = new HttpResponseInputStream();
+    static final int HIGH_WATER_MARK = 4 * 1024 * 1024;
+
+    static final int LOW_WATER_MARK = 1024 * 1024;
+
+    private final ResultCallback<InputStream> resultCallback;
+
+    private HttpResponseInputStream stream;
 
     public HttpResponseStreamHandler(ResultCallback<InputStream> resultCallback) {
-        resultCallback.onNext(stream);
+        super(false);
+        this.resultCallback = resultCallback;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        stream = new HttpResponseInputStream(ctx.channel());
     }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
-        stream.write(msg.copy());
+        boolean first = !stream.isStarted();
+
+        stream.write(msg);
+
+        if (first) {
+            resultCallback.onNext(stream);
+        }
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt == HttpResponseEvent.LAST_CONTENT) {
+            stream.complete();
+        }
+        super.userEventTriggered(ctx, evt);
     }
 
     @Override
-    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
-        stream.close();
-        super.channelReadComplete(ctx);
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        stream.abort();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        // removed when a pooled channel is released, so reading must go on for the next response
+        stream.abort();
+        ctx.channel().config().setAutoRead(true);
     }
 
     public static class HttpResponseInputStream extends InputStream {
 
-        private AtomicBoolean closed = new AtomicBoolean(false);
+        private final Channel channel;
+
+        private final Deque<ByteBuf> buffers = new ArrayDeque<ByteBuf>();
 
-        private LinkedTransferQueue<ByteBuf> queue = new LinkedTransferQueue<ByteBuf>();
+        private long bufferedBytes = 0;
 
-        private ByteBuf current = null;
+        private boolean started = false;
 
-        public void write(ByteBuf byteBuf) {
-            queue.put(byteBuf);
+        private boolean completed = false;
+
+        private boolean aborted = false;
+
+        private boolean closed = false;
+
+        private boolean suspended = false;
+
+        public HttpResponseInputStream(Channel channel) {
+            this.channel = channel;
+        }
+
+        synchronized boolean isStarted() {
+            return started;
+        }
+
+        synchronized void write(ByteBuf byteBuf) {
+            started = true;
+
+            if (closed || completed || aborted) {
+                byteBuf.release();
+                return;
+            }
+
+            buffers.add(byteBuf);
+            bufferedBytes += byteBuf.readableBytes();
+
+            if (!suspended && bufferedBytes > HIGH_WATER_MARK) {
+                suspended = true;
+                channel.config().setAutoRead(false);
+            }
+
+            notifyAll();
+        }
+
+        synchronized void complete() {
+            completed = true;
+            notifyAll();
+        }
+
+        /**
+         * Ends the stream with an error if it was not completed before.
+         */
+        synchronized void abort() {
+            if (!completed) {
+                aborted = true;
+                notifyAll();
+            }
         }
 
         @Override
-        public void close() throws IOException {
-            closed.set(true);
-            super.close();
+        public synchronized int available() throws IOException {
+            return (int) Math.min(bufferedBytes, Integer.MAX_VALUE);
         }
 
         @Override
-        public int available() throws IOException {
-            poll();
-            return readableBytes();
+        public synchronized int read() throws IOException {
+            ByteBuf current = awaitReadable();
+
+            if (current == null) {
+                return -1;
+            }
+
+            int b = current.readByte() & 0xff;
+            consumed(current, 1);
+            return b;
         }
 
-        private int readableBytes() {
-            if (current != null) {
-                return current.readableBytes();
-            } else {
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            if (len == 0) {
                 return 0;
             }
 
+            ByteBuf current = awaitReadable();
+
+            if (current == null) {
+                return -1;
+            }
+
+            int read = 0;
+
+            // drain as many buffers as possible without blocking again
+            while (current != null && read < len) {
+                int count = Math.min(len - read, current.readableBytes());
+                current.readBytes(b, off + read, count);
+                read += count;
+                consumed(current, count);
+                current = buffers.peek();
+            }
+
+            return read;
         }
 
         @Override
-        public int read() throws IOException {
+        public synchronized void close() throws IOException {
+            if (closed) {
+                return;
+            }
 
-            poll();
+            closed = true;
 
-            if (readableBytes() == 0) {
-                if (closed.get()) {
-                    return -1;
-                }
+            ByteBuf byteBuf;
+            while ((byteBuf = buffers.poll()) != null) {
+                byteBuf.release();
             }
+            bufferedBytes = 0;
 
-            if (current != null && current.readableBytes() > 0) {
-                return current.readByte() & 0xff;
-            } else {
-                return read();
+            if (!completed && !aborted) {
+                // nobody is interested in the rest of the response, so don't transfer it
+                channel.close();
             }
+
+            notifyAll();
         }
 
-        private void poll() {
-            if (readableBytes() == 0) {
+        /**
+         * @return the first buffer with readable bytes or {@code null} at the end of the stream
+         */
+        private ByteBuf awaitReadable() throws IOException {
+            while (true) {
+                if (closed) {
+                    throw new IOException("Stream closed");
+                }
+
+                ByteBuf current = buffers.peek();
+
+                while (current != null && !current.isReadable()) {
+                    buffers.poll().release();
+                    current = buffers.peek();
+                }
+
+                if (current != null) {
+                    return current;
+                }
+
+                if (completed) {
+                    return null;
+                }
+
+                if (aborted) {
+                    throw new IOException("Connection closed before the response was complete");
+                }
+
                 try {
-                    current = queue.poll(50, TimeUnit.MILLISECONDS);
+                    wait();
                 } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
                 }
             }
         }
+
+        private void consumed(ByteBuf current, int count) {
+            bufferedBytes -= count;
+
+            if (!current.isReadable()) {
+                buffers.poll().release();
+            }
+
+            // once completed the channel may already serve another request and autoRead was reset by handlerRemoved()
+            if (suspended && !completed && bufferedBytes < LOW_WATER_MARK) {
+                suspended = false;
+                channel.config().setAutoRead(true);
+            }
+        }
     }
 }
@@ -1,10 +1,11 @@
 package com.github.dockerjava.netty.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dockerjava.core.util.JsonCodec;
 
 /**
  * Handler that encodes an outgoing object to JSON.
@@ -13,11 +14,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public class JsonRequestHandler extends MessageToByteEncoder<Object> {
 
-    private ObjectMapper mapper = new ObjectMapper();
-
     @Override
     protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
-        byte[] serialized = mapper.writeValueAsBytes(msg);
-        out.writeBytes(serialized);
+        JsonCodec.writer(msg.getClass()).writeValue(new ByteBufOutputStream(out), msg);
     }
 }
@@ -1,12 +1,14 @@
 package com.github.dockerjava.netty.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.core.util.JsonCodec;
 
 /**
  * Handler that decodes an incoming byte stream into objects of T and calls {@link ResultCallback#onNext(Object)}
@@ -15,27 +17,21 @@ import com.github.dockerjava.api.async.ResultCallback;
  */
 public class JsonResponseCallbackHandler<T> extends SimpleChannelInboundHandler<ByteBuf> {
 
-    private static ObjectMapper objectMapper = new ObjectMapper();
-
-    private TypeReference<T> typeReference;
+    private final ObjectReader objectReader;
 
     private ResultCallback<T> callback;
 
     public JsonResponseCallbackHandler(TypeReference<T> typeReference, ResultCallback<T> callback) {
-        this.typeReference = typeReference;
+        this.objectReader = JsonCodec.reader(typeReference);
         this.callback = callback;
     }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
-        byte[] buffer = new byte[msg.readableBytes()];
-        msg.readBytes(buffer);
-        msg.discardReadBytes();
-
         T object = null;
 
         try {
-            object = objectMapper.readValue(buffer, typeReference);
+            object = objectReader.readValue(new ByteBufInputStream(msg));
         } catch (Exception e) {
             callback.onError(e);
             throw new RuntimeException(e);
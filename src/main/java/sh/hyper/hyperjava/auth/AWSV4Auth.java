@@ -5,18 +5,21 @@
  */
 package sh.hyper.hyperjava.auth;
 
-import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.TreeMap;
@@ -35,6 +38,8 @@ import java.util.TreeMap;
  */
 public class AWSV4Auth {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AWSV4Auth.class);
+
     private static final String HMAC_ALGORITHM = "HYPER-HMAC-SHA256";
     private static final String AWS4_REQUEST = "hyper_request";
     private static final String KEYPARTS_PREFIX = "HYPER";
@@ -46,6 +51,58 @@ public class AWSV4Auth {
     private static final String HEAD_X_HYPER_CONTENT_SHA256 = "X-Hyper-Content-Sha256";
     private static final String HEAD_X_HYPER_DATE = "X-Hyper-Date";
 
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /*
+     * derived signing keys only change per (date, region, service, secret). They are keyed by a digest of the secret, so no secret
+     * is kept here. The least recently used keys are dropped beyond the limit, keys of past days once a new day started.
+     */
+    private static final int MAX_CACHED_SIGNING_KEYS = 64;
+
+    private static final Map<String, byte[]> SIGNING_KEYS = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > MAX_CACHED_SIGNING_KEYS;
+        }
+    };
+
+    // guarded by SIGNING_KEYS
+    private static String signingKeysDate = null;
+
+    /* Mac, MessageDigest and SimpleDateFormat are not thread-safe but expensive to look up, so keep one per thread */
+    private static final ThreadLocal<Mac> MAC = new ThreadLocal<Mac>() {
+        @Override
+        protected Mac initialValue() {
+            try {
+                return Mac.getInstance(HMAC_SHA256);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    private static final ThreadLocal<MessageDigest> SHA256 = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    private static final ThreadLocal<DateFormat> TIMESTAMP_FORMAT = new ThreadLocal<DateFormat>() {
+        @Override
+        protected DateFormat initialValue() {
+            DateFormat dateFormat = new SimpleDateFormat("yyyyMMdd'T'HHmmss'Z'");
+            dateFormat.setTimeZone(TimeZone.getTimeZone("UTC")); //server timezone
+            return dateFormat;
+        }
+    };
+
     private AWSV4Auth() {
     }
 
@@ -65,7 +122,10 @@ public class AWSV4Auth {
 
         private TreeMap<String, String> queryParametes;
         private TreeMap<String, String> awsHeaders;
-        private String payload;
+        private byte[] payload;
+        private String payloadHash;
+        private Date requestDate;
+        private HyperCredentials credentials;
         private boolean debug = false;
 
         public Builder(String accessKeyID, String secretAccessKey) {
@@ -75,6 +135,16 @@ public class AWSV4Auth {
             this.serviceName = this.DEFAULT_SERVICE;
         }
 
+        /**
+         * Signs with the given credentials and caches the derived signing key with them.
+         */
+        public Builder credentials(HyperCredentials credentials) {
+            this.credentials = credentials;
+            this.accessKeyID = credentials.getAccessKey();
+            this.secretAccessKey = credentials.getSecretKey();
+            return this;
+        }
+
         public Builder regionName(String regionName) {
             this.regionName = regionName;
             return this;
@@ -111,10 +181,37 @@ public class AWSV4Auth {
         }
 
         public Builder payload(String payload) {
-            this.payload = payload == null ? "" : payload;
+            this.payload = payload == null ? null : payload.getBytes(UTF_8);
+            return this;
+        }
+
+        /**
+         * The payload exactly as it is sent in the body of the request.
+         */
+        public Builder payloadBytes(byte[] payload) {
+            this.payload = payload;
             return this;
         }
 
+        /**
+         * The hex encoded SHA-256 hash of a payload that is streamed instead of being held in memory, see {@link SpooledPayload}.
+         */
+        public Builder payloadHash(String payloadHash) {
+            this.payloadHash = payloadHash;
+            return this;
+        }
+
+        /**
+         * The time the request is signed for, defaults to now.
+         */
+        public Builder requestDate(Date requestDate) {
+            this.requestDate = requestDate;
+            return this;
+        }
+
+        /**
+         * Logs the canonical request and the string to sign at debug level. Keys and signatures are never logged.
+         */
         public Builder debug() {
             this.debug = true;
             return this;
@@ -134,7 +231,9 @@ public class AWSV4Auth {
     private String host;
     private TreeMap<String, String> queryParametes;
     private TreeMap<String, String> awsHeaders;
-    private String payload;
+    private byte[] payload;
+    private String payloadHash;
+    private HyperCredentials credentials;
     private boolean debug = false;
 
     private String strSignedHeader;
@@ -152,11 +251,13 @@ public class AWSV4Auth {
         queryParametes = builder.queryParametes;
         awsHeaders = builder.awsHeaders;
         payload = builder.payload;
+        payloadHash = builder.payloadHash;
+        credentials = builder.credentials;
         debug = builder.debug;
 
         /* Get current timestamp value.(UTC) */
-        xAmzDate = getTimeStamp();
-        currentDate = getDate();
+        xAmzDate = getTimeStamp(builder.requestDate == null ? new Date() : builder.requestDate);
+        currentDate = xAmzDate.substring(0, 8);
 
         //for debug
         /*
@@ -189,11 +290,10 @@ public class AWSV4Auth {
             for (Map.Entry<String, String> entrySet : queryParametes.entrySet()) {
                 String key = entrySet.getKey();
                 String value = entrySet.getValue();
-                if (isFirst){
+                if (isFirst) {
                     queryString.append(key).append("=").append(URLEncoder.encode(value));
                     isFirst = false;
-                }
-                else{
+                } else {
                     queryString.append("&").append(key).append("=").append(URLEncoder.encode(value));
                 }
             }
@@ -203,9 +303,6 @@ public class AWSV4Auth {
         }
 
         canonicalURL.append(queryString);
-        if (debug) {
-            System.out.printf("##canonicalURL:%s\nqueryString:%s \n", canonicalURL, queryString);
-        }
 
         /* Step 1.4 Add the canonical headers, followed by a newline character. */
         StringBuilder signedHeaders = new StringBuilder("");
@@ -228,11 +325,10 @@ public class AWSV4Auth {
         canonicalURL.append(strSignedHeader).append("\n");
 
         /* Step 1.6 Use a hash (digest) function like SHA256 to create a hashed value from the payload in the body of the HTTP or HTTPS. */
-        payload = payload == null ? "" : payload;
-        canonicalURL.append(generateHex(payload));
+        canonicalURL.append(payloadHash);
 
         if (debug) {
-            System.out.println("##Canonical Request:\n" + canonicalURL.toString());
+            LOGGER.debug("Canonical request:\n{}", canonicalURL);
         }
 
         return canonicalURL.toString();
@@ -245,24 +341,26 @@ public class AWSV4Auth {
      * @return
      */
     private String prepareStringToSign(String canonicalURL) {
-        String stringToSign = "";
+        StringBuilder sb = new StringBuilder(256);
 
         /* Step 2.1 Start with the algorithm designation, followed by a newline character. */
-        stringToSign = HMAC_ALGORITHM + "\n";
+        sb.append(HMAC_ALGORITHM).append("\n");
 
         /* Step 2.2 Append the request date value, followed by a newline character. */
-        stringToSign += xAmzDate + "\n";
+        sb.append(xAmzDate).append("\n");
 
         /* Step 2.3 Append the credential scope value, followed by a newline character. */
-        stringToSign += currentDate + "/" + regionName + "/" + serviceName + "/" + AWS4_REQUEST + "\n";
+        sb.append(currentDate).append("/").append(regionName).append("/").append(serviceName).append("/").append(AWS4_REQUEST)
+                .append("\n");
 
         /* Step 2.4 Append the hash of the canonical request that you created in Task 1:
         Create a Canonical Request for Signature Version 4. */
-        stringToSign += generateHex(canonicalURL);
+        sb.append(generateHex(canonicalURL));
+
+        String stringToSign = sb.toString();
 
         if (debug) {
-            System.out.printf("##canonicalURL:[%s]\n", canonicalURL);
-            System.out.println("##String to sign:\n" + stringToSign);
+            LOGGER.debug("String to sign:\n{}", stringToSign);
         }
 
         return stringToSign;
@@ -279,12 +377,6 @@ public class AWSV4Auth {
             /* Step 3.1 Derive your signing key */
             byte[] signatureKey = getSignatureKey(secretAccessKey, currentDate, regionName, serviceName);
 
-            if (debug) {
-                System.out.println("##calculateSignature:");
-                System.out.printf("signatureKey:%s\n", Hex.encodeHexString(signatureKey));
-                System.out.printf("stringToSign:%s\n\n", stringToSign);
-            }
-
             /* Step 3.2 Calculate the signature. */
             byte[] signature = hmacSHA256(signatureKey, stringToSign);
 
@@ -292,7 +384,7 @@ public class AWSV4Auth {
             String strHexSignature = bytesToHex(signature);
             return strHexSignature;
         } catch (Exception ex) {
-            ex.printStackTrace();
+            LOGGER.error("Failed to calculate the signature", ex);
         }
         return null;
     }
@@ -304,10 +396,14 @@ public class AWSV4Auth {
      * @return
      */
     public Map<String, String> getHeaders() {
+        if (payloadHash == null) {
+            payloadHash = generateHex(payload == null ? new byte[0] : payload);
+        }
+
         //SignedHeaders: content-type,host,x-hyper-content-sha256,x-hyper-date
         awsHeaders.put(HEAD_CONTENTTYPE.toLowerCase(), "application/json");
         awsHeaders.put(HEAD_HOST.toLowerCase(), host);
-        awsHeaders.put(HEAD_X_HYPER_CONTENT_SHA256.toLowerCase(), generateHex(payload));
+        awsHeaders.put(HEAD_X_HYPER_CONTENT_SHA256.toLowerCase(), payloadHash);
         awsHeaders.put(HEAD_X_HYPER_DATE.toLowerCase(), xAmzDate);
 
         /* Execute Task 1: Create a Canonical Request for Signature Version 4. */
@@ -323,27 +419,31 @@ public class AWSV4Auth {
             Map<String, String> header = new HashMap<String, String>(0);
             header.put(HEAD_CONTENTTYPE, "application/json");
             header.put(HEAD_X_HYPER_DATE, xAmzDate);
-            header.put(HEAD_X_HYPER_CONTENT_SHA256, generateHex(payload));
+            header.put(HEAD_X_HYPER_CONTENT_SHA256, payloadHash);
             header.put(HEAD_HOST, host);
             header.put(HEAD_AUTHORIZATION, buildAuthorizationString(signature));
-
-            if (debug) {
-                System.out.println("##Signature:\n" + signature);
-                System.out.println("##Header:");
-                for (Map.Entry<String, String> entrySet : header.entrySet()) {
-                    System.out.println(entrySet.getKey() + " = " + entrySet.getValue());
-                }
-                System.out.println("================================");
-            }
             return header;
         } else {
-            if (debug) {
-                System.out.println("##Signature:\n" + signature);
-            }
             return null;
         }
     }
 
+    /**
+     * Copy of the headers returned by {@link #getHeaders()} that keeps the credential scope but hides the signature, for debug
+     * output.
+     */
+    public static Map<String, String> redact(Map<String, String> headers) {
+        Map<String, String> redacted = new TreeMap<String, String>(headers);
+        String authorization = redacted.get(HEAD_AUTHORIZATION);
+        if (authorization != null) {
+            int signature = authorization.indexOf("Signature=");
+            if (signature >= 0) {
+                redacted.put(HEAD_AUTHORIZATION, authorization.substring(0, signature) + "Signature=<redacted>");
+            }
+        }
+        return redacted;
+    }
+
     /**
      * Build string for Authorization header.
      *
@@ -353,7 +453,7 @@ public class AWSV4Auth {
     private String buildAuthorizationString(String strSignature) {
         //should has space after comma(for Hyper_)
         return HMAC_ALGORITHM + " "
-                + "Credential=" + accessKeyID + "/" + getDate() + "/" + regionName + "/" + serviceName + "/" + AWS4_REQUEST + ", "
+                + "Credential=" + accessKeyID + "/" + currentDate + "/" + regionName + "/" + serviceName + "/" + AWS4_REQUEST + ", "
                 + "SignedHeaders=" + strSignedHeader + ", "
                 + "Signature=" + strSignature;
     }
@@ -365,16 +465,12 @@ public class AWSV4Auth {
      * @return
      */
     private String generateHex(String data) {
-        MessageDigest messageDigest;
-        try {
-            messageDigest = MessageDigest.getInstance("SHA-256");
-            messageDigest.update(data.getBytes("UTF-8"));
-            byte[] digest = messageDigest.digest();
-            return String.format("%064x", new java.math.BigInteger(1, digest));
-        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return generateHex(data.getBytes(UTF_8));
+    }
+
+    private String generateHex(byte[] data) {
+        MessageDigest messageDigest = SHA256.get();
+        return bytesToHex(messageDigest.digest(data));
     }
 
     /**
@@ -387,10 +483,9 @@ public class AWSV4Auth {
      * @reference: http://docs.aws.amazon.com/general/latest/gr/signature-v4-examples.html#signature-v4-examples-java
      */
     private byte[] hmacSHA256(byte[] key, String data) throws Exception {
-        String algorithm = "HmacSHA256";
-        Mac mac = Mac.getInstance(algorithm);
-        mac.init(new SecretKeySpec(key, algorithm));
-        return mac.doFinal(data.getBytes("UTF8"));
+        Mac mac = MAC.get();
+        mac.init(new SecretKeySpec(key, HMAC_SHA256));
+        return mac.doFinal(data.getBytes(UTF_8));
     }
 
     /**
@@ -405,23 +500,55 @@ public class AWSV4Auth {
      * @reference http://docs.aws.amazon.com/general/latest/gr/signature-v4-examples.html#signature-v4-examples-java
      */
     private byte[] getSignatureKey(String key, String date, String regionName, String serviceName) throws Exception {
-        byte[] kSecret = (KEYPARTS_PREFIX + key).getBytes("UTF8");
+        String scope = date + "/" + regionName + "/" + serviceName;
+        byte[] kSecret = (KEYPARTS_PREFIX + key).getBytes(UTF_8);
+        String cacheKey = credentials != null ? null : scope + "/" + generateHex(kSecret);
+
+        byte[] kSigning = credentials != null ? credentials.getSigningKey(scope) : cachedSigningKey(cacheKey);
+
+        if (kSigning != null) {
+            return kSigning;
+        }
+
         byte[] kDate = hmacSHA256(kSecret, date);
         byte[] kRegion = hmacSHA256(kDate, regionName);
         byte[] kService = hmacSHA256(kRegion, serviceName);
-        byte[] kSigning = hmacSHA256(kService, AWS4_REQUEST);
-        if (debug) {
-            System.out.println("##getSingatureKey:");
-            System.out.printf(String.format(" [ key:%s ] - kSecret:%s\n", key, Hex.encodeHexString(kSecret)));
-            System.out.printf(String.format(" [ date:%s ] - kDate:%s\n", date, Hex.encodeHexString(kDate)));
-            System.out.printf(String.format(" [ regionName:%s ] - kRegion:%s\n", regionName, Hex.encodeHexString(kRegion)));
-            System.out.printf(String.format(" [ serviceName:%s ] - kService:%s\n", serviceName, Hex.encodeHexString(kService)));
-            System.out.printf(String.format(" [ AWS4_REQUEST:%s ] - kSigning:%s\n\n", AWS4_REQUEST, Hex.encodeHexString(kSigning)));
+        kSigning = hmacSHA256(kService, AWS4_REQUEST);
+
+        if (credentials != null) {
+            credentials.setSigningKey(scope, kSigning);
+            return kSigning;
         }
+
+        cacheSigningKey(date, cacheKey, kSigning);
+
         return kSigning;
     }
 
-    protected static final char[] HEX_ARRAY = "0123456789ABCDEF".toCharArray();
+    private static byte[] cachedSigningKey(String cacheKey) {
+        synchronized (SIGNING_KEYS) {
+            return SIGNING_KEYS.get(cacheKey);
+        }
+    }
+
+    private static void cacheSigningKey(String date, String cacheKey, byte[] signingKey) {
+        synchronized (SIGNING_KEYS) {
+            // dates are yyyyMMdd, keys of an older date may still be added around midnight but don't evict the newer ones
+            if (signingKeysDate == null || date.compareTo(signingKeysDate) > 0) {
+                Iterator<String> cached = SIGNING_KEYS.keySet().iterator();
+                while (cached.hasNext()) {
+                    if (!cached.next().startsWith(date)) {
+                        cached.remove();
+                    }
+                }
+                signingKeysDate = date;
+            }
+
+            SIGNING_KEYS.put(cacheKey, signingKey);
+        }
+    }
+
+    protected static final char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
 
     /**
      * Convert byte array to Hex
@@ -436,7 +563,7 @@ public class AWSV4Auth {
             hexChars[j * 2] = HEX_ARRAY[v >>> 4];
             hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
         }
-        return new String(hexChars).toLowerCase();
+        return new String(hexChars);
     }
 
     /**
@@ -444,20 +571,7 @@ public class AWSV4Auth {
      *
      * @return
      */
-    private String getTimeStamp() {
-        DateFormat dateFormat = new SimpleDateFormat("yyyyMMdd'T'HHmmss'Z'");
-        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC")); //server timezone
-        return dateFormat.format(new Date());
-    }
-
-    /**
-     * Get date. yyyyMMdd
-     *
-     * @return
-     */
-    private String getDate() {
-        DateFormat dateFormat = new SimpleDateFormat("yyyyMMdd");
-        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC")); //server timezone
-        return dateFormat.format(new Date());
+    private String getTimeStamp(Date date) {
+        return TIMESTAMP_FORMAT.get().format(date);
     }
 }
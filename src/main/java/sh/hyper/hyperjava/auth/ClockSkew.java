@@ -0,0 +1,52 @@
+package sh.hyper.hyperjava.auth;
+
+import java.util.Date;
+
+/**
+ * Offset between the local clock and the clock of the Hyper_ server, learned from the {@code Date} header of responses, so that
+ * requests of a node with a drifting clock are not rejected because of an expired signature.
+ *
+ * Signers read the offset once per request with {@link #getOffsetMillis()}, sign with {@link #now(long)} and keep the offset,
+ * so that a rejected request can be checked with {@link #isCorrectedSince(long)}.
+ */
+public class ClockSkew {
+
+    /**
+     * Offsets up to the precision of the {@code Date} header (seconds) plus some latency are ignored.
+     */
+    static final long TOLERANCE_MILLIS = 5000;
+
+    private volatile long offsetMillis = 0;
+
+    /**
+     * @return the current time of the server according to the given offset
+     */
+    public static Date now(long offsetMillis) {
+        return new Date(System.currentTimeMillis() + offsetMillis);
+    }
+
+    public long getOffsetMillis() {
+        return offsetMillis;
+    }
+
+    /**
+     * @param signingOffsetMillis
+     *            the offset a request was signed with
+     * @return {@code true} if the offset was corrected since, i.e. the request was signed with a time known to be wrong
+     */
+    public boolean isCorrectedSince(long signingOffsetMillis) {
+        return offsetMillis != signingOffsetMillis;
+    }
+
+    /**
+     * @param serverDate
+     *            the {@code Date} header of a response that was just received
+     */
+    public void update(Date serverDate) {
+        long observed = serverDate.getTime() - System.currentTimeMillis();
+
+        if (Math.abs(observed - offsetMillis) > TOLERANCE_MILLIS) {
+            offsetMillis = Math.abs(observed) <= TOLERANCE_MILLIS ? 0 : observed;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package sh.hyper.hyperjava.auth;
+
+/**
+ * Reads the credentials from the {@code HYPER_ACCESS_KEY} and {@code HYPER_SECRET_KEY} environment variables.
+ */
+public class EnvironmentCredentialsProvider implements HyperCredentialsProvider {
+
+    private final HyperCredentials credentials;
+
+    public EnvironmentCredentialsProvider() {
+        String accessKey = System.getenv("HYPER_ACCESS_KEY");
+        String secretKey = System.getenv("HYPER_SECRET_KEY");
+
+        // keep signing (and failing on the server) without credentials like before
+        this.credentials = new HyperCredentials(accessKey == null ? "" : accessKey, secretKey == null ? "" : secretKey);
+    }
+
+    @Override
+    public HyperCredentials getCredentials() {
+        return credentials;
+    }
+}
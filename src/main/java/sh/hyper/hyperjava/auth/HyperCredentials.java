@@ -0,0 +1,58 @@
+package sh.hyper.hyperjava.auth;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Access and secret key of a Hyper_ account. The signing key derived from the secret key is cached with the credentials, so
+ * many accounts can share one client without competing for a global cache.
+ */
+public final class HyperCredentials {
+
+    private final String accessKey;
+
+    private final String secretKey;
+
+    private volatile SigningKey signingKey;
+
+    public HyperCredentials(String accessKey, String secretKey) {
+        this.accessKey = checkNotNull(accessKey, "accessKey was not specified");
+        this.secretKey = checkNotNull(secretKey, "secretKey was not specified");
+    }
+
+    public String getAccessKey() {
+        return accessKey;
+    }
+
+    public String getSecretKey() {
+        return secretKey;
+    }
+
+    /**
+     * @return the signing key derived for the given date/region/service scope or {@code null}
+     */
+    byte[] getSigningKey(String scope) {
+        SigningKey cached = signingKey;
+        return cached != null && cached.scope.equals(scope) ? cached.key : null;
+    }
+
+    void setSigningKey(String scope, byte[] key) {
+        signingKey = new SigningKey(scope, key);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperCredentials{accessKey=" + accessKey + "}";
+    }
+
+    private static final class SigningKey {
+
+        private final String scope;
+
+        private final byte[] key;
+
+        private SigningKey(String scope, byte[] key) {
+            this.scope = scope;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package sh.hyper.hyperjava.auth;
+
+/**
+ * Supplies the credentials that requests are signed with unless a {@link HyperCredentialsScope} is open, see
+ * {@link EnvironmentCredentialsProvider} for the default.
+ */
+public interface HyperCredentialsProvider {
+
+    HyperCredentials getCredentials();
+}
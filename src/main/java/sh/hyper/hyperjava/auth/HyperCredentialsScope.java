@@ -0,0 +1,60 @@
+package sh.hyper.hyperjava.auth;
+
+import java.io.Closeable;
+
+/**
+ * Signs the commands that are executed by the current thread until the scope is closed with other credentials than those of
+ * the client's {@link HyperCredentialsProvider}. Scopes may be nested.
+ *
+ * <pre>
+ * try (HyperCredentialsScope scope = HyperCredentialsScope.open(tenantCredentials)) {
+ *     dockerClient.listContainersCmd().exec();
+ * }
+ * </pre>
+ *
+ * The credentials are captured when a request is prepared, so async commands and their callbacks keep them.
+ */
+public final class HyperCredentialsScope implements Closeable {
+
+    private static final ThreadLocal<HyperCredentials> CURRENT = new ThreadLocal<HyperCredentials>();
+
+    private final HyperCredentials previous;
+
+    private boolean closed = false;
+
+    private HyperCredentialsScope(HyperCredentials previous) {
+        this.previous = previous;
+    }
+
+    public static HyperCredentialsScope open(HyperCredentials credentials) {
+        if (credentials == null) {
+            throw new IllegalArgumentException("credentials was not specified");
+        }
+
+        HyperCredentialsScope scope = new HyperCredentialsScope(CURRENT.get());
+        CURRENT.set(credentials);
+        return scope;
+    }
+
+    /**
+     * @return the credentials of the innermost open scope of the current thread or {@code null}
+     */
+    public static HyperCredentials current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package sh.hyper.hyperjava.auth;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Opt-in hook that is notified about each signed Hyper_ request, e.g. {@link SigningDebugLog}. Nothing is formatted for
+ * debugging when no listener is registered.
+ */
+public interface SigningDebugListener {
+
+    /**
+     * @param headers
+     *            the signing headers with the signature redacted
+     * @param payloadLength
+     *            the number of signed body bytes or {@code -1} if the body was streamed
+     */
+    void requestSigned(String method, URI uri, Map<String, String> headers, long payloadLength);
+}
@@ -0,0 +1,54 @@
+package sh.hyper.hyperjava.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link SigningDebugListener} that logs signed requests at debug level, at most {@code maxPerSecond} times per second. Requests
+ * that exceed the rate are only counted and reported with the next logged one.
+ */
+public class SigningDebugLog implements SigningDebugListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SigningDebugLog.class);
+
+    private final long intervalNanos;
+
+    private final AtomicLong nextLogTime = new AtomicLong(System.nanoTime());
+
+    private final AtomicInteger suppressed = new AtomicInteger();
+
+    public SigningDebugLog(int maxPerSecond) {
+        if (maxPerSecond <= 0) {
+            throw new IllegalArgumentException("maxPerSecond must be positive");
+        }
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+    }
+
+    @Override
+    public void requestSigned(String method, URI uri, Map<String, String> headers, long payloadLength) {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+
+        if (!tryAcquire()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        LOGGER.debug("Signed {} {} payload={} headers={} suppressed={}", method, uri, payloadLength, headers,
+                suppressed.getAndSet(0));
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextLogTime.get();
+
+        return now - next >= 0 && nextLogTime.compareAndSet(next, now + intervalNanos);
+    }
+}
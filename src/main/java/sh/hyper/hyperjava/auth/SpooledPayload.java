@@ -0,0 +1,110 @@
+package sh.hyper.hyperjava.auth;
+
+import org.apache.commons.codec.binary.Hex;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A streamed request body that was copied to a temporary file while its SHA-256 hash was computed, so that it can be signed
+ * before it is sent without holding it in memory or reading the source twice.
+ *
+ * The temporary file is deleted when the stream returned by {@link #openStream()} is closed or by {@link #delete()} if the request
+ * failed before its body was sent, at the latest when the JVM exits.
+ */
+public class SpooledPayload {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+
+    private final long length;
+
+    private final String sha256Hex;
+
+    private SpooledPayload(File file, long length, String sha256Hex) {
+        this.file = file;
+        this.length = length;
+        this.sha256Hex = sha256Hex;
+    }
+
+    /**
+     * Reads the given stream to its end and closes it.
+     */
+    public static SpooledPayload spool(InputStream source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        File file = File.createTempFile("hyper-payload", ".tmp");
+        file.deleteOnExit();
+        long length = 0;
+        boolean spooled = false;
+
+        try {
+            OutputStream out = new FileOutputStream(file);
+            try {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                    length += read;
+                }
+            } finally {
+                out.close();
+            }
+            spooled = true;
+        } finally {
+            source.close();
+            if (!spooled) {
+                file.delete();
+            }
+        }
+
+        return new SpooledPayload(file, length, Hex.encodeHexString(digest.digest()));
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * The lower case hex encoded SHA-256 hash as expected by {@link AWSV4Auth.Builder#payloadHash(String)}.
+     */
+    public String getSha256Hex() {
+        return sha256Hex;
+    }
+
+    /**
+     * Deletes the temporary file, e.g. if the request failed before the stream was opened or sent.
+     */
+    public void delete() {
+        file.delete();
+    }
+
+    /**
+     * Opens the spooled content. Must be called once, closing the stream deletes the temporary file.
+     */
+    public InputStream openStream() throws IOException {
+        return new FileInputStream(file) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    file.delete();
+                }
+            }
+        };
+    }
+}
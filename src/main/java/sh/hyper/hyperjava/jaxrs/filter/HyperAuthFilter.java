@@ -1,99 +1,178 @@
 package sh.hyper.hyperjava.jaxrs.filter;
 
-import com.fasterxml.jackson.core.JsonFactory;
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dockerjava.core.util.JsonCodec;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.utils.URLEncodedUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import sh.hyper.hyperjava.auth.AWSV4Auth;
-
+import sh.hyper.hyperjava.auth.ClockSkew;
+import sh.hyper.hyperjava.auth.EnvironmentCredentialsProvider;
+import sh.hyper.hyperjava.auth.HyperCredentials;
+import sh.hyper.hyperjava.auth.HyperCredentialsProvider;
+import sh.hyper.hyperjava.auth.SigningDebugListener;
+import sh.hyper.hyperjava.auth.SpooledPayload;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
 import javax.ws.rs.client.ClientRequestContext;
 import javax.ws.rs.client.ClientRequestFilter;
-import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
 
 /**
+ * Signs requests for Hyper_. The response filter learns the clock offset of the server and sends a request that was rejected
+ * because of it once more with a corrected signature, so it has to run before {@link
+ * com.github.dockerjava.jaxrs.filter.ResponseStatusExceptionFilter}.
+ *
  * @author Jimmy Xu(xjimmyshcn@gmail.com)
  */
-public class HyperAuthFilter implements ClientRequestFilter {
+@Priority(Priorities.USER + 100)
+public class HyperAuthFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Request property with the {@link HyperCredentials} of a {@link sh.hyper.hyperjava.auth.HyperCredentialsScope} that
+     * override those of the provider.
+     */
+    public static final String CREDENTIALS_PROPERTY = HyperCredentials.class.getName();
+
+    private static final String RETRIED_PROPERTY = HyperAuthFilter.class.getName() + ".retried";
+
+    private static final String SIGNING_OFFSET_PROPERTY = HyperAuthFilter.class.getName() + ".signingOffset";
+
+    private static final String SPOOLED_PAYLOAD_PROPERTY = HyperAuthFilter.class.getName() + ".spooledPayload";
+
+    private final ClockSkew clockSkew = new ClockSkew();
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(HyperAuthFilter.class.getName());
+    private final HyperCredentialsProvider credentialsProvider;
 
-    private static JsonFactory jsonFactory = new JsonFactory();
-    private static ObjectMapper objectMapper = new ObjectMapper();
+    private final SigningDebugListener debugListener;
+
+    public HyperAuthFilter() {
+        this(new EnvironmentCredentialsProvider(), null);
+    }
+
+    /**
+     * @param credentialsProvider
+     *            supplies the credentials of requests without {@link #CREDENTIALS_PROPERTY}
+     * @param debugListener
+     *            notified about each signed request, {@code null} to disable debug output
+     */
+    public HyperAuthFilter(HyperCredentialsProvider credentialsProvider, SigningDebugListener debugListener) {
+        this.credentialsProvider = credentialsProvider;
+        this.debugListener = debugListener;
+    }
 
     @Override
     public void filter(ClientRequestContext requestContext) throws IOException {
-        LOGGER.info(String.format("Add Hyper Auth Header: method(%s) - path(:%s)\n",
-                requestContext.getMethod(),
-                requestContext.getUri().getPath()
-        ));
-
         MultivaluedMap<String, Object> header = requestContext.getHeaders(); //original HEADER
-        MultivaluedMap<String, String> newHeaderMap = generateHyperAuthHeader(requestContext); //new HEADER
-        for (Map.Entry<String, List<String>> entrySet : newHeaderMap.entrySet()) {
-            String key = entrySet.getKey();
-            List<String> value = entrySet.getValue();
-            header.putSingle(key, value.get(0));
+
+        Map<String, String> hyperAuthHeader = null;
+        try {
+            hyperAuthHeader = generateHyperAuthHeader(requestContext);
+        } finally {
+            if (hyperAuthHeader == null) {
+                // the request is not sent, so neither is a spooled body
+                deleteSpooledPayload(requestContext);
+            }
+        }
+
+        for (Map.Entry<String, String> entrySet : hyperAuthHeader.entrySet()) {
+            header.putSingle(entrySet.getKey(), entrySet.getValue());
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+        // the body was sent by now, unless a filter aborted the request
+        deleteSpooledPayload(requestContext);
+
+        if (responseContext.getDate() != null) {
+            clockSkew.update(responseContext.getDate());
+        }
+
+        // concurrent requests signed with the same wrong time are retried too, not only the one whose response corrected it
+        Long signingOffset = (Long) requestContext.getProperty(SIGNING_OFFSET_PROPERTY);
+
+        if (signingOffset == null || !clockSkew.isCorrectedSince(signingOffset)
+                || responseContext.getStatus() != Response.Status.UNAUTHORIZED.getStatusCode()
+                || requestContext.getProperty(RETRIED_PROPERTY) != null) {
+            return;
+        }
+
+        // a streamed body was consumed by the first attempt
+        Object entity = requestContext.getEntity();
+        if (entity != null && !(entity instanceof byte[])) {
+            return;
         }
+
+        // the signature expired because of the wrong clock, so sign and send it once more
+        responseContext.getEntityStream().close();
+
+        Invocation.Builder builder = requestContext.getClient().target(requestContext.getUri()).request()
+                .headers(requestContext.getHeaders())
+                .property(RETRIED_PROPERTY, Boolean.TRUE);
+
+        HyperCredentials credentials = scopedCredentials(requestContext);
+        if (credentials != null) {
+            builder.property(CREDENTIALS_PROPERTY, credentials);
+        }
+
+        Response retried = entity == null ? builder.method(requestContext.getMethod())
+                : builder.method(requestContext.getMethod(), Entity.entity(entity, requestContext.getMediaType()));
+
+        responseContext.setStatus(retried.getStatus());
+        responseContext.getHeaders().clear();
+        responseContext.getHeaders().putAll(retried.getStringHeaders());
+        responseContext.setEntityStream(retried.hasEntity() ? retried.readEntity(InputStream.class)
+                : new ByteArrayInputStream(new byte[0]));
     }
 
     // generate auth Header for Hyper_
-    private MultivaluedHashMap<String, String> generateHyperAuthHeader(ClientRequestContext requestContext) throws IOException {
+    private Map<String, String> generateHyperAuthHeader(ClientRequestContext requestContext) throws IOException {
 
         URI uri = requestContext.getUri();
         String method = requestContext.getMethod();
-        String postData = null;
+        byte[] postData = null;
+        String postDataHash = null;
         TreeMap<String, String> queryParametes = null;
-        boolean prettyPrinter = false;
-        boolean debugMode = true;
 
-        String accessKey = System.getenv("HYPER_ACCESS_KEY");
-        String secretKey = System.getenv("HYPER_SECRET_KEY");
-        TreeMap<String, String> awsHeaders = new TreeMap<String, String>();
-
-        if (debugMode) {
-            //output header
-            LOGGER.info(String.format("##generateHyperAuthHeader:header\nHost:%s\nPath:%s\nregionName:%s\ncanonicalURI:%s\n",
-                    uri.getHost(),
-                    uri.getPath(),
-                    uri.getHost().split("\\.")[0],
-                    uri.getPath().substring(1)
-            ));
-
-            //output parameter
-            LOGGER.info(String.format("##generateHyperAuthHeader:\nparameter:%s\nuri:%s\n",
-                    uri.getQuery(), uri.toString()
-                    ));
+        HyperCredentials credentials = scopedCredentials(requestContext);
+        if (credentials == null) {
+            credentials = credentialsProvider.getCredentials();
         }
+        TreeMap<String, String> awsHeaders = new TreeMap<String, String>();
 
-        //convert postData
-        if (requestContext.hasEntity()) {
-            //convert object to jsonString
-            StringWriter sw = new StringWriter();
-            JsonGenerator jg = jsonFactory.createGenerator(sw);
-            if (prettyPrinter) {
-                jg.useDefaultPrettyPrinter();
-            }
-            objectMapper.writeValue(jg, requestContext.getEntity());
-            postData = sw.toString();
-            if (debugMode) {
-                //output postData
-                LOGGER.debug(String.format("##generateHyperAuthHeader:postData\n%s\n", postData));
-            }
+        long signingOffset = clockSkew.getOffsetMillis();
+        requestContext.setProperty(SIGNING_OFFSET_PROPERTY, signingOffset);
+
+        //streamed bodies (tar archives) are spooled to disk while hashing, so they are never held in memory or read twice
+        if (requestContext.hasEntity() && requestContext.getEntity() instanceof InputStream) {
+            SpooledPayload spooledPayload = SpooledPayload.spool((InputStream) requestContext.getEntity());
+            requestContext.setProperty(SPOOLED_PAYLOAD_PROPERTY, spooledPayload);
+            requestContext.setEntity(spooledPayload.openStream(), requestContext.getEntityAnnotations(),
+                    requestContext.getMediaType());
+            postDataHash = spooledPayload.getSha256Hex();
+        } else if (requestContext.hasEntity()) {
+            //serialize the entity once, sign exactly these bytes and send them as the body
+            postData = entityBytes(requestContext);
         }
 
         //convert queryParametes
-        if (uri.getQuery() != null){
+        if (uri.getQuery() != null) {
             queryParametes = new TreeMap<String, String>();
             List<NameValuePair> qparams = URLEncodedUtils.parse(uri, "utf8");
             for (NameValuePair pair : qparams) {
@@ -102,7 +181,8 @@ public class HyperAuthFilter implements ClientRequestFilter {
         }
 
         //add Sign v4 Header for Hyper_
-        AWSV4Auth.Builder builder = new AWSV4Auth.Builder(accessKey, secretKey)
+        Map<String, String> header = new AWSV4Auth.Builder(credentials.getAccessKey(), credentials.getSecretKey())
+                .credentials(credentials)
                 .host(uri.getHost())
                 .regionName(uri.getHost().split("\\.")[0])
                 .serviceName("hyper")
@@ -110,40 +190,58 @@ public class HyperAuthFilter implements ClientRequestFilter {
                 .canonicalURI(uri.getPath().substring(1))   //end point (first char is not '/' for Hyper_)
                 .queryParametes(queryParametes)             //query parameters if any
                 .awsHeaders(awsHeaders)                     //aws header parameters
-                .payload(postData);                         // payload if any
-
-        AWSV4Auth awsV4Auth;
-        if (debugMode) {
-            awsV4Auth = builder.debug().build(); //turn on the debug mode
-        } else {
-            awsV4Auth = builder.build();
+                .payloadBytes(postData)                     // payload if any
+                .payloadHash(postDataHash)                  // hash of a streamed payload if any
+                .requestDate(ClockSkew.now(signingOffset))  // time of the server as far as known
+                .build()
+                .getHeaders();
+
+        if (debugListener != null) {
+            long payloadLength = postDataHash != null ? -1 : postData != null ? postData.length : 0;
+            debugListener.requestSigned(method, uri, AWSV4Auth.redact(header), payloadLength);
         }
 
-        /* Get header calculated for request */
-        Map<String, String> header = awsV4Auth.getHeaders();
-        MultivaluedHashMap<String, String> result = new MultivaluedHashMap<String, String>();
-        String curlCmd = "curl -v -k \\\n";
-        for (Map.Entry<String, String> entrySet : header.entrySet()) {
-            String key = entrySet.getKey();
-            String value = entrySet.getValue();
-            result.add(key, value);
-            if (debugMode) {
-                curlCmd += String.format(" -H \"%s: %s\" \\\n", key, value);
-            }
-        }
+        return header;
+    }
 
-        /* print curl command line */
-        if (debugMode) {
-            if (postData != null) {
-                curlCmd += String.format(" -d '%s'\\\n", postData);
-            }
-            curlCmd += String.format(" -X %s \\\n%s\n", method, uri.toString());
-            System.out.printf("##curl command line:\n%s\n", curlCmd);
+    private static void deleteSpooledPayload(ClientRequestContext requestContext) {
+        SpooledPayload spooledPayload = (SpooledPayload) requestContext.getProperty(SPOOLED_PAYLOAD_PROPERTY);
+        if (spooledPayload != null) {
+            spooledPayload.delete();
+            requestContext.removeProperty(SPOOLED_PAYLOAD_PROPERTY);
         }
+    }
 
-        return result;
+    /**
+     * Looks up {@link #CREDENTIALS_PROPERTY} of the request or of the client configuration.
+     */
+    private static HyperCredentials scopedCredentials(ClientRequestContext requestContext) {
+        Object credentials = requestContext.getProperty(CREDENTIALS_PROPERTY);
+        if (credentials == null) {
+            credentials = requestContext.getConfiguration().getProperty(CREDENTIALS_PROPERTY);
+        }
+        return (HyperCredentials) credentials;
     }
 
-}
+    /**
+     * Returns the body of the request. Entities that are not already serialized are written to JSON and replaced by the
+     * resulting bytes, so that they are not serialized a second time by the message body writer.
+     */
+    private byte[] entityBytes(ClientRequestContext requestContext) throws IOException {
+        Object entity = requestContext.getEntity();
+
+        if (entity instanceof byte[]) {
+            return (byte[]) entity;
+        }
 
+        if (entity instanceof String) {
+            byte[] bytes = ((String) entity).getBytes(UTF_8);
+            requestContext.setEntity(bytes, requestContext.getEntityAnnotations(), requestContext.getMediaType());
+            return bytes;
+        }
 
+        byte[] bytes = JsonCodec.writer(entity.getClass()).writeValueAsBytes(entity);
+        requestContext.setEntity(bytes, requestContext.getEntityAnnotations(), requestContext.getMediaType());
+        return bytes;
+    }
+}
@@ -0,0 +1,285 @@
+package sh.hyper.hyperjava.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.commons.codec.binary.Hex;
+import sh.hyper.hyperjava.auth.AWSV4Auth;
+import sh.hyper.hyperjava.auth.ClockSkew;
+import sh.hyper.hyperjava.auth.HyperCredentials;
+import sh.hyper.hyperjava.auth.HyperCredentialsProvider;
+import sh.hyper.hyperjava.auth.SigningDebugListener;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Netty counterpart of {@link sh.hyper.hyperjava.jaxrs.filter.HyperAuthFilter}: adds the Hyper_ signature headers to each
+ * outgoing {@link HttpRequest}, using the credentials of requests created by {@link ScopedHttpRequests} or those of the provider.
+ * The body of a {@link FullHttpRequest} is hashed straight from its encoded content. Requests with a streamed body must carry the
+ * hash of the body in the {@code X-Hyper-Content-Sha256} header already.
+ *
+ * The clock offset of the server is learned from the {@code Date} header of the responses. A {@link FullHttpRequest} that is
+ * rejected after the offset was corrected since it was signed is signed and sent once more, unless other requests are in flight
+ * on the channel.
+ *
+ * Must be added after the {@link io.netty.handler.codec.http.HttpClientCodec}.
+ */
+@ChannelHandler.Sharable
+public class HyperAuthHandler extends ChannelDuplexHandler {
+
+    public static final String HEAD_X_HYPER_CONTENT_SHA256 = "X-Hyper-Content-Sha256";
+
+    private static final AttributeKey<Deque<SentRequest>> SENT_REQUESTS = AttributeKey.valueOf(HyperAuthHandler.class,
+            "sentRequests");
+
+    private static final AttributeKey<Boolean> DISCARDING = AttributeKey.valueOf(HyperAuthHandler.class, "discarding");
+
+    private final ClockSkew clockSkew = new ClockSkew();
+
+    private final String host;
+
+    private final HyperCredentialsProvider credentialsProvider;
+
+    private final SigningDebugListener debugListener;
+
+    /**
+     * @param host
+     *            the Hyper_ host, e.g. {@code us-west-1.hyper.sh}, the first label is used as region
+     * @param credentialsProvider
+     *            supplies the credentials of requests that were not created by {@link ScopedHttpRequests}
+     * @param debugListener
+     *            notified about each signed request, may be {@code null}
+     */
+    public HyperAuthHandler(String host, HyperCredentialsProvider credentialsProvider, SigningDebugListener debugListener) {
+        this.host = host;
+        this.credentialsProvider = credentialsProvider;
+        this.debugListener = debugListener;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof HttpRequest) {
+            HttpRequest request = (HttpRequest) msg;
+
+            HyperCredentials credentials = ScopedHttpRequests.credentialsOf(request);
+            if (credentials == null) {
+                credentials = credentialsProvider.getCredentials();
+            }
+
+            long signingOffset = sign(request, credentials);
+
+            // the codec releases the content once it is written, so keep a reference for a retry
+            FullHttpRequest retry = request instanceof FullHttpRequest ? ((FullHttpRequest) request).duplicate().retain() : null;
+            sentRequests(ctx).add(new SentRequest(retry, credentials, signingOffset));
+        }
+        super.write(ctx, msg, promise);
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (Boolean.TRUE.equals(ctx.channel().attr(DISCARDING).get())) {
+            // rest of a rejected response whose request was sent once more
+            if (msg instanceof LastHttpContent) {
+                ctx.channel().attr(DISCARDING).set(null);
+            }
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+
+        if (msg instanceof HttpResponse && retried(ctx, (HttpResponse) msg)) {
+            if (!(msg instanceof LastHttpContent)) {
+                ctx.channel().attr(DISCARDING).set(Boolean.TRUE);
+            }
+            ReferenceCountUtil.release(msg);
+            return;
+        }
+
+        super.channelRead(ctx, msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        releaseSentRequests(ctx);
+        super.channelInactive(ctx);
+    }
+
+    /**
+     * @return {@code true} if the request of the response was sent once more because of an expired signature
+     */
+    private boolean retried(ChannelHandlerContext ctx, HttpResponse response) {
+        Long serverTime = response.headers().getTimeMillis(HttpHeaderNames.DATE);
+        if (serverTime != null) {
+            clockSkew.update(new Date(serverTime));
+        }
+
+        if (response.status().code() == HttpResponseStatus.SWITCHING_PROTOCOLS.code()) {
+            // the connection is hijacked, no more responses will be decoded
+            releaseSentRequests(ctx);
+            return false;
+        }
+
+        Deque<SentRequest> sentRequests = sentRequests(ctx);
+        SentRequest sent = sentRequests.poll();
+
+        if (sent == null || sent.retry == null) {
+            return false;
+        }
+
+        if (!clockSkew.isCorrectedSince(sent.signingOffset) || response.status().code() != HttpResponseStatus.UNAUTHORIZED.code()
+                || !sentRequests.isEmpty()) {
+            sent.retry.release();
+            return false;
+        }
+
+        // the retry is not kept, so it is never sent a third time
+        long signingOffset = sign(sent.retry, sent.credentials);
+        sentRequests.add(new SentRequest(null, sent.credentials, signingOffset));
+        ctx.writeAndFlush(sent.retry);
+
+        return true;
+    }
+
+    private static Deque<SentRequest> sentRequests(ChannelHandlerContext ctx) {
+        Deque<SentRequest> sentRequests = ctx.channel().attr(SENT_REQUESTS).get();
+        if (sentRequests == null) {
+            sentRequests = new ArrayDeque<SentRequest>();
+            ctx.channel().attr(SENT_REQUESTS).set(sentRequests);
+        }
+        return sentRequests;
+    }
+
+    private static void releaseSentRequests(ChannelHandlerContext ctx) {
+        Deque<SentRequest> sentRequests = ctx.channel().attr(SENT_REQUESTS).getAndSet(null);
+        if (sentRequests != null) {
+            for (SentRequest sent : sentRequests) {
+                if (sent.retry != null) {
+                    sent.retry.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Signs the request with the given credentials, replacing a previous signature. The body must be complete or its hash must
+     * be set already.
+     *
+     * @return the clock offset the request was signed with
+     */
+    private long sign(HttpRequest request, HyperCredentials credentials) {
+        long signingOffset = clockSkew.getOffsetMillis();
+
+        String payloadHash = request.headers().get(HEAD_X_HYPER_CONTENT_SHA256);
+        long payloadLength = -1;
+
+        if (payloadHash == null) {
+            ByteBuf content = request instanceof FullHttpRequest ? ((FullHttpRequest) request).content() : null;
+            payloadHash = sha256Hex(content);
+            payloadLength = content == null ? 0 : content.readableBytes();
+        } else if (HttpUtil.isContentLengthSet(request)) {
+            payloadLength = HttpUtil.getContentLength(request);
+        }
+
+        QueryStringDecoder decoder = new QueryStringDecoder(request.uri());
+
+        TreeMap<String, String> queryParameters = null;
+        if (!decoder.parameters().isEmpty()) {
+            queryParameters = new TreeMap<String, String>();
+            for (Map.Entry<String, List<String>> parameter : decoder.parameters().entrySet()) {
+                List<String> values = parameter.getValue();
+                queryParameters.put(parameter.getKey(), values.isEmpty() ? "" : values.get(values.size() - 1));
+            }
+        }
+
+        String path = QueryStringDecoder.decodeComponent(decoder.path());
+
+        Map<String, String> header = new AWSV4Auth.Builder(credentials.getAccessKey(), credentials.getSecretKey())
+                .credentials(credentials)
+                .host(host)
+                .regionName(host.split("\\.")[0])
+                .serviceName("hyper")
+                .httpMethodName(request.method().name())
+                .canonicalURI(path.substring(1))            //end point (first char is not '/' for Hyper_)
+                .queryParametes(queryParameters)
+                .awsHeaders(new TreeMap<String, String>())
+                .payloadHash(payloadHash)
+                .requestDate(ClockSkew.now(signingOffset))
+                .build()
+                .getHeaders();
+
+        for (Map.Entry<String, String> entry : header.entrySet()) {
+            request.headers().set(entry.getKey(), entry.getValue());
+        }
+        request.headers().set(HttpHeaderNames.HOST, host);
+
+        if (debugListener != null) {
+            debugListener.requestSigned(request.method().name(), debugUri(path, decoder), AWSV4Auth.redact(header), payloadLength);
+        }
+
+        return signingOffset;
+    }
+
+    private URI debugUri(String path, QueryStringDecoder decoder) {
+        int query = decoder.uri().indexOf('?');
+        try {
+            return new URI("https", host, path, query < 0 ? null : decoder.uri().substring(query + 1), null);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static String sha256Hex(ByteBuf content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        if (content != null && content.isReadable()) {
+            // the NIO views share the memory of the buffer, so nothing is copied
+            for (ByteBuffer buffer : content.nioBuffers()) {
+                digest.update(buffer);
+            }
+        }
+
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private static class SentRequest {
+
+        // null if the body was streamed
+        private final FullHttpRequest retry;
+
+        private final HyperCredentials credentials;
+
+        private final long signingOffset;
+
+        SentRequest(FullHttpRequest retry, HyperCredentials credentials, long signingOffset) {
+            this.retry = retry;
+            this.credentials = credentials;
+            this.signingOffset = signingOffset;
+        }
+    }
+}
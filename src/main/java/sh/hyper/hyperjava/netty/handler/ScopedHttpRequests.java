@@ -0,0 +1,61 @@
+package sh.hyper.hyperjava.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpVersion;
+import sh.hyper.hyperjava.auth.HyperCredentials;
+
+/**
+ * Creates requests that {@link HyperAuthHandler} signs with the credentials of a
+ * {@link sh.hyper.hyperjava.auth.HyperCredentialsScope} instead of those of its provider. The handler runs on the event loop,
+ * so the credentials of the calling thread travel with the request.
+ */
+public final class ScopedHttpRequests {
+
+    private ScopedHttpRequests() {
+    }
+
+    public static FullHttpRequest newFullRequest(HttpMethod method, String uri, ByteBuf content, HyperCredentials credentials) {
+        return new ScopedFullHttpRequest(method, uri, content, credentials);
+    }
+
+    public static HttpRequest newRequest(HttpMethod method, String uri, HyperCredentials credentials) {
+        return new ScopedHttpRequest(method, uri, credentials);
+    }
+
+    /**
+     * @return the credentials the request was created with or {@code null}
+     */
+    public static HyperCredentials credentialsOf(HttpRequest request) {
+        if (request instanceof ScopedFullHttpRequest) {
+            return ((ScopedFullHttpRequest) request).credentials;
+        } else if (request instanceof ScopedHttpRequest) {
+            return ((ScopedHttpRequest) request).credentials;
+        }
+        return null;
+    }
+
+    private static class ScopedFullHttpRequest extends DefaultFullHttpRequest {
+
+        private final HyperCredentials credentials;
+
+        ScopedFullHttpRequest(HttpMethod method, String uri, ByteBuf content, HyperCredentials credentials) {
+            super(HttpVersion.HTTP_1_1, method, uri, content);
+            this.credentials = credentials;
+        }
+    }
+
+    private static class ScopedHttpRequest extends DefaultHttpRequest {
+
+        private final HyperCredentials credentials;
+
+        ScopedHttpRequest(HttpMethod method, String uri, HyperCredentials credentials) {
+            super(HttpVersion.HTTP_1_1, method, uri);
+            this.credentials = credentials;
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.github.dockerjava.core;
 import java.io.File;
 import java.io.IOException;
 
+import org.apache.commons.io.FileUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -88,6 +89,31 @@ public class AuthConfigFileTest {
         Assert.assertEquals(runTest("idontexist"), expected);
     }
 
+    @Test
+    public void cachedConfigIsReloadedWhenTheFileChanges() throws IOException {
+        File file = File.createTempFile("dockercfg", null);
+        try {
+            FileUtils.copyFile(new File(FILESROOT, "validLegacy"), file);
+
+            AuthConfigFile first = AuthConfigFile.loadCachedConfig(file);
+            Assert.assertEquals(first, runTest("validLegacy"));
+
+            // every caller gets its own copy of the cached configuration
+            AuthConfigFile second = AuthConfigFile.loadCachedConfig(file);
+            Assert.assertNotSame(second, first);
+            second.resolveAuthConfig(null).withPassword("changed");
+            Assert.assertEquals(AuthConfigFile.loadCachedConfig(file), first);
+
+            FileUtils.copyFile(new File(FILESROOT, "validJson"), file);
+
+            Assert.assertEquals(AuthConfigFile.loadCachedConfig(file), runTest("validJson"));
+        } finally {
+            file.delete();
+        }
+
+        Assert.assertNull(AuthConfigFile.loadCachedConfig(file));
+    }
+
     private AuthConfigFile runTest(String testFileName) throws IOException {
         return AuthConfigFile.loadConfig(new File(FILESROOT, testFileName));
     }
@@ -0,0 +1,45 @@
+package com.github.dockerjava.core;
+
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+public class LocalDirectorySSLConfigTest {
+
+    private static final File CERTS = new File(Thread.currentThread().getContextClassLoader()
+            .getResource("com/github/dockerjava/core/LocalDirectorySSLConfigTest/certs").getFile());
+
+    @Test
+    public void sslContextIsSharedUntilTheCertificatesChange() throws IOException {
+        File certPath = new File(FileUtils.getTempDirectory(), "docker-certs-" + System.nanoTime());
+        FileUtils.copyDirectory(CERTS, certPath);
+
+        try {
+            SSLContext sslContext = new LocalDirectorySSLConfig(certPath.getPath()).getSSLContext();
+
+            assertNotNull(sslContext);
+            assertSame(new LocalDirectorySSLConfig(certPath.getPath()).getSSLContext(), sslContext);
+
+            // same certificate again, but different content
+            FileWriter writer = new FileWriter(new File(certPath, "ca.pem"), true);
+            try {
+                writer.write("\n");
+            } finally {
+                writer.close();
+            }
+
+            assertNotSame(new LocalDirectorySSLConfig(certPath.getPath()).getSSLContext(), sslContext);
+        } finally {
+            FileUtils.deleteDirectory(certPath);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.dockerjava.core.async;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.LogContainerCmd;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.core.command.LogContainerCmdImpl;
+
+public class DelegatingResultCallbackTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void sinksStayVisibleBehindTheDelegate() throws Exception {
+        SinkCollector collector = new SinkCollector();
+
+        ResultCallback<Frame> delegate = DelegatingResultCallback.of(new ClosingCmd(), collector);
+
+        assertTrue(delegate instanceof FrameSink);
+        ((FrameSink) delegate).onFrame(StreamType.STDOUT, "xstdout".getBytes(UTF_8), 1, 6);
+        assertEquals(collector.payloads, "STDOUT:stdout");
+    }
+
+    @Test
+    public void otherCallbacksAreNoSinks() throws Exception {
+        ResultCallback<Frame> delegate = DelegatingResultCallback.of(new ClosingCmd(), new FrameCollector());
+
+        assertFalse(delegate instanceof FrameSink);
+    }
+
+    @Test
+    public void theCommandIsClosedOnCompletion() throws Exception {
+        ClosingCmd command = new ClosingCmd();
+        FrameCollector collector = new FrameCollector();
+
+        DelegatingResultCallback.of(command, collector).onComplete();
+
+        assertTrue(command.closed);
+        collector.awaitCompletion();
+    }
+
+    private static class ClosingCmd extends LogContainerCmdImpl {
+
+        private boolean closed = false;
+
+        ClosingCmd() {
+            super(new LogContainerCmd.Exec() {
+                @Override
+                public Void exec(LogContainerCmd command, ResultCallback<Frame> resultCallback) {
+                    throw new UnsupportedOperationException();
+                }
+            }, "id");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class FrameCollector extends ResultCallbackTemplate<FrameCollector, Frame> {
+        @Override
+        public void onNext(Frame frame) {
+        }
+    }
+
+    private static class SinkCollector extends ResultCallbackTemplate<SinkCollector, Frame> implements FrameSink {
+
+        private String payloads = "";
+
+        @Override
+        public void onNext(Frame frame) {
+            throw new AssertionError("sinks are not passed frames");
+        }
+
+        @Override
+        public void onFrame(StreamType streamType, byte[] buffer, int offset, int length) throws IOException {
+            payloads += streamType + ":" + new String(buffer, offset, length, UTF_8);
+        }
+    }
+}
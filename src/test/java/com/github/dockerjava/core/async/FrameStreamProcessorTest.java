@@ -0,0 +1,66 @@
+package com.github.dockerjava.core.async;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.core.command.ExecStartFrameSinkCallback;
+import com.github.dockerjava.core.command.ExecStartResultCallback;
+
+public class FrameStreamProcessorTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final FrameStreamProcessor processor = new FrameStreamProcessor();
+
+    @Test
+    public void execStartResultCallbackSubclassesReceiveFrames() throws Exception {
+        final List<Frame> frames = new ArrayList<Frame>();
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+
+        processor.processResponseStream(stream(), new ExecStartResultCallback(stdout, null) {
+            @Override
+            public void onNext(Frame frame) {
+                frames.add(frame);
+                super.onNext(frame);
+            }
+        });
+
+        assertEquals(frames.size(), 2);
+        assertEquals(frames.get(1), new Frame(StreamType.STDERR, "err".getBytes(UTF_8)));
+        assertEquals(stdout.toString("UTF-8"), "out");
+    }
+
+    @Test
+    public void frameSinkCallbackDemultiplexesPayloads() throws Exception {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+        processor.processResponseStream(stream(), new ExecStartFrameSinkCallback(stdout, stderr));
+
+        assertEquals(stdout.toString("UTF-8"), "out");
+        assertEquals(stderr.toString("UTF-8"), "err");
+    }
+
+    private static ByteArrayInputStream stream() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeFrame(bytes, 1, "out");
+        writeFrame(bytes, 2, "err");
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    private static void writeFrame(ByteArrayOutputStream bytes, int streamType, String payload) {
+        byte[] data = payload.getBytes(UTF_8);
+        bytes.write(streamType);
+        bytes.write(new byte[] {0, 0, 0, 0, 0, 0, (byte) data.length}, 0, 7);
+        bytes.write(data, 0, data.length);
+    }
+}
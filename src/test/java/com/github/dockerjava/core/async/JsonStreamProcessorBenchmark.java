@@ -0,0 +1,140 @@
+package com.github.dockerjava.core.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Info;
+import com.github.dockerjava.api.model.Version;
+import com.github.dockerjava.core.RemoteApiVersion;
+import com.github.dockerjava.test.serdes.JSONSamples;
+
+/**
+ * Compares the per item CPU time and allocation of {@link JsonStreamProcessor} with the former readTree/treeToValue approach on
+ * streams built from the samples in {@code src/test/resources/samples}, with an empty item between two samples.
+ *
+ * Not run by the test suite, start it via {@link #main(String[])}.
+ */
+public class JsonStreamProcessorBenchmark {
+
+    private static final int ITEMS = 2000;
+
+    private static final int ROUNDS = 10;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        benchmark("info/1.json", Info.class);
+        benchmark("version/1.json", Version.class);
+        benchmark("containers/container/json/1.json", InspectContainerResponse.class);
+    }
+
+    private static <T> void benchmark(String sample, Class<T> clazz) throws IOException {
+        byte[] stream = stream(JSONSamples.getSampleContent(RemoteApiVersion.VERSION_1_22, sample));
+
+        Measurement legacy = new Measurement();
+        Measurement current = new Measurement();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            legacy.start();
+            processTwoPass(new ByteArrayInputStream(stream), clazz, new CountingCallback<T>());
+            legacy.stop(round);
+
+            current.start();
+            new JsonStreamProcessor<T>(clazz).processResponseStream(new ByteArrayInputStream(stream), new CountingCallback<T>());
+            current.stop(round);
+        }
+
+        System.out.println(String.format("%-35s readTree+treeToValue: %6d ns/item %7d bytes/item | readValue: %6d ns/item %7d bytes/item",
+                sample, legacy.nanosPerItem(), legacy.bytesPerItem(), current.nanosPerItem(), current.bytesPerItem()));
+    }
+
+    private static byte[] stream(String sample) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] item = sample.getBytes("UTF-8");
+        byte[] empty = "{}".getBytes("UTF-8");
+
+        for (int i = 0; i < ITEMS; i++) {
+            out.write(item);
+            out.write(empty);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * The implementation {@link JsonStreamProcessor} used before.
+     */
+    private static <T> void processTwoPass(InputStream response, Class<T> clazz, ResultCallback<T> resultCallback)
+            throws IOException {
+        JsonParser jp = JSON_FACTORY.createParser(response);
+        JsonToken nextToken = jp.nextToken();
+        while (!jp.isClosed() && nextToken != null && nextToken != JsonToken.END_OBJECT) {
+            ObjectNode objectNode = OBJECT_MAPPER.readTree(jp);
+            if (!objectNode.isEmpty(null)) {
+                resultCallback.onNext(OBJECT_MAPPER.treeToValue(objectNode, clazz));
+            }
+            nextToken = jp.nextToken();
+        }
+        response.close();
+    }
+
+    private static class Measurement {
+
+        private final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+
+        private long cpuTime;
+
+        private long allocatedBytes;
+
+        private long totalCpuTime;
+
+        private long totalAllocatedBytes;
+
+        private int measuredRounds;
+
+        void start() {
+            cpuTime = threadMXBean.getCurrentThreadCpuTime();
+            allocatedBytes = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        void stop(int round) {
+            // the first half of the rounds warms up the JIT
+            if (round >= ROUNDS / 2) {
+                totalCpuTime += threadMXBean.getCurrentThreadCpuTime() - cpuTime;
+                totalAllocatedBytes += threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBytes;
+                measuredRounds++;
+            }
+        }
+
+        long nanosPerItem() {
+            return totalCpuTime / measuredRounds / ITEMS;
+        }
+
+        long bytesPerItem() {
+            return totalAllocatedBytes / measuredRounds / ITEMS;
+        }
+    }
+
+    private static class CountingCallback<T> extends ResultCallbackTemplate<CountingCallback<T>, T> {
+
+        private int count;
+
+        @Override
+        public void onNext(T object) {
+            count++;
+        }
+    }
+}
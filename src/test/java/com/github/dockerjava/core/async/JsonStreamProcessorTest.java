@@ -3,6 +3,7 @@
  */
 package com.github.dockerjava.core.async;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 
 import java.io.ByteArrayInputStream;
@@ -62,4 +63,26 @@ public class JsonStreamProcessorTest {
         assertFalse(completed.isEmpty(), "Stream processing not completed");
     }
 
+    @Test
+    public void processStreamWithEmptyItems() throws Exception {
+
+        InputStream response = new ByteArrayInputStream(
+                "{\"status\":\"Pulling\",\"id\":\"a\"}{}\n{\"status\":\"Done\",\"progressDetail\":{}}".getBytes());
+
+        JsonStreamProcessor<PullResponseItem> jsonStreamProcessor = new JsonStreamProcessor<PullResponseItem>(PullResponseItem.class);
+
+        final List<PullResponseItem> items = new ArrayList<PullResponseItem>();
+
+        jsonStreamProcessor.processResponseStream(response, new ResultCallbackTemplate<ResultCallback<PullResponseItem>, PullResponseItem>() {
+            @Override
+            public void onNext(PullResponseItem object) {
+                items.add(object);
+            }
+        });
+
+        assertEquals(items.size(), 2);
+        assertEquals(items.get(0).getStatus(), "Pulling");
+        assertEquals(items.get(0).getId(), "a");
+        assertEquals(items.get(1).getStatus(), "Done");
+    }
 }
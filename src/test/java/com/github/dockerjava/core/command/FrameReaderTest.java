@@ -1,17 +1,22 @@
 package com.github.dockerjava.core.command;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.testng.annotations.Test;
 
 import com.github.dockerjava.api.model.Frame;
 import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.core.async.FrameSink;
 
 public class FrameReaderTest {
     public static final int HEADER_SIZE = 8;
@@ -58,4 +63,39 @@ public class FrameReaderTest {
             this.bytes.add(aByte);
         }
     }
+
+    @Test
+    public void sinkReceivesPayloadFromReusedBuffer() throws Exception {
+        setBytes(1, 0, 0, 0, 0, 0, 0, 2, 'a', 'b', 2, 0, 0, 0, 0, 0, 0, 1, 'c');
+
+        final List<String> payloads = new ArrayList<>();
+        final List<byte[]> buffers = new ArrayList<>();
+
+        FrameSink sink = new FrameSink() {
+            @Override
+            public void onFrame(StreamType streamType, byte[] buffer, int offset, int length) {
+                payloads.add(streamType + ":" + new String(buffer, offset, length));
+                buffers.add(buffer);
+            }
+        };
+
+        assertTrue(frameReader.readFrame(sink));
+        assertTrue(frameReader.readFrame(sink));
+        assertFalse(frameReader.readFrame(sink));
+
+        assertEquals(payloads, Arrays.asList("STDOUT:ab", "STDERR:c"));
+        assertSame(buffers.get(0), buffers.get(1));
+    }
+
+    @Test
+    public void largePayloadGrowsBuffer() throws Exception {
+        int size = 20000;
+        int[] frame = new int[HEADER_SIZE + size];
+        frame[0] = 1;
+        frame[6] = size >> 8;
+        frame[7] = size & 0xff;
+        Arrays.fill(frame, HEADER_SIZE, frame.length, 'x');
+
+        assertEquals(nextFrame(frame).getPayload().length, size);
+    }
 }
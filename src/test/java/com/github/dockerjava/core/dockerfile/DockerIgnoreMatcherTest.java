@@ -0,0 +1,88 @@
+package com.github.dockerjava.core.dockerfile;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.exception.DockerClientException;
+
+public class DockerIgnoreMatcherTest {
+
+    @Test
+    public void lastMatchingPatternWins() {
+        DockerIgnoreMatcher matcher = matcher("*.md", "!README.md", "docs/*");
+
+        assertEquals(matcher.excludingPattern("CHANGES.md"), "*.md");
+        assertNull(matcher.excludingPattern("README.md"));
+        assertNull(matcher.excludingPattern("src"));
+        assertEquals(matcher.excludingPattern(path("docs/README.md")), path("docs/*"));
+    }
+
+    @Test
+    public void directoryPatternExcludesItsContent() {
+        DockerIgnoreMatcher matcher = matcher("node_modules", "*/b");
+
+        assertEquals(matcher.excludingPattern(path("node_modules/lib/index.js")), "node_modules");
+        assertEquals(matcher.excludingPattern(path("a/b/c")), path("*/b"));
+        assertNull(matcher.excludingPattern(path("a/c")));
+        assertFalse(matcher.mayIncludeBelow("node_modules"));
+    }
+
+    @Test
+    public void exceptionsKeepDirectoriesScanned() {
+        DockerIgnoreMatcher matcher = matcher("node_modules", "!node_modules/keep/*.js");
+
+        assertTrue(matcher.mayIncludeBelow("node_modules"));
+        assertTrue(matcher.mayIncludeBelow(path("node_modules/keep")));
+        assertFalse(matcher.mayIncludeBelow(path("node_modules/other")));
+        assertNull(matcher.excludingPattern(path("node_modules/keep/index.js")));
+        assertEquals(matcher.excludingPattern(path("node_modules/other/index.js")), "node_modules");
+    }
+
+    @Test(expectedExceptions = DockerClientException.class)
+    public void invalidPattern() {
+        matcher("[a-b-c]").excludingPattern("Dockerfile");
+    }
+
+    @Test
+    public void scanSkipsExcludedDirectories() throws Exception {
+        File baseDir = Files.createTempDirectory("dockerignore").toFile();
+        try {
+            FileUtils.write(new File(baseDir, "Dockerfile"), "FROM busybox");
+            FileUtils.write(new File(baseDir, ".dockerignore"), "node_modules\n!node_modules/keep.js\n.git");
+            FileUtils.write(new File(baseDir, "node_modules/keep.js"), "");
+            FileUtils.write(new File(baseDir, "node_modules/lib/index.js"), "");
+            FileUtils.write(new File(baseDir, ".git/HEAD"), "");
+
+            Dockerfile.ScannedResult result = new Dockerfile(new File(baseDir, "Dockerfile"), baseDir).parse();
+
+            assertEquals(result.filesToAdd.size(), 3);
+            assertTrue(result.filesToAdd.contains(new File(baseDir, "Dockerfile")));
+            assertTrue(result.filesToAdd.contains(new File(baseDir, ".dockerignore")));
+            assertTrue(result.filesToAdd.contains(new File(baseDir, "node_modules/keep.js")));
+        } finally {
+            FileUtils.deleteQuietly(baseDir);
+        }
+    }
+
+    private static DockerIgnoreMatcher matcher(String... patterns) {
+        String[] normalized = new String[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            normalized[i] = path(patterns[i]);
+        }
+        return new DockerIgnoreMatcher(asList(normalized));
+    }
+
+    private static String path(String path) {
+        return FilenameUtils.separatorsToSystem(path);
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.dockerjava.core.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.dockerjava.api.model.Version;
+
+public class JsonCodecTest {
+
+    @Test
+    public void readersAreCachedPerType() {
+        assertSame(JsonCodec.reader(new TypeReference<List<Version>>() {
+        }), JsonCodec.reader(new TypeReference<List<Version>>() {
+        }));
+        assertSame(JsonCodec.reader(Version.class), JsonCodec.reader(Version.class));
+        assertSame(JsonCodec.writer(Version.class), JsonCodec.writer(Version.class));
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+        byte[] json = JsonCodec.writer(Map.class).writeValueAsBytes(Collections.singletonMap("Version", "1.10.3"));
+
+        Version version = JsonCodec.reader(Version.class).readValue(json);
+
+        assertEquals(version.getVersion(), "1.10.3");
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.dockerjava.core.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class ParallelGzipOutputStreamTest {
+
+    @Test
+    public void blocksFormOneGzipMember() throws Exception {
+        byte[] content = content(5 * ParallelGzipOutputStream.BLOCK_SIZE + 12345);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        OutputStream out = new ParallelGzipOutputStream(compressed, Deflater.DEFAULT_COMPRESSION, 4);
+        out.write(content, 0, 1000);
+        out.write(content[1000]);
+        out.write(content, 1001, content.length - 1001);
+        out.close();
+
+        assertTrue(Arrays.equals(gunzip(compressed.toByteArray()), content));
+
+        // the dictionaries keep the ratio close to a serial gzip stream
+        ByteArrayOutputStream serial = new ByteArrayOutputStream();
+        OutputStream serialOut = new GZIPOutputStream(serial);
+        serialOut.write(content);
+        serialOut.close();
+
+        assertTrue(compressed.size() < serial.size() * 1.1, compressed.size() + " vs " + serial.size());
+    }
+
+    @Test
+    public void emptyStream() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        new ParallelGzipOutputStream(compressed, Deflater.BEST_SPEED, 2).close();
+
+        assertEquals(gunzip(compressed.toByteArray()).length, 0);
+    }
+
+    @Test
+    public void writingAfterCloseFails() throws Exception {
+        OutputStream out = new ParallelGzipOutputStream(new ByteArrayOutputStream(), Deflater.BEST_SPEED, 2);
+        out.close();
+
+        try {
+            out.write(1);
+            fail("expected IOException");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "Stream closed");
+        }
+    }
+
+    @Test
+    public void streamsShareTheirThreads() throws Exception {
+        byte[] content = content(4 * ParallelGzipOutputStream.BLOCK_SIZE);
+
+        // unclosed streams must not leave threads behind
+        for (int i = 0; i < 20; i++) {
+            new ParallelGzipOutputStream(new ByteArrayOutputStream(), Deflater.BEST_SPEED, 4).write(content);
+        }
+
+        int gzipThreads = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("docker-java-gzip-")) {
+                assertTrue(thread.isDaemon());
+                gzipThreads++;
+            }
+        }
+
+        assertTrue(gzipThreads <= Runtime.getRuntime().availableProcessors(), gzipThreads + " threads");
+    }
+
+    @Test
+    public void noCompressionWritesThrough() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OutputStream archive = ArchiveCompression.NONE.compress(out);
+
+        assertSame(archive, out);
+    }
+
+    private static byte[] content(int length) {
+        String[] words = {"FROM", "busybox", "RUN", "echo", "hello", "world", "COPY", "node_modules", "/app", "\n"};
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < length) {
+            sb.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return sb.substring(0, length).getBytes();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        return ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.dockerjava.core.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class PipedProducerInputStreamTest {
+
+    @Test
+    public void contentIsPassedThroughInOrder() throws Exception {
+        final byte[] content = new byte[100000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        InputStream stream = new PipedProducerInputStream(new PipedProducerInputStream.Producer() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                out.write(content[0]);
+                out.write(content, 1, content.length - 1);
+            }
+        }, "test-producer", 1000, 2);
+
+        assertTrue(Arrays.equals(ByteStreams.toByteArray(stream), content));
+        assertEquals(stream.read(), -1);
+        stream.close();
+    }
+
+    @Test
+    public void producerFailureFailsTheReader() throws Exception {
+        InputStream stream = new PipedProducerInputStream(new PipedProducerInputStream.Producer() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                out.write(new byte[10]);
+                throw new IOException("file vanished");
+            }
+        }, "test-producer");
+
+        try {
+            ByteStreams.toByteArray(stream);
+            fail("truncated content must not end the stream silently");
+        } catch (IOException e) {
+            assertEquals(e.getCause().getMessage(), "file vanished");
+        }
+    }
+
+    @Test
+    public void closingStopsTheProducer() throws Exception {
+        final CountDownLatch stopped = new CountDownLatch(1);
+
+        InputStream stream = new PipedProducerInputStream(new PipedProducerInputStream.Producer() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                try {
+                    while (true) {
+                        out.write(new byte[100]);
+                    }
+                } finally {
+                    stopped.countDown();
+                }
+            }
+        }, "test-producer", 100, 1);
+
+        assertEquals(stream.read(new byte[10]), 10);
+        stream.close();
+
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.dockerjava.core.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.nio.charset.Charset;
+
+import org.apache.commons.codec.binary.Base64;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.model.AuthConfig;
+import com.github.dockerjava.api.model.AuthConfigurations;
+import com.github.dockerjava.core.RemoteApiVersion;
+
+public class RegistryAuthEncoderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void registryAuthFollowsChangesOfTheConfig() throws Exception {
+        AuthConfig authConfig = new AuthConfig().withUsername("foo").withPassword("bar").withRegistryAddress("quay.io");
+
+        String encoded = RegistryAuthEncoder.registryAuth(authConfig);
+
+        assertEquals(decode(encoded), JsonCodec.objectMapper().writeValueAsString(authConfig));
+        assertEquals(RegistryAuthEncoder.registryAuth(authConfig), encoded);
+
+        authConfig.withPassword("changed");
+
+        assertNotEquals(RegistryAuthEncoder.registryAuth(authConfig), encoded);
+        assertEquals(decode(RegistryAuthEncoder.registryAuth(authConfig)), JsonCodec.objectMapper().writeValueAsString(authConfig));
+    }
+
+    @Test
+    public void registryConfigsDependOnTheApiVersion() throws Exception {
+        AuthConfigurations authConfigs = new AuthConfigurations();
+        authConfigs.addConfig(new AuthConfig().withUsername("foo").withPassword("bar").withRegistryAddress("quay.io"));
+
+        String configs = decode(RegistryAuthEncoder.registryConfigs(authConfigs, RemoteApiVersion.VERSION_1_19));
+        String wrapped = decode(RegistryAuthEncoder.registryConfigs(authConfigs, RemoteApiVersion.create(1, 18)));
+
+        assertEquals(configs, JsonCodec.objectMapper().writeValueAsString(authConfigs.getConfigs()));
+        assertEquals(wrapped, JsonCodec.objectMapper().writeValueAsString(authConfigs));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.decodeBase64(value), UTF_8);
+    }
+}
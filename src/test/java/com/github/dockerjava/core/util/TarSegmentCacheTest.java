@@ -0,0 +1,150 @@
+package com.github.dockerjava.core.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TarSegmentCacheTest {
+
+    private File baseDir;
+
+    private File cacheDir;
+
+    @BeforeMethod
+    public void createContext() throws IOException {
+        baseDir = Files.createTempDirectory("context").toFile();
+        cacheDir = Files.createTempDirectory("segments").toFile();
+
+        FileUtils.write(new File(baseDir, "Dockerfile"), "FROM busybox\nADD . /app");
+        FileUtils.write(new File(baseDir, "src/main.js"), "console.log('hello');");
+        FileUtils.write(new File(baseDir, "src/large.txt"), StringUtils.repeat("content ", 100000));
+    }
+
+    @AfterMethod
+    public void deleteContext() {
+        FileUtils.deleteQuietly(baseDir);
+        FileUtils.deleteQuietly(cacheDir);
+    }
+
+    @Test
+    public void unchangedFilesAreTakenFromTheCache() throws Exception {
+        TarSegmentCache cache = new TarSegmentCache(cacheDir);
+        List<File> files = Arrays.asList(new File(baseDir, "Dockerfile"), new File(baseDir, "src/main.js"), new File(
+                baseDir, "src/large.txt"));
+
+        Map<String, String> first = entries(new GZIPInputStream(archive(files, ArchiveCompression.DEFAULT, cache)));
+
+        assertEquals(first.keySet().toString(), "[Dockerfile, src/large.txt, src/main.js]");
+        assertEquals(first.get("src/main.js"), "console.log('hello');");
+        assertEquals(segments(), 3);
+
+        File changed = new File(baseDir, "src/main.js");
+        FileUtils.write(changed, "console.log('changed');");
+        changed.setLastModified(changed.lastModified() - 10000);
+
+        Map<String, String> second = entries(new GZIPInputStream(archive(files, ArchiveCompression.DEFAULT, cache)));
+
+        assertEquals(second.get("src/main.js"), "console.log('changed');");
+        assertEquals(second.get("src/large.txt"), first.get("src/large.txt"));
+        assertEquals(segments(), 4);
+
+        cache.trim(0);
+        assertEquals(segments(), 0);
+    }
+
+    @Test
+    public void uncompressedSegments() throws Exception {
+        TarSegmentCache cache = new TarSegmentCache(cacheDir);
+        List<File> files = Arrays.asList(new File(baseDir, "Dockerfile"), new File(baseDir, "src/main.js"));
+
+        archive(files, ArchiveCompression.NONE, cache);
+        Map<String, String> entries = entries(archive(files, ArchiveCompression.NONE, cache));
+
+        assertEquals(entries.get("Dockerfile"), "FROM busybox\nADD . /app");
+        assertEquals(entries.get("src/main.js"), "console.log('hello');");
+    }
+
+    @Test
+    public void filesThatCannotBeReadCompletelyAreNotPassedOnOrCached() throws Exception {
+        TarSegmentCache cache = new TarSegmentCache(cacheDir);
+        File file = new File(baseDir, "src/large.txt");
+
+        // the file shrank after the entry was created
+        TarArchiveEntry tarEntry = new TarArchiveEntry(file, "src/large.txt");
+        tarEntry.setSize(file.length() + 1000);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            cache.writeSegment(tarEntry, file, out, ArchiveCompression.DEFAULT);
+            fail("expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+
+        assertEquals(out.size(), 0);
+        assertEquals(cacheDir.list().length, 0);
+    }
+
+    @Test
+    public void trimIgnoresSegmentsBeingWritten() throws Exception {
+        TarSegmentCache cache = new TarSegmentCache(cacheDir);
+        archive(Arrays.asList(new File(baseDir, "Dockerfile"), new File(baseDir, "src/main.js")), ArchiveCompression.NONE, cache);
+
+        File tempFile = new File(cacheDir, "segment123.tmp");
+        FileUtils.write(tempFile, StringUtils.repeat("partial ", 10000));
+        tempFile.setLastModified(System.currentTimeMillis() - 3600 * 1000);
+
+        cache.trim(10000);
+
+        assertEquals(segments(), 2);
+        assertTrue(tempFile.isFile());
+    }
+
+    private InputStream archive(List<File> files, ArchiveCompression compression, TarSegmentCache cache) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompressArchiveUtil.archiveTARFiles(baseDir, files, out, compression, cache);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static Map<String, String> entries(InputStream archive) throws IOException {
+        Map<String, String> entries = new TreeMap<String, String>();
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(archive)) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                entries.put(entry.getName(), IOUtils.toString(tar, "UTF-8"));
+            }
+        }
+        return entries;
+    }
+
+    private int segments() {
+        return cacheDir.list(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(".segment");
+            }
+        }).length;
+    }
+}
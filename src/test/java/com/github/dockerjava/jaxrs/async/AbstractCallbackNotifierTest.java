@@ -0,0 +1,117 @@
+package com.github.dockerjava.jaxrs.async;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.core.Response;
+
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.core.async.ResponseStreamProcessor;
+import com.github.dockerjava.core.async.ResultCallbackTemplate;
+
+public class AbstractCallbackNotifierTest {
+
+    @Test
+    public void rejectsWhenSaturated() throws Exception {
+        ThreadPoolExecutor executor = AbstractCallbackNotifier.newAsyncExecutor(2);
+        CountDownLatch blocker = new CountDownLatch(1);
+
+        try {
+            AbstractCallbackNotifier.startAsyncProcessing(new BlockingNotifier(blocker, new Callback()), executor);
+            AbstractCallbackNotifier.startAsyncProcessing(new BlockingNotifier(blocker, new Callback()), executor);
+
+            // commands are never queued behind streams that may not end
+            assertEquals(executor.getPoolSize(), 2);
+            assertEquals(executor.getQueue().size(), 0);
+
+            Callback rejected = new Callback();
+            Future<Void> future = AbstractCallbackNotifier.startAsyncProcessing(new BlockingNotifier(blocker, rejected),
+                    executor);
+
+            assertTrue(future.isDone());
+            try {
+                rejected.awaitCompletion();
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+            throw new AssertionError("callback was not notified about the rejection");
+        } finally {
+            blocker.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void defaultExecutorDoesNotLimitConcurrentCommands() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+        try {
+            for (int i = 0; i < 150; i++) {
+                futures.add(AbstractCallbackNotifier.startAsyncProcessing(new BlockingNotifier(blocker, new Callback())));
+            }
+
+            for (Future<Void> future : futures) {
+                assertFalse(future.isDone());
+            }
+        } finally {
+            blocker.countDown();
+        }
+
+        for (Future<Void> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static class Callback extends ResultCallbackTemplate<Callback, Object> {
+        @Override
+        public void onNext(Object object) {
+        }
+    }
+
+    private static class BlockingNotifier extends AbstractCallbackNotifier<Object> {
+
+        private final CountDownLatch blocker;
+
+        BlockingNotifier(CountDownLatch blocker, ResultCallback<Object> resultCallback) {
+            super(new ResponseStreamProcessor<Object>() {
+                @Override
+                public void processResponseStream(InputStream response, ResultCallback<Object> resultCallback) {
+                }
+            }, resultCallback, (Builder) Proxy.newProxyInstance(Builder.class.getClassLoader(), new Class<?>[] {Builder.class},
+                    new InvocationHandler() {
+                        @Override
+                        public Object invoke(Object proxy, Method method, Object[] args) {
+                            throw new UnsupportedOperationException();
+                        }
+                    }));
+            this.blocker = blocker;
+        }
+
+        @Override
+        protected Response response() {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("no response in this test");
+        }
+    }
+}
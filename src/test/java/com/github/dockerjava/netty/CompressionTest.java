@@ -0,0 +1,127 @@
+package com.github.dockerjava.netty;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.command.CreateVolumeResponse;
+import com.github.dockerjava.api.model.Version;
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.command.CreateVolumeCmdImpl;
+import com.github.dockerjava.core.command.VersionCmdImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class CompressionTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private HttpServer server;
+
+    private String acceptEncoding;
+
+    private String contentEncoding;
+
+    private String requestBody;
+
+    private DockerCmdExecFactoryImpl factory;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+                contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+
+                InputStream body = exchange.getRequestBody();
+                if ("gzip".equals(contentEncoding)) {
+                    body = new GZIPInputStream(body);
+                }
+                requestBody = IOUtils.toString(body, "UTF-8");
+
+                String response = exchange.getRequestURI().getPath().endsWith("/version") ? "{\"Version\":\"1.10.3\"}"
+                        : "{\"Name\":\"volume\"}";
+
+                ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                if ("gzip".equals(acceptEncoding)) {
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                    GZIPOutputStream gzip = new GZIPOutputStream(encoded);
+                    gzip.write(response.getBytes(UTF_8));
+                    gzip.close();
+                } else {
+                    encoded.write(response.getBytes(UTF_8));
+                }
+
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, encoded.size());
+                OutputStream out = exchange.getResponseBody();
+                encoded.writeTo(out);
+                out.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterMethod
+    public void stopServer() throws IOException {
+        if (factory != null) {
+            factory.close();
+            factory = null;
+        }
+        server.stop(0);
+    }
+
+    @Test
+    public void gzipResponsesAreDecoded() throws Exception {
+        factory = init(new DockerCmdExecFactoryImpl());
+
+        Version version = new VersionCmdImpl(factory.createVersionCmdExec()).exec();
+
+        assertEquals(acceptEncoding, "gzip");
+        assertEquals(version.getVersion(), "1.10.3");
+    }
+
+    @Test
+    public void responseCompressionCanBeDisabled() throws Exception {
+        factory = init(new DockerCmdExecFactoryImpl().withResponseCompression(false));
+
+        Version version = new VersionCmdImpl(factory.createVersionCmdExec()).exec();
+
+        assertNull(acceptEncoding);
+        assertEquals(version.getVersion(), "1.10.3");
+    }
+
+    @Test
+    public void largeRequestBodiesAreCompressed() throws Exception {
+        factory = init(new DockerCmdExecFactoryImpl().withRequestCompressionThreshold(16));
+
+        CreateVolumeResponse response = new CreateVolumeCmdImpl(factory.createCreateVolumeCmdExec()).withName("volume")
+                .withDriver("local").exec();
+
+        assertEquals(contentEncoding, "gzip");
+        assertEquals(requestBody, "{\"Name\":\"volume\",\"Driver\":\"local\",\"DriverOpts\":null}");
+        assertEquals(response.getName(), "volume");
+    }
+
+    private DockerCmdExecFactoryImpl init(DockerCmdExecFactoryImpl execFactory) {
+        execFactory.init(DockerClientConfig.createDefaultConfigBuilder()
+                .withDockerHost("tcp://127.0.0.1:" + server.getAddress().getPort()).withDockerTlsVerify(false).build());
+        return execFactory;
+    }
+}
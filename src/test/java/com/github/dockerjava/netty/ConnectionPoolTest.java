@@ -0,0 +1,126 @@
+package com.github.dockerjava.netty;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.exception.DockerClientException;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.async.ResultCallbackTemplate;
+import com.github.dockerjava.core.command.EventsCmdImpl;
+import com.github.dockerjava.core.command.LogContainerCmdImpl;
+import com.github.dockerjava.core.command.VersionCmdImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class ConnectionPoolTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private CountDownLatch blockedResponses;
+
+    private DockerCmdExecFactoryImpl factory;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        blockedResponses = new CountDownLatch(1);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String path = exchange.getRequestURI().getPath();
+
+                if (path.endsWith("/events") || path.endsWith("/logs")) {
+                    // a stream that doesn't end before the test does
+                    exchange.sendResponseHeaders(200, 0);
+                    try {
+                        blockedResponses.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    exchange.close();
+                    return;
+                }
+
+                byte[] response = "{\"Version\":\"1.10.3\"}".getBytes(UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+
+                OutputStream out = exchange.getResponseBody();
+                out.write(response);
+                out.close();
+            }
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        factory = new DockerCmdExecFactoryImpl().withMaxPerRouteConnections(1).withConnectionRequestTimeout(500);
+        factory.init(DockerClientConfig.createDefaultConfigBuilder()
+                .withDockerHost("tcp://127.0.0.1:" + server.getAddress().getPort()).withDockerTlsVerify(false).build());
+    }
+
+    @AfterMethod
+    public void stopServer() throws IOException {
+        blockedResponses.countDown();
+        factory.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test(timeOut = 10000)
+    public void streamsThatMayNotEndDontUseUpThePool() throws Exception {
+        new EventsCmdImpl(factory.createEventsCmdExec()).exec(new EventsCallback());
+        new LogContainerCmdImpl(factory.createLogContainerCmdExec(), "id").withFollowStream(true).exec(new LogCallback());
+
+        assertEquals(new VersionCmdImpl(factory.createVersionCmdExec()).exec().getVersion(), "1.10.3");
+    }
+
+    @Test(timeOut = 10000)
+    public void waitingForAPooledConnectionTimesOut() throws Exception {
+        // holds the only pooled connection
+        new LogContainerCmdImpl(factory.createLogContainerCmdExec(), "id").exec(new LogCallback());
+
+        long start = System.nanoTime();
+
+        try {
+            new VersionCmdImpl(factory.createVersionCmdExec()).exec();
+            fail("expected DockerClientException");
+        } catch (DockerClientException e) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 400);
+        }
+    }
+
+    private static class EventsCallback extends ResultCallbackTemplate<EventsCallback, Event> {
+        @Override
+        public void onNext(Event object) {
+        }
+    }
+
+    private static class LogCallback extends ResultCallbackTemplate<LogCallback, Frame> {
+        @Override
+        public void onNext(Frame object) {
+        }
+    }
+}
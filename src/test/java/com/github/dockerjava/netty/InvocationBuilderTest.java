@@ -0,0 +1,180 @@
+package com.github.dockerjava.netty;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DuplexChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.util.ReferenceCountUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.dockerjava.api.model.Version;
+import com.github.dockerjava.netty.handler.HttpPipeliningHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import sh.hyper.hyperjava.netty.handler.HyperAuthHandler;
+
+public class InvocationBuilderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private HttpServer server;
+
+    private EventLoopGroup eventLoopGroup;
+
+    private final List<String> requests = new ArrayList<String>();
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        requests.clear();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                requests.add(exchange.getRequestMethod());
+
+                byte[] response = "{\"Version\":\"1.10.3\"}".getBytes(UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+
+                OutputStream out = exchange.getResponseBody();
+                out.write(response);
+                out.close();
+            }
+        });
+        server.start();
+
+        eventLoopGroup = new NioEventLoopGroup(1);
+    }
+
+    @AfterMethod
+    public void stopServer() throws Exception {
+        eventLoopGroup.shutdownGracefully().sync();
+        server.stop(0);
+    }
+
+    @Test(timeOut = 10000)
+    public void idempotentRequestsAreSentAgainIfTheWriteFailed() throws Exception {
+        TestChannelProvider channelProvider = new TestChannelProvider(1);
+
+        Version version = new WebTarget(channelProvider).path("version").request().get(new TypeReference<Version>() {
+        });
+
+        assertEquals(version.getVersion(), "1.10.3");
+        assertEquals(requests.size(), 1);
+        assertEquals(channelProvider.released.size(), 2);
+        assertFalse(channelProvider.released.get(0).isOpen());
+    }
+
+    @Test(timeOut = 10000)
+    public void otherRequestsFailIfTheWriteFailed() throws Exception {
+        TestChannelProvider channelProvider = new TestChannelProvider(1);
+
+        try {
+            new WebTarget(channelProvider).path("containers", "id", "wait").request().post((Object) null,
+                    new TypeReference<Version>() {
+                    });
+            fail("expected RuntimeException");
+        } catch (RuntimeException e) {
+            assertEquals(e.getCause().getMessage(), "Broken pipe");
+        }
+
+        assertEquals(requests.size(), 0);
+        assertEquals(channelProvider.released.size(), 1);
+        assertFalse(channelProvider.released.get(0).isOpen());
+    }
+
+    /**
+     * Hands out channels whose writes fail first, like a pooled connection that was closed by the server while it was idle.
+     */
+    private class TestChannelProvider implements ChannelProvider {
+
+        private int brokenChannels;
+
+        private final List<DuplexChannel> released = new ArrayList<DuplexChannel>();
+
+        TestChannelProvider(int brokenChannels) {
+            this.brokenChannels = brokenChannels;
+        }
+
+        @Override
+        public DuplexChannel getChannel() {
+            final boolean broken = brokenChannels-- > 0;
+
+            try {
+                return (DuplexChannel) new Bootstrap().group(eventLoopGroup).channel(NioSocketChannel.class)
+                        .handler(new ChannelInitializer<DuplexChannel>() {
+                            @Override
+                            protected void initChannel(DuplexChannel channel) throws Exception {
+                                channel.pipeline().addLast(new HttpClientCodec());
+                                if (broken) {
+                                    channel.pipeline().addLast(new BrokenPipeHandler());
+                                }
+                            }
+                        }).connect(server.getAddress()).sync().channel();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void releaseChannel(DuplexChannel channel) {
+            released.add(channel);
+        }
+
+        @Override
+        public DuplexChannel getDedicatedChannel() {
+            return getChannel();
+        }
+
+        @Override
+        public HttpPipeliningHandler getPipeliningHandler() {
+            return null;
+        }
+
+        @Override
+        public HyperAuthHandler getHyperAuthHandler() {
+            return null;
+        }
+
+        @Override
+        public boolean isResponseCompressionEnabled() {
+            return false;
+        }
+
+        @Override
+        public int getRequestCompressionThreshold() {
+            return -1;
+        }
+    }
+
+    private static class BrokenPipeHandler extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            ReferenceCountUtil.release(msg);
+            promise.setFailure(new IOException("Broken pipe"));
+        }
+    }
+}
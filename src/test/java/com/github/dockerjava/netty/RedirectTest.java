@@ -0,0 +1,114 @@
+package com.github.dockerjava.netty;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Version;
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.command.VersionCmdImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class RedirectTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private HttpServer server;
+
+    private String location;
+
+    private final List<InetSocketAddress> clients = new ArrayList<InetSocketAddress>();
+
+    private DockerCmdExecFactoryImpl factory;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        clients.clear();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                clients.add(exchange.getRemoteAddress());
+
+                byte[] response;
+
+                if ("close".equals(exchange.getRequestURI().getQuery())) {
+                    // drops the connection without a response
+                    exchange.close();
+                    return;
+                } else if (exchange.getRequestURI().getQuery() == null) {
+                    response = "Moved Permanently".getBytes(UTF_8);
+                    exchange.getResponseHeaders().set("Location", location);
+                    exchange.sendResponseHeaders(301, response.length);
+                } else {
+                    response = "{\"Version\":\"1.10.3\"}".getBytes(UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, response.length);
+                }
+
+                OutputStream out = exchange.getResponseBody();
+                out.write(response);
+                out.close();
+            }
+        });
+        server.start();
+
+        factory = new DockerCmdExecFactoryImpl();
+        factory.init(DockerClientConfig.createDefaultConfigBuilder()
+                .withDockerHost("tcp://127.0.0.1:" + server.getAddress().getPort()).withDockerTlsVerify(false).build());
+    }
+
+    @AfterMethod
+    public void stopServer() throws IOException {
+        factory.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void relativeRedirectsAreFollowedOnTheSameConnection() throws Exception {
+        location = "/version?moved=true";
+
+        Version version = new VersionCmdImpl(factory.createVersionCmdExec()).exec();
+
+        assertEquals(version.getVersion(), "1.10.3");
+        assertEquals(clients.size(), 2);
+        assertEquals(clients.get(1), clients.get(0));
+    }
+
+    @Test
+    public void redirectsToOtherHostsFail() throws Exception {
+        location = "http://example.com/version?moved=true";
+
+        try {
+            new VersionCmdImpl(factory.createVersionCmdExec()).exec();
+            fail("expected DockerException");
+        } catch (DockerException e) {
+            assertEquals(e.getHttpStatus(), 301);
+        }
+
+        // the connection is still usable afterwards
+        location = "/version?moved=true";
+        assertEquals(new VersionCmdImpl(factory.createVersionCmdExec()).exec().getVersion(), "1.10.3");
+    }
+
+    @Test(expectedExceptions = RuntimeException.class, timeOut = 10000)
+    public void connectionsClosedDuringARedirectFail() throws Exception {
+        location = "/version?close";
+
+        new VersionCmdImpl(factory.createVersionCmdExec()).exec();
+    }
+}
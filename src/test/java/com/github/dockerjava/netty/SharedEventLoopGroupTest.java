@@ -0,0 +1,71 @@
+package com.github.dockerjava.netty;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import io.netty.channel.nio.NioEventLoopGroup;
+
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.core.DockerClientConfig;
+
+public class SharedEventLoopGroupTest {
+
+    @Test
+    public void groupIsShutDownWhenTheLastFactoryIsClosed() throws Exception {
+        SharedEventLoopGroup sharedGroup = SharedEventLoopGroup.create(1);
+
+        DockerCmdExecFactoryImpl first = new DockerCmdExecFactoryImpl().withEventLoopGroup(sharedGroup);
+        DockerCmdExecFactoryImpl second = new DockerCmdExecFactoryImpl().withEventLoopGroup(sharedGroup);
+
+        first.init(config("tcp://us-west-1.hyper.sh:443"));
+        second.init(config("tcp://eu-central-1.hyper.sh:443"));
+
+        assertEquals(sharedGroup.getReferences(), 2);
+
+        first.close();
+
+        assertFalse(sharedGroup.getEventLoopGroup().isShuttingDown());
+
+        second.close();
+
+        assertEquals(sharedGroup.getReferences(), 0);
+        assertTrue(sharedGroup.getEventLoopGroup().isShuttingDown());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void groupCannotBeUsedAfterShutdown() throws Exception {
+        SharedEventLoopGroup sharedGroup = SharedEventLoopGroup.create(1);
+
+        DockerCmdExecFactoryImpl factory = new DockerCmdExecFactoryImpl().withEventLoopGroup(sharedGroup);
+        factory.init(config("tcp://us-west-1.hyper.sh:443"));
+        factory.close();
+
+        new DockerCmdExecFactoryImpl().withEventLoopGroup(sharedGroup).init(config("tcp://us-west-1.hyper.sh:443"));
+    }
+
+    @Test
+    public void referenceIsReleasedIfTheGroupDoesNotMatchTheTransport() throws Exception {
+        SharedEventLoopGroup sharedGroup = new SharedEventLoopGroup(new NioEventLoopGroup(1));
+
+        DockerCmdExecFactoryImpl tcpFactory = new DockerCmdExecFactoryImpl().withEventLoopGroup(sharedGroup);
+        tcpFactory.init(config("tcp://us-west-1.hyper.sh:443"));
+
+        try {
+            new DockerCmdExecFactoryImpl().withEventLoopGroup(sharedGroup).init(config("unix:///var/run/docker.sock"));
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(sharedGroup.getReferences(), 1);
+        }
+
+        tcpFactory.close();
+
+        assertTrue(sharedGroup.getEventLoopGroup().isShuttingDown());
+    }
+
+    private static DockerClientConfig config(String dockerHost) {
+        return DockerClientConfig.createDefaultConfigBuilder().withDockerHost(dockerHost).withDockerTlsVerify(false).build();
+    }
+}
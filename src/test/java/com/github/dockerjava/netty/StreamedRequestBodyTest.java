@@ -0,0 +1,117 @@
+package com.github.dockerjava.netty;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.command.CopyArchiveToContainerCmdImpl;
+import com.github.dockerjava.core.util.TempFileInputStream;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class StreamedRequestBodyTest {
+
+    private HttpServer server;
+
+    private String contentLength;
+
+    private String transferEncoding;
+
+    private String contentSha256;
+
+    private byte[] requestBody;
+
+    private DockerCmdExecFactoryImpl factory;
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+                transferEncoding = exchange.getRequestHeaders().getFirst("Transfer-Encoding");
+                contentSha256 = exchange.getRequestHeaders().getFirst("X-Hyper-Content-Sha256");
+                requestBody = IOUtils.toByteArray(exchange.getRequestBody());
+
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+
+        factory = new DockerCmdExecFactoryImpl();
+        factory.init(DockerClientConfig.createDefaultConfigBuilder()
+                .withDockerHost("tcp://127.0.0.1:" + server.getAddress().getPort()).withDockerTlsVerify(false).build());
+    }
+
+    @AfterMethod
+    public void stopServer() throws IOException {
+        factory.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void fileIsSentWithItsLength() throws Exception {
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        File file = File.createTempFile("archive", ".tar");
+        FileUtils.writeByteArrayToFile(file, content);
+
+        new CopyArchiveToContainerCmdImpl(factory.createCopyArchiveToContainerCmdExec(), "container")
+                .withTarInputStream(new TempFileInputStream(file)).exec();
+
+        assertEquals(contentLength, String.valueOf(content.length));
+        assertNull(transferEncoding);
+        assertEquals(contentSha256, DigestUtils.sha256Hex(content));
+        assertEquals(requestBody, content);
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void fileIsSentFromTheCurrentPosition() throws Exception {
+        File file = File.createTempFile("archive", ".tar");
+        FileUtils.writeStringToFile(file, "skipped|content");
+
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            IOUtils.skipFully(stream, 8);
+
+            new CopyArchiveToContainerCmdImpl(factory.createCopyArchiveToContainerCmdExec(), "container")
+                    .withTarInputStream(stream).exec();
+        } finally {
+            stream.close();
+            file.delete();
+        }
+
+        assertEquals(new String(requestBody, "UTF-8"), "content");
+        assertEquals(contentSha256, DigestUtils.sha256Hex("content"));
+    }
+
+    @Test
+    public void otherStreamsAreChunked() throws Exception {
+        new CopyArchiveToContainerCmdImpl(factory.createCopyArchiveToContainerCmdExec(), "container")
+                .withTarInputStream(new ByteArrayInputStream("content".getBytes("UTF-8"))).exec();
+
+        assertEquals(transferEncoding, "chunked");
+        assertEquals(new String(requestBody, "UTF-8"), "content");
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.dockerjava.netty.handler;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.nio.charset.Charset;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.model.StreamType;
+
+public class FrameDecoderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void decodesFramesSplitAcrossBuffers() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new FrameDecoder());
+
+        ByteBuf stream = Unpooled.buffer();
+        stream.writeBytes(frame(1, "stdout"));
+        stream.writeBytes(frame(2, "stderr"));
+
+        channel.writeInbound(stream.readSlice(5).retain());
+        assertNull(channel.readInbound());
+
+        channel.writeInbound(stream.readSlice(stream.readableBytes()).retain());
+        stream.release();
+
+        assertFrame((ByteBufFrame) channel.readInbound(), StreamType.STDOUT, "stdout");
+        assertFrame((ByteBufFrame) channel.readInbound(), StreamType.STDERR, "stderr");
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void passesStreamWithoutHeaderAsRaw() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new FrameDecoder());
+
+        channel.writeInbound(Unpooled.copiedBuffer("tty output", UTF_8));
+
+        assertFrame((ByteBufFrame) channel.readInbound(), StreamType.RAW, "tty output");
+    }
+
+    private void assertFrame(ByteBufFrame frame, StreamType streamType, String payload) {
+        assertEquals(frame.getStreamType(), streamType);
+        assertEquals(frame.content().toString(UTF_8), payload);
+        frame.release();
+    }
+
+    private ByteBuf frame(int streamType, String payload) {
+        byte[] bytes = payload.getBytes(UTF_8);
+        ByteBuf frame = Unpooled.buffer();
+        frame.writeByte(streamType).writeZero(3).writeInt(bytes.length).writeBytes(bytes);
+        return frame;
+    }
+}
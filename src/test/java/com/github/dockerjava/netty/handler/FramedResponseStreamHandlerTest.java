@@ -0,0 +1,94 @@
+package com.github.dockerjava.netty.handler;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.core.async.FrameSink;
+import com.github.dockerjava.core.async.ResultCallbackTemplate;
+
+public class FramedResponseStreamHandlerTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void framesOutliveTheReceivedBuffer() throws Exception {
+        FrameCollector collector = new FrameCollector();
+        EmbeddedChannel channel = new EmbeddedChannel(new FramedResponseStreamHandler(collector));
+
+        ByteBuf content = Unpooled.copiedBuffer("stdout", UTF_8);
+        channel.writeInbound(new ByteBufFrame(StreamType.STDOUT, content));
+
+        // the handler released the buffer, which may be recycled by now
+        assertEquals(content.refCnt(), 0);
+        assertEquals(collector.frames.size(), 1);
+        assertEquals(collector.frames.get(0), new Frame(StreamType.STDOUT, "stdout".getBytes(UTF_8)));
+    }
+
+    @Test
+    public void sinksReadTheReceivedBuffer() throws Exception {
+        SinkCollector collector = new SinkCollector();
+        EmbeddedChannel channel = new EmbeddedChannel(new FramedResponseStreamHandler(collector));
+
+        ByteBuf received = Unpooled.copiedBuffer("xxstderr", UTF_8);
+        channel.writeInbound(new ByteBufFrame(StreamType.STDERR, received.slice(2, 6)));
+
+        assertEquals(collector.payloads, "STDERR:stderr");
+    }
+
+    @Test
+    public void sinksReadDirectBuffersIntoAReusedArray() throws Exception {
+        SinkCollector collector = new SinkCollector();
+        EmbeddedChannel channel = new EmbeddedChannel(new FramedResponseStreamHandler(collector));
+
+        channel.writeInbound(new ByteBufFrame(StreamType.STDOUT, directBuffer("stdout")));
+        channel.writeInbound(new ByteBufFrame(StreamType.STDERR, directBuffer("err")));
+
+        assertEquals(collector.payloads, "STDOUT:stdoutSTDERR:err");
+        assertSame(collector.buffers.get(1), collector.buffers.get(0));
+    }
+
+    private static ByteBuf directBuffer(String content) {
+        byte[] bytes = content.getBytes(UTF_8);
+        return Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+    }
+
+    private static class FrameCollector extends ResultCallbackTemplate<FrameCollector, Frame> {
+
+        private final List<Frame> frames = new ArrayList<Frame>();
+
+        @Override
+        public void onNext(Frame frame) {
+            frames.add(frame);
+        }
+    }
+
+    private static class SinkCollector extends ResultCallbackTemplate<SinkCollector, Frame> implements FrameSink {
+
+        private String payloads = "";
+
+        private final List<byte[]> buffers = new ArrayList<byte[]>();
+
+        @Override
+        public void onNext(Frame frame) {
+            throw new AssertionError("sinks are not passed frames");
+        }
+
+        @Override
+        public void onFrame(StreamType streamType, byte[] buffer, int offset, int length) throws IOException {
+            payloads += streamType + ":" + new String(buffer, offset, length, UTF_8);
+            buffers.add(buffer);
+        }
+    }
+}
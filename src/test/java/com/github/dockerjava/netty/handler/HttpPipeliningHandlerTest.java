@@ -0,0 +1,117 @@
+package com.github.dockerjava.netty.handler;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.Charset;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.testng.annotations.Test;
+
+import com.github.dockerjava.core.async.ResultCallbackTemplate;
+
+public class HttpPipeliningHandlerTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void responsesAreDispatchedInRequestOrder() throws Exception {
+        final HttpPipeliningHandler[] drained = new HttpPipeliningHandler[1];
+
+        HttpPipeliningHandler pipeliningHandler = new HttpPipeliningHandler(16, new HttpPipeliningHandler.DrainListener() {
+            @Override
+            public void drained(HttpPipeliningHandler handler) {
+                drained[0] = handler;
+            }
+        });
+
+        EmbeddedChannel channel = new EmbeddedChannel(pipeliningHandler);
+        // the exchange handlers must be added at the end of the pipeline, so drop the inbound collector of EmbeddedChannel
+        channel.pipeline().removeLast();
+
+        StringCallback first = submit(pipeliningHandler, "/first");
+        StringCallback second = submit(pipeliningHandler, "/second");
+
+        channel.runPendingTasks();
+
+        assertEquals(((HttpRequest) channel.readOutbound()).uri(), "/first");
+        assertEquals(((HttpRequest) channel.readOutbound()).uri(), "/second");
+        assertEquals(pipeliningHandler.getPendingRequests(), 2);
+
+        writeResponse(channel, "first response");
+
+        assertEquals(first.getResult(), "first response");
+        assertNull(second.getResult());
+        assertNull(drained[0]);
+
+        writeResponse(channel, "second response");
+
+        assertEquals(second.getResult(), "second response");
+        assertSame(drained[0], pipeliningHandler);
+        assertNull(channel.pipeline().context(pipeliningHandler));
+    }
+
+    @Test
+    public void reservationFailsWhenPipelineIsFull() throws Exception {
+        HttpPipeliningHandler pipeliningHandler = new HttpPipeliningHandler(1, new HttpPipeliningHandler.DrainListener() {
+            @Override
+            public void drained(HttpPipeliningHandler handler) {
+            }
+        });
+
+        assertTrue(pipeliningHandler.tryReserve());
+        assertEquals(pipeliningHandler.tryReserve(), false);
+    }
+
+    private StringCallback submit(HttpPipeliningHandler pipeliningHandler, String uri) {
+        final StringCallback callback = new StringCallback();
+
+        HttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri);
+
+        assertTrue(pipeliningHandler.tryReserve());
+
+        HttpPipeliningHandler.Exchange exchange = pipeliningHandler.newExchange(request, callback);
+        exchange.addLast(new HttpResponseHandler(null, callback, exchange), new SimpleChannelInboundHandler<ByteBuf>() {
+            @Override
+            protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
+                callback.onNext(msg.toString(UTF_8));
+            }
+        });
+
+        pipeliningHandler.submit(exchange);
+
+        return callback;
+    }
+
+    private void writeResponse(EmbeddedChannel channel, String body) {
+        channel.writeInbound(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK));
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer(body, UTF_8)));
+    }
+
+    private static class StringCallback extends ResultCallbackTemplate<StringCallback, String> {
+
+        private String result;
+
+        @Override
+        public void onNext(String object) {
+            result = object;
+        }
+
+        public String getResult() {
+            return result;
+        }
+    }
+}
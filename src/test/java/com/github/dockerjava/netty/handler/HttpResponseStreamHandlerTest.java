@@ -1,15 +1,16 @@
 package com.github.dockerjava.netty.handler;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.Unpooled;
-import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.apache.commons.io.IOUtils;
-import org.mockito.Mockito;
 import org.testng.annotations.Test;
 
 import com.github.dockerjava.core.async.ResultCallbackTemplate;
@@ -21,21 +22,46 @@ public class HttpResponseStreamHandlerTest {
     @Test
     public void testNoBytesSkipped() throws Exception {
         ResultCallbackTest callback = new ResultCallbackTest();
-        HttpResponseStreamHandler streamHandler = new HttpResponseStreamHandler(callback);
-        ChannelHandlerContext ctx = Mockito.mock(ChannelHandlerContext.class);
-        ByteBuf buffer = generateByteBuf();
-        streamHandler.channelRead0(ctx, buffer);
-        streamHandler.channelReadComplete(ctx);
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpResponseStreamHandler(callback));
+        byte[] expected = generateBytes(256);
+        ByteBuf buffer = Unpooled.copiedBuffer(expected);
+        channel.writeInbound(buffer);
+        channel.pipeline().fireUserEventTriggered(HttpResponseEvent.LAST_CONTENT);
 
-        assertTrue(IOUtils.contentEquals(callback.getInputStream(), new ByteBufInputStream(buffer)));
+        assertTrue(IOUtils.contentEquals(callback.getInputStream(), new ByteArrayInputStream(expected)));
+        assertEquals(buffer.refCnt(), 0);
     }
 
-    private ByteBuf generateByteBuf() {
-        byte[] array = new byte[256];
+    @Test
+    public void testReadingIsSuspendedAboveHighWaterMark() throws Exception {
+        ResultCallbackTest callback = new ResultCallbackTest();
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpResponseStreamHandler(callback));
+        byte[] chunk = generateBytes(HttpResponseStreamHandler.HIGH_WATER_MARK / 2 + 1);
+
+        channel.writeInbound(Unpooled.copiedBuffer(chunk));
+        assertTrue(channel.config().isAutoRead());
+
+        channel.writeInbound(Unpooled.copiedBuffer(chunk));
+        assertFalse(channel.config().isAutoRead());
+
+        InputStream stream = callback.getInputStream();
+        IOUtils.readFully(stream, new byte[chunk.length]);
+        assertFalse(channel.config().isAutoRead());
+
+        IOUtils.readFully(stream, new byte[chunk.length - HttpResponseStreamHandler.LOW_WATER_MARK + 1]);
+        assertTrue(channel.config().isAutoRead());
+
+        channel.pipeline().fireUserEventTriggered(HttpResponseEvent.LAST_CONTENT);
+        IOUtils.readFully(stream, new byte[HttpResponseStreamHandler.LOW_WATER_MARK - 1]);
+        assertEquals(stream.read(), -1);
+    }
+
+    private byte[] generateBytes(int length) {
+        byte[] array = new byte[length];
         for (int i = 0; i < array.length; i++) {
             array[i] = (byte) i;
         }
-        return Unpooled.copiedBuffer(array);
+        return array;
     }
 
     private static class ResultCallbackTest extends ResultCallbackTemplate<ResultCallbackTest, InputStream> {
@@ -0,0 +1,34 @@
+package sh.hyper.hyperjava.auth;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.testng.annotations.Test;
+
+public class ClockSkewTest {
+
+    @Test
+    public void learnsOffsetOfServer() throws Exception {
+        ClockSkew clockSkew = new ClockSkew();
+
+        clockSkew.update(new Date(System.currentTimeMillis() + 1000));
+        assertEquals(clockSkew.getOffsetMillis(), 0);
+        assertFalse(clockSkew.isCorrectedSince(0));
+
+        clockSkew.update(new Date(System.currentTimeMillis() - 600 * 1000));
+        long offset = clockSkew.getOffsetMillis();
+        assertTrue(Math.abs(offset + 600 * 1000) < ClockSkew.TOLERANCE_MILLIS);
+        assertTrue(ClockSkew.now(offset).getTime() < System.currentTimeMillis() - 590 * 1000);
+        assertTrue(clockSkew.isCorrectedSince(0));
+
+        // the same offset again is no correction
+        clockSkew.update(new Date(System.currentTimeMillis() - 600 * 1000));
+        assertFalse(clockSkew.isCorrectedSince(offset));
+
+        clockSkew.update(new Date());
+        assertEquals(clockSkew.getOffsetMillis(), 0);
+    }
+}
@@ -8,17 +8,111 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicHttpEntityEnclosingRequest;
 import org.testng.annotations.Test;
 
+import static org.testng.Assert.assertEquals;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.Date;
 import java.util.Map;
 import java.util.TreeMap;
 
 public class HyperAWSV4AuthTest {
 
+    // 2016-07-12T03:38:26Z
+    private static final Date REQUEST_DATE = new Date(1468294706000L);
+
+    @Test
+    public void testSignatureForGet() {
+        TreeMap<String, String> queryParameters = new TreeMap<String, String>();
+        queryParameters.put("all", "true");
+
+        for (int i = 0; i < 2; i++) {
+            // the second run uses the cached signing key
+            Map<String, String> header = new AWSV4Auth.Builder("ACCESSKEY", "SECRETKEY")
+                    .host("us-west-1.hyper.sh")
+                    .httpMethodName("GET")
+                    .canonicalURI("v1.23/containers/json")
+                    .queryParametes(queryParameters)
+                    .awsHeaders(new TreeMap<String, String>())
+                    .requestDate(REQUEST_DATE)
+                    .build()
+                    .getHeaders();
+
+            assertEquals(header.get("Authorization"), "HYPER-HMAC-SHA256 Credential=ACCESSKEY/20160712/us-west-1/hyper/hyper_request, "
+                    + "SignedHeaders=content-type;host;x-hyper-content-sha256;x-hyper-date, "
+                    + "Signature=2fcc13a2323d1b0995a94c053c4781b8c9a10e3eec640dc05cc57c6d8960a816");
+            assertEquals(header.get("X-Hyper-Date"), "20160712T033826Z");
+            assertEquals(header.get("X-Hyper-Content-Sha256"), "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        }
+    }
+
+    @Test
+    public void testSignatureForPost() {
+        Map<String, String> header = new AWSV4Auth.Builder("ACCESSKEY", "SECRETKEY")
+                .host("us-west-1.hyper.sh")
+                .httpMethodName("POST")
+                .canonicalURI("v1.23/containers/create")
+                .awsHeaders(new TreeMap<String, String>())
+                .payload("{\"Image\":\"busybox\"}")
+                .requestDate(REQUEST_DATE)
+                .build()
+                .getHeaders();
+
+        assertEquals(header.get("Authorization"), "HYPER-HMAC-SHA256 Credential=ACCESSKEY/20160712/us-west-1/hyper/hyper_request, "
+                + "SignedHeaders=content-type;host;x-hyper-content-sha256;x-hyper-date, "
+                + "Signature=52830a829657cf57a488872f7c9902a02214ed67ae5581b716a956bc9bde42a7");
+        assertEquals(header.get("X-Hyper-Content-Sha256"), "ceb41829508a3bb5e4da1d1ddc827df6e9042efa48ac2ea5bf9d1c253ea86c19");
+    }
+
+    @Test
+    public void testSignatureWithEvictedSigningKeys() {
+        String expected = signatureForGet("SECRETKEY", REQUEST_DATE);
+
+        // more secrets and days than are cached
+        for (int i = 0; i < 100; i++) {
+            signatureForGet("SECRETKEY" + i, new Date(REQUEST_DATE.getTime() + (i % 3) * 24 * 3600 * 1000L));
+        }
+
+        assertEquals(signatureForGet("SECRETKEY", REQUEST_DATE), expected);
+        assertEquals(expected, "HYPER-HMAC-SHA256 Credential=ACCESSKEY/20160712/us-west-1/hyper/hyper_request, "
+                + "SignedHeaders=content-type;host;x-hyper-content-sha256;x-hyper-date, "
+                + "Signature=fac28b2eeb6d889a8ce78fdd8530704bd970e51a8e5a7bf6257fbf4f623aec4d");
+    }
+
+    private static String signatureForGet(String secretKey, Date requestDate) {
+        return new AWSV4Auth.Builder("ACCESSKEY", secretKey)
+                .host("us-west-1.hyper.sh")
+                .httpMethodName("GET")
+                .canonicalURI("v1.23/version")
+                .awsHeaders(new TreeMap<String, String>())
+                .requestDate(requestDate)
+                .build()
+                .getHeaders()
+                .get("Authorization");
+    }
+
+    @Test
+    public void testSignatureForPayloadBytes() throws Exception {
+        Map<String, String> header = new AWSV4Auth.Builder("ACCESSKEY", "SECRETKEY")
+                .host("us-west-1.hyper.sh")
+                .httpMethodName("POST")
+                .canonicalURI("v1.23/containers/create")
+                .awsHeaders(new TreeMap<String, String>())
+                .payloadBytes("{\"Image\":\"busybox\"}".getBytes("UTF-8"))
+                .requestDate(REQUEST_DATE)
+                .build()
+                .getHeaders();
+
+        assertEquals(header.get("Authorization"), "HYPER-HMAC-SHA256 Credential=ACCESSKEY/20160712/us-west-1/hyper/hyper_request, "
+                + "SignedHeaders=content-type;host;x-hyper-content-sha256;x-hyper-date, "
+                + "Signature=52830a829657cf57a488872f7c9902a02214ed67ae5581b716a956bc9bde42a7");
+        assertEquals(header.get("X-Hyper-Content-Sha256"), "ceb41829508a3bb5e4da1d1ddc827df6e9042efa48ac2ea5bf9d1c253ea86c19");
+    }
+
     @Test
     public void testAuthForVersion() throws IOException {
 
@@ -0,0 +1,33 @@
+package sh.hyper.hyperjava.auth;
+
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+public class HyperCredentialsScopeTest {
+
+    @Test
+    public void nestedScopesRestoreOuterCredentials() {
+        HyperCredentials outer = new HyperCredentials("OUTER", "SECRET");
+        HyperCredentials inner = new HyperCredentials("INNER", "SECRET");
+
+        assertNull(HyperCredentialsScope.current());
+
+        HyperCredentialsScope outerScope = HyperCredentialsScope.open(outer);
+        try {
+            HyperCredentialsScope innerScope = HyperCredentialsScope.open(inner);
+            try {
+                assertSame(HyperCredentialsScope.current(), inner);
+            } finally {
+                innerScope.close();
+            }
+
+            assertSame(HyperCredentialsScope.current(), outer);
+        } finally {
+            outerScope.close();
+        }
+
+        assertNull(HyperCredentialsScope.current());
+    }
+}
@@ -0,0 +1,47 @@
+package sh.hyper.hyperjava.auth;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+public class SpooledPayloadTest {
+
+    @Test
+    public void hashesAndKeepsContent() throws Exception {
+        byte[] content = "{\"Image\":\"busybox\"}".getBytes("UTF-8");
+
+        SpooledPayload spooledPayload = SpooledPayload.spool(new ByteArrayInputStream(content));
+
+        assertEquals(spooledPayload.getLength(), content.length);
+        assertEquals(spooledPayload.getSha256Hex(), "ceb41829508a3bb5e4da1d1ddc827df6e9042efa48ac2ea5bf9d1c253ea86c19");
+
+        InputStream stream = spooledPayload.openStream();
+        try {
+            assertEquals(IOUtils.toByteArray(stream), content);
+        } finally {
+            stream.close();
+        }
+    }
+
+    @Test
+    public void spoolsLargePayloads() throws Exception {
+        byte[] content = new byte[1024 * 1024 + 17];
+        Arrays.fill(content, (byte) 'x');
+
+        SpooledPayload spooledPayload = SpooledPayload.spool(new ByteArrayInputStream(content));
+
+        assertEquals(spooledPayload.getLength(), content.length);
+
+        InputStream stream = spooledPayload.openStream();
+        try {
+            assertEquals(IOUtils.toByteArray(stream), content);
+        } finally {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package sh.hyper.hyperjava.jaxrs.filter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.MultivaluedMap;
+
+import sh.hyper.hyperjava.auth.AWSV4Auth;
+import sh.hyper.hyperjava.auth.EnvironmentCredentialsProvider;
+import sh.hyper.hyperjava.auth.SigningDebugLog;
+
+/**
+ * Compares the per request CPU time and allocation of {@link HyperAuthFilter} with the bare {@link AWSV4Auth} signature and
+ * with the debug output the filter always produced before (formatted log messages and a curl command line printed to stdout,
+ * here written to a discarding stream, so the contention on stdout is not even included).
+ *
+ * Not run by the test suite, start it via {@link #main(String[])}.
+ */
+public class HyperAuthFilterBenchmark {
+
+    private static final int REQUESTS = 20000;
+
+    private static final int ROUNDS = 10;
+
+    private static final URI URI = java.net.URI.create("https://us-west-1.hyper.sh/v1.23/containers/json?all=1");
+
+    private static final PrintStream NULL_OUT = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    });
+
+    public static void main(String[] args) throws Exception {
+        final HyperAuthFilter filter = new HyperAuthFilter();
+        final HyperAuthFilter filterWithDebugLog = new HyperAuthFilter(new EnvironmentCredentialsProvider(), new SigningDebugLog(1));
+
+        benchmark("AWSV4Auth only", new Task() {
+            @Override
+            public void run() {
+                sign();
+            }
+        });
+        benchmark("filter", new Task() {
+            @Override
+            public void run() throws IOException {
+                filter.filter(RequestContexts.create("GET", URI, null));
+            }
+        });
+        benchmark("filter + SigningDebugLog", new Task() {
+            @Override
+            public void run() throws IOException {
+                filterWithDebugLog.filter(RequestContexts.create("GET", URI, null));
+            }
+        });
+        benchmark("filter + former debug output", new Task() {
+            @Override
+            public void run() throws IOException {
+                ClientRequestContext requestContext = RequestContexts.create("GET", URI, null);
+                filter.filter(requestContext);
+                legacyDebugOutput(requestContext.getHeaders());
+            }
+        });
+    }
+
+    private static Map<String, String> sign() {
+        TreeMap<String, String> queryParameters = new TreeMap<String, String>();
+        queryParameters.put("all", "1");
+
+        return new AWSV4Auth.Builder("ACCESSKEY", "SECRETKEY")
+                .host(URI.getHost())
+                .regionName("us-west-1")
+                .httpMethodName("GET")
+                .canonicalURI(URI.getPath().substring(1))
+                .queryParametes(queryParameters)
+                .awsHeaders(new TreeMap<String, String>())
+                .build()
+                .getHeaders();
+    }
+
+    /**
+     * The output {@link HyperAuthFilter} produced for each request before.
+     */
+    private static void legacyDebugOutput(MultivaluedMap<String, Object> header) {
+        NULL_OUT.print(String.format("Add Hyper Auth Header: method(%s) - path(:%s)\n", "GET", URI.getPath()));
+        NULL_OUT.print(String.format("##generateHyperAuthHeader:header\nHost:%s\nPath:%s\nregionName:%s\ncanonicalURI:%s\n",
+                URI.getHost(), URI.getPath(), URI.getHost().split("\\.")[0], URI.getPath().substring(1)));
+        NULL_OUT.print(String.format("##generateHyperAuthHeader:\nparameter:%s\nuri:%s\n", URI.getQuery(), URI.toString()));
+
+        String curlCmd = "curl -v -k \\\n";
+        for (Map.Entry<String, List<Object>> entrySet : header.entrySet()) {
+            curlCmd += String.format(" -H \"%s: %s\" \\\n", entrySet.getKey(), entrySet.getValue().get(0));
+        }
+        curlCmd += String.format(" -X %s \\\n%s\n", "GET", URI.toString());
+        NULL_OUT.printf("##curl command line:\n%s\n", curlCmd);
+    }
+
+    private static void benchmark(String name, Task task) throws IOException {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long totalCpuTime = 0;
+        long totalAllocatedBytes = 0;
+        int measuredRounds = 0;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long cpuTime = threadMXBean.getCurrentThreadCpuTime();
+            long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+
+            for (int i = 0; i < REQUESTS; i++) {
+                task.run();
+            }
+
+            // the first half of the rounds warms up the JIT
+            if (round >= ROUNDS / 2) {
+                totalCpuTime += threadMXBean.getCurrentThreadCpuTime() - cpuTime;
+                totalAllocatedBytes += threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+                measuredRounds++;
+            }
+        }
+
+        System.out.println(String.format("%-32s %6d ns/request %7d bytes/request", name,
+                totalCpuTime / measuredRounds / REQUESTS, totalAllocatedBytes / measuredRounds / REQUESTS));
+    }
+
+    private interface Task {
+        void run() throws IOException;
+    }
+}
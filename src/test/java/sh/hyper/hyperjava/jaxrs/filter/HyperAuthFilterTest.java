@@ -0,0 +1,131 @@
+package sh.hyper.hyperjava.jaxrs.filter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+
+import org.testng.annotations.Test;
+
+import sh.hyper.hyperjava.auth.EnvironmentCredentialsProvider;
+import sh.hyper.hyperjava.auth.HyperCredentials;
+import sh.hyper.hyperjava.auth.HyperCredentialsProvider;
+import sh.hyper.hyperjava.auth.SigningDebugListener;
+
+public class HyperAuthFilterTest {
+
+    private static final URI URI = java.net.URI.create("https://us-west-1.hyper.sh/v1.23/containers/create");
+
+    @Test
+    public void signsTheSentBytes() throws Exception {
+        ClientRequestContext requestContext = RequestContexts.create("POST", URI, Collections.singletonMap("Image", "busybox"));
+
+        new HyperAuthFilter().filter(requestContext);
+
+        assertEquals(new String((byte[]) requestContext.getEntity(), "UTF-8"), "{\"Image\":\"busybox\"}");
+        assertEquals(requestContext.getHeaders().getFirst("X-Hyper-Content-Sha256"),
+                "ceb41829508a3bb5e4da1d1ddc827df6e9042efa48ac2ea5bf9d1c253ea86c19");
+        assertNotNull(requestContext.getHeaders().getFirst("Authorization"));
+    }
+
+    @Test
+    public void scopedCredentialsOverrideProvider() throws Exception {
+        ClientRequestContext requestContext = RequestContexts.create("GET", URI, null);
+        requestContext.setProperty(HyperAuthFilter.CREDENTIALS_PROPERTY, new HyperCredentials("TENANT", "SECRET"));
+
+        new HyperAuthFilter().filter(requestContext);
+
+        assertTrue(((String) requestContext.getHeaders().getFirst("Authorization")).contains("Credential=TENANT/"));
+    }
+
+    @Test
+    public void spooledBodyIsDeletedIfTheRequestIsNotSigned() throws Exception {
+        Set<String> spooledBefore = spooledFiles();
+
+        ClientRequestContext requestContext = RequestContexts.create("POST", URI, new ByteArrayInputStream(new byte[100]));
+
+        try {
+            new HyperAuthFilter(new HyperCredentialsProvider() {
+                @Override
+                public HyperCredentials getCredentials() {
+                    throw new IllegalStateException("no credentials");
+                }
+            }, null).filter(requestContext);
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals(spooledFiles(), spooledBefore);
+        }
+    }
+
+    @Test
+    public void spooledBodyIsDeletedOnceTheResponseArrived() throws Exception {
+        Set<String> spooledBefore = spooledFiles();
+
+        ClientRequestContext requestContext = RequestContexts.create("POST", URI, new ByteArrayInputStream(new byte[100]));
+
+        HyperAuthFilter filter = new HyperAuthFilter();
+        filter.filter(requestContext);
+
+        assertEquals(spooledFiles().size(), spooledBefore.size() + 1);
+
+        // e.g. aborted by another filter, so the body was never read
+        filter.filter(requestContext, (ClientResponseContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {ClientResponseContext.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return null;
+                    }
+                }));
+
+        assertEquals(spooledFiles(), spooledBefore);
+    }
+
+    private static Set<String> spooledFiles() {
+        String[] names = new File(System.getProperty("java.io.tmpdir")).list();
+        Set<String> spooled = new HashSet<String>();
+        for (String name : Arrays.asList(names)) {
+            if (name.startsWith("hyper-payload")) {
+                spooled.add(name);
+            }
+        }
+        return spooled;
+    }
+
+    @Test
+    public void debugListenerGetsRedactedHeaders() throws Exception {
+        final List<Map<String, String>> signed = new ArrayList<Map<String, String>>();
+
+        ClientRequestContext requestContext = RequestContexts.create("POST", URI, "{\"Image\":\"busybox\"}");
+
+        new HyperAuthFilter(new EnvironmentCredentialsProvider(), new SigningDebugListener() {
+            @Override
+            public void requestSigned(String method, URI uri, Map<String, String> headers, long payloadLength) {
+                assertEquals(payloadLength, 19);
+                signed.add(headers);
+            }
+        }).filter(requestContext);
+
+        assertEquals(signed.size(), 1);
+
+        String authorization = signed.get(0).get("Authorization");
+        assertTrue(authorization.endsWith("Signature=<redacted>"), authorization);
+        assertTrue(((String) requestContext.getHeaders().getFirst("Authorization")).matches(".*Signature=[0-9a-f]{64}"));
+    }
+}
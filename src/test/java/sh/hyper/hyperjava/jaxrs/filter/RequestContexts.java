@@ -0,0 +1,73 @@
+package sh.hyper.hyperjava.jaxrs.filter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.client.ClientConfig;
+
+/**
+ * Minimal {@link ClientRequestContext} for filter tests, only the methods used by {@link HyperAuthFilter} are supported.
+ */
+final class RequestContexts {
+
+    private RequestContexts() {
+    }
+
+    static ClientRequestContext create(final String method, final URI uri, final Object initialEntity) {
+        final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<String, Object>();
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        final ClientConfig configuration = new ClientConfig();
+
+        return (ClientRequestContext) Proxy.newProxyInstance(RequestContexts.class.getClassLoader(),
+                new Class<?>[] {ClientRequestContext.class}, new InvocationHandler() {
+
+                    private Object entity = initialEntity;
+
+                    @Override
+                    public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                        String name = m.getName();
+
+                        if (name.equals("getMethod")) {
+                            return method;
+                        } else if (name.equals("getUri")) {
+                            return uri;
+                        } else if (name.equals("getHeaders")) {
+                            return headers;
+                        } else if (name.equals("hasEntity")) {
+                            return entity != null;
+                        } else if (name.equals("getEntity")) {
+                            return entity;
+                        } else if (name.equals("setEntity")) {
+                            entity = args[0];
+                            return null;
+                        } else if (name.equals("getEntityAnnotations")) {
+                            return new Annotation[0];
+                        } else if (name.equals("getMediaType")) {
+                            return MediaType.APPLICATION_JSON_TYPE;
+                        } else if (name.equals("getProperty")) {
+                            return properties.get(args[0]);
+                        } else if (name.equals("setProperty")) {
+                            properties.put((String) args[0], args[1]);
+                            return null;
+                        } else if (name.equals("removeProperty")) {
+                            properties.remove(args[0]);
+                            return null;
+                        } else if (name.equals("getConfiguration")) {
+                            return configuration;
+                        }
+
+                        throw new UnsupportedOperationException(name);
+                    }
+                });
+    }
+}
@@ -0,0 +1,181 @@
+package sh.hyper.hyperjava.netty.handler;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.Map;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.testng.annotations.Test;
+
+import sh.hyper.hyperjava.auth.EnvironmentCredentialsProvider;
+import sh.hyper.hyperjava.auth.HyperCredentials;
+import sh.hyper.hyperjava.auth.SigningDebugListener;
+
+public class HyperAuthHandlerTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void signsEncodedContent() throws Exception {
+        final long[] signedLength = new long[1];
+
+        SigningDebugListener debugListener = new SigningDebugListener() {
+            @Override
+            public void requestSigned(String method, URI uri, Map<String, String> headers, long payloadLength) {
+                assertTrue(headers.get("Authorization").endsWith("Signature=<redacted>"));
+                signedLength[0] = payloadLength;
+            }
+        };
+
+        EmbeddedChannel channel = new EmbeddedChannel(new HyperAuthHandler("us-west-1.hyper.sh",
+                new EnvironmentCredentialsProvider(), debugListener));
+
+        channel.writeOutbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/v1.23/containers/create",
+                Unpooled.copiedBuffer("{\"Image\":\"busybox\"}", UTF_8)));
+
+        HttpRequest request = (HttpRequest) channel.readOutbound();
+
+        assertEquals(request.headers().get("X-Hyper-Content-Sha256"),
+                "ceb41829508a3bb5e4da1d1ddc827df6e9042efa48ac2ea5bf9d1c253ea86c19");
+        assertEquals(request.headers().get("Host"), "us-west-1.hyper.sh");
+        assertTrue(request.headers().get("Authorization").contains("/us-west-1/hyper/hyper_request, "));
+        assertTrue(request.headers().get("Authorization").matches(".*Signature=[0-9a-f]{64}"));
+        assertEquals(signedLength[0], 19);
+
+        channel.finish();
+    }
+
+    @Test
+    public void keepsHashOfStreamedBody() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new HyperAuthHandler("us-west-1.hyper.sh", new EnvironmentCredentialsProvider(),
+                null));
+
+        HttpRequest streamed = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/v1.23/build?t=test&rm=true");
+        streamed.headers().set(HyperAuthHandler.HEAD_X_HYPER_CONTENT_SHA256, "0123456789abcdef");
+
+        channel.writeOutbound(streamed);
+
+        HttpRequest request = (HttpRequest) channel.readOutbound();
+
+        assertEquals(request.headers().get("X-Hyper-Content-Sha256"), "0123456789abcdef");
+        assertTrue(request.headers().contains("Authorization"));
+
+        channel.finish();
+    }
+
+    @Test
+    public void signsScopedRequestsWithTheirCredentials() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new HyperAuthHandler("us-west-1.hyper.sh", new EnvironmentCredentialsProvider(),
+                null));
+
+        channel.writeOutbound(ScopedHttpRequests.newRequest(HttpMethod.GET, "/v1.23/containers/json",
+                new HyperCredentials("TENANT", "SECRET")));
+
+        HttpRequest request = (HttpRequest) channel.readOutbound();
+
+        assertTrue(request.headers().get("Authorization").contains("Credential=TENANT/"));
+
+        channel.finish();
+    }
+
+    @Test
+    public void retriesOnceWhenTheSignatureExpiredBecauseOfClockSkew() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new HyperAuthHandler("us-west-1.hyper.sh", new EnvironmentCredentialsProvider(),
+                null));
+
+        channel.writeOutbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/v1.23/containers/create",
+                Unpooled.copiedBuffer("{\"Image\":\"busybox\"}", UTF_8)));
+        FullHttpRequest first = (FullHttpRequest) channel.readOutbound();
+        String firstDate = first.headers().get("X-Hyper-Date");
+        first.release();
+
+        // the server is an hour ahead and rejects the request
+        Date serverDate = new Date(System.currentTimeMillis() + 3600 * 1000);
+        writeResponse(channel, HttpResponseStatus.UNAUTHORIZED, serverDate);
+
+        assertNull(channel.readInbound());
+
+        FullHttpRequest retry = (FullHttpRequest) channel.readOutbound();
+        assertEquals(retry.content().toString(UTF_8), "{\"Image\":\"busybox\"}");
+        assertNotEquals(retry.headers().get("X-Hyper-Date"), firstDate);
+        retry.release();
+
+        // a second rejection is passed on
+        writeResponse(channel, HttpResponseStatus.UNAUTHORIZED, serverDate);
+
+        HttpResponse response = (HttpResponse) channel.readInbound();
+        assertEquals(response.status(), HttpResponseStatus.UNAUTHORIZED);
+        assertNull(channel.readOutbound());
+
+        channel.finish();
+    }
+
+    @Test
+    public void retriesConcurrentRequestsSignedBeforeTheCorrection() throws Exception {
+        HyperAuthHandler handler = new HyperAuthHandler("us-west-1.hyper.sh", new EnvironmentCredentialsProvider(), null);
+        EmbeddedChannel first = new EmbeddedChannel(handler);
+        EmbeddedChannel second = new EmbeddedChannel(handler);
+
+        first.writeOutbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/v1.23/info"));
+        second.writeOutbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/v1.23/version"));
+        ((FullHttpRequest) first.readOutbound()).release();
+        ((FullHttpRequest) second.readOutbound()).release();
+
+        Date serverDate = new Date(System.currentTimeMillis() + 3600 * 1000);
+        writeResponse(first, HttpResponseStatus.UNAUTHORIZED, serverDate);
+        ((FullHttpRequest) first.readOutbound()).release();
+
+        // this response doesn't change the offset anymore, but the request was signed with the old one
+        writeResponse(second, HttpResponseStatus.UNAUTHORIZED, serverDate);
+
+        assertNull(second.readInbound());
+        FullHttpRequest retry = (FullHttpRequest) second.readOutbound();
+        assertEquals(retry.uri(), "/v1.23/version");
+        retry.release();
+
+        first.finish();
+        second.finish();
+    }
+
+    @Test
+    public void doesNotRetryWithoutClockCorrection() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new HyperAuthHandler("us-west-1.hyper.sh", new EnvironmentCredentialsProvider(),
+                null));
+
+        channel.writeOutbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/v1.23/info"));
+        ((FullHttpRequest) channel.readOutbound()).release();
+
+        writeResponse(channel, HttpResponseStatus.UNAUTHORIZED, new Date());
+
+        HttpResponse response = (HttpResponse) channel.readInbound();
+        assertEquals(response.status(), HttpResponseStatus.UNAUTHORIZED);
+        assertNull(channel.readOutbound());
+
+        channel.finish();
+    }
+
+    private void writeResponse(EmbeddedChannel channel, HttpResponseStatus status, Date date) {
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, status);
+        response.headers().set(HttpHeaderNames.DATE, date);
+        channel.writeInbound(response);
+        channel.writeInbound(new DefaultLastHttpContent(Unpooled.copiedBuffer("{\"message\":\"expired\"}", UTF_8)));
+    }
+}